@@ -0,0 +1,92 @@
+package com.cts.authorization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Who may call which path, under {@code gateway.authorization}.
+ * A request no rule matches needs one of {@code default-roles}.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.authorization")
+public class AuthorizationProperties {
+
+    private List<String> defaultRoles = new ArrayList<>(List.of("ADMIN"));
+    private List<Rule> rules = new ArrayList<>();
+
+    public List<String> getDefaultRoles() {
+        return defaultRoles;
+    }
+
+    public void setDefaultRoles(List<String> defaultRoles) {
+        this.defaultRoles = defaultRoles;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * One path, optionally limited to one method, and the roles allowed to call it.
+     * Path segments are literals, {@code {variable}} or {@code *} for exactly one segment,
+     * or a trailing {@code **} for any number of segments.
+     */
+    public static class Rule {
+
+        // Any method when not set.
+        private String method;
+        private String path;
+        // Role names without the ROLE_ prefix.
+        private List<String> roles = new ArrayList<>();
+        private boolean permitAll;
+
+        public Rule() {
+        }
+
+        public Rule(String method, String path, boolean permitAll, String... roles) {
+            this.method = method;
+            this.path = path;
+            this.permitAll = permitAll;
+            this.roles = List.of(roles);
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+
+        public void setRoles(List<String> roles) {
+            this.roles = roles;
+        }
+
+        public boolean isPermitAll() {
+            return permitAll;
+        }
+
+        public void setPermitAll(boolean permitAll) {
+            this.permitAll = permitAll;
+        }
+    }
+}
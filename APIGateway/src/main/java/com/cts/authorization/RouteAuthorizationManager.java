@@ -0,0 +1,39 @@
+package com.cts.authorization;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Decides every exchange with a single lookup in the {@link RouteAuthorizationTable}.
+ */
+@Component
+public class RouteAuthorizationManager implements ReactiveAuthorizationManager<AuthorizationContext> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final RouteAuthorizationTable table;
+
+    public RouteAuthorizationManager(RouteAuthorizationTable table) {
+        this.table = table;
+    }
+
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        ServerHttpRequest request = context.getExchange().getRequest();
+        RouteAuthorizationTable.Access access = table.resolve(request.getMethod(),
+                request.getPath().pathWithinApplication().value());
+        if (access.permitAll()) {
+            return Mono.just(GRANTED);
+        }
+        return authentication.filter(Authentication::isAuthenticated)
+                .map(auth -> access.allows(auth.getAuthorities()) ? GRANTED : DENIED)
+                .defaultIfEmpty(DENIED);
+    }
+}
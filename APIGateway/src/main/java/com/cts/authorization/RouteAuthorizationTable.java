@@ -0,0 +1,143 @@
+package com.cts.authorization;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * The authorization rules compiled into a path trie, so the access rule of a request is found in one
+ * walk over its path segments instead of by trying every matcher in turn.
+ * <p>
+ * Each node holds the rules of the path ending there, per method and for any method. When several rules
+ * match, a literal segment wins over a variable, a variable over {@code **}, and a rule for the request's
+ * method over one for any method; the order of the rules does not matter.
+ */
+@Component
+public class RouteAuthorizationTable {
+
+    private static final Access PERMIT_ALL = new Access(true, Set.of());
+
+    private final Node root = new Node();
+    private final Access defaultAccess;
+
+    public RouteAuthorizationTable(AuthorizationProperties properties) {
+        this.defaultAccess = new Access(false, authorities(properties.getDefaultRoles()));
+        for (AuthorizationProperties.Rule rule : properties.getRules()) {
+            add(rule);
+        }
+    }
+
+    /**
+     * Returns the access rule of the request, or the default one if no rule matches.
+     * @param method The request method.
+     * @param path The request path, not decoded.
+     */
+    public Access resolve(HttpMethod method, String path) {
+        Access access = find(root, path, 0, method);
+        return access != null ? access : defaultAccess;
+    }
+
+    private void add(AuthorizationProperties.Rule rule) {
+        Node node = root;
+        String[] segments = rule.getPath().split("/");
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if ("**".equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("** must be the last segment of " + rule.getPath());
+                }
+                node = node.rest == null ? node.rest = new Node() : node.rest;
+            } else if ("*".equals(segment) || segment.startsWith("{")) {
+                node = node.variable == null ? node.variable = new Node() : node.variable;
+            } else {
+                node = node.literals.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+        Access access = rule.isPermitAll() ? PERMIT_ALL : new Access(false, authorities(rule.getRoles()));
+        HttpMethod method = rule.getMethod() == null ? null : HttpMethod.valueOf(rule.getMethod());
+        if ((method == null ? node.anyMethod : node.byMethod.get(method)) != null) {
+            throw new IllegalStateException("Duplicate authorization rule for " + rule.getMethod() + " " + rule.getPath());
+        }
+        if (method == null) {
+            node.anyMethod = access;
+        } else {
+            node.byMethod.put(method, access);
+        }
+    }
+
+    private static Access find(Node node, String path, int from, HttpMethod method) {
+        while (from < path.length() && path.charAt(from) == '/') {
+            from++;
+        }
+        if (from == path.length()) {
+            Access access = node.accessFor(method);
+            if (access != null) {
+                return access;
+            }
+            return node.rest == null ? null : node.rest.accessFor(method);
+        }
+        int end = path.indexOf('/', from);
+        if (end < 0) {
+            end = path.length();
+        }
+        Node literal = node.literals.get(path.substring(from, end));
+        if (literal != null) {
+            Access access = find(literal, path, end, method);
+            if (access != null) {
+                return access;
+            }
+        }
+        if (node.variable != null) {
+            Access access = find(node.variable, path, end, method);
+            if (access != null) {
+                return access;
+            }
+        }
+        return node.rest == null ? null : node.rest.accessFor(method);
+    }
+
+    private static Set<String> authorities(List<String> roles) {
+        return roles.stream().map(role -> "ROLE_" + role).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Whether a path is public, and otherwise the authorities of which the caller needs at least one.
+     */
+    public record Access(boolean permitAll, Set<String> authorities) {
+
+        public boolean allows(Collection<? extends GrantedAuthority> granted) {
+            if (permitAll) {
+                return true;
+            }
+            for (GrantedAuthority authority : granted) {
+                if (authorities.contains(authority.getAuthority())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private final Map<HttpMethod, Access> byMethod = new HashMap<>();
+        private Access anyMethod;
+        private Node variable;
+        private Node rest;
+
+        private Access accessFor(HttpMethod method) {
+            Access access = byMethod.get(method);
+            return access != null ? access : anyMethod;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.cts.coalescing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Request coalescing settings, under {@code gateway.coalescing}.
+ * Only GET requests whose path matches one of {@code paths} are coalesced.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+    private List<String> paths = new ArrayList<>();
+    // Responses larger than this are not shared; the waiting requests then go upstream themselves.
+    private int maxBodyBytes = 1024 * 1024;
+    // How long a request waits for the identical in-flight one before going upstream itself.
+    private Duration maxWait = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+}
@@ -0,0 +1,202 @@
+package com.cts.coalescing;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.cts.model.RouteCoalescingStats;
+import com.cts.utility.CopyingResponse;
+import com.cts.utility.ResponseKeys;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Collapses concurrent identical GETs into one upstream call.
+ * <p>
+ * The first request for a key (route, role set, path, query, Accept and Accept-Encoding) goes upstream and
+ * is streamed to its client as usual while a copy of the response is kept. Identical requests arriving
+ * while it is in flight wait for it and are answered with the same status, headers and body. Only 200
+ * responses are shared: if the first request gets another status, fails, is cancelled, sets a cookie or its
+ * body exceeds {@code max-body-bytes}, or it takes longer than {@code max-wait}, the waiting requests go
+ * upstream themselves. Range and conditional requests are never coalesced.
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    // After the response cache, so only cache misses are coalesced.
+    public static final int ORDER = -100;
+
+    private final CoalescingProperties properties;
+    private final List<PathPattern> patterns;
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter(CoalescingProperties properties) {
+        this.properties = properties;
+        this.patterns = properties.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || request.getMethod() != HttpMethod.GET
+                || request.getHeaders().containsKey(HttpHeaders.RANGE) || isConditional(request) || !matches(request)) {
+            return chain.filter(exchange);
+        }
+        return ResponseKeys.key(exchange, route.getId())
+                .flatMap(key -> {
+                    Counters c = counters.computeIfAbsent(route.getId(), id -> new Counters());
+                    c.requests.increment();
+                    Flight flight = new Flight(key);
+                    Flight leader = inFlight.putIfAbsent(key, flight);
+                    if (leader == null) {
+                        c.upstreamCalls.increment();
+                        return chain.filter(exchange.mutate().response(new SharingResponse(exchange.getResponse(), flight))
+                                .build())
+                                .doFinally(signal -> finish(flight, null));
+                    }
+                    return follow(exchange, chain, leader, c);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * Returns the counters of every route that has seen a coalescing candidate, by route id.
+     */
+    public Map<String, RouteCoalescingStats> getStats() {
+        Map<String, RouteCoalescingStats> stats = new TreeMap<>();
+        counters.forEach((routeId, c) -> {
+            long requests = c.requests.sum();
+            long coalesced = c.coalesced.sum();
+            stats.put(routeId, new RouteCoalescingStats(requests, c.upstreamCalls.sum(), coalesced, c.fallbacks.sum(),
+                    requests == 0 ? 0 : (double) coalesced / requests));
+        });
+        return stats;
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Flight leader, Counters c) {
+        return leader.result.asMono()
+                .timeout(properties.getMaxWait(), Mono.empty())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(shared -> {
+                    if (shared.isPresent()) {
+                        c.coalesced.increment();
+                        return write(exchange.getResponse(), shared.get());
+                    }
+                    c.fallbacks.increment();
+                    c.upstreamCalls.increment();
+                    return chain.filter(exchange);
+                });
+    }
+
+    /**
+     * Ends a flight: later requests start a new one, and the waiting ones get the response, or nothing if
+     * it could not be shared. Only the first call per flight has an effect.
+     */
+    private void finish(Flight flight, SharedResponse response) {
+        inFlight.remove(flight.key, flight);
+        if (response != null) {
+            flight.result.tryEmitValue(response);
+        } else {
+            flight.result.tryEmitEmpty();
+        }
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        response.setStatusCode(shared.status());
+        headers.setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    // The answer to a conditional request depends on what that client already has, so it is not shared.
+    private static boolean isConditional(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    private boolean matches(ServerHttpRequest request) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * One upstream call and the requests waiting for it.
+     */
+    private static final class Flight {
+        private final String key;
+        private final Sinks.One<SharedResponse> result = Sinks.one();
+
+        Flight(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Passes the upstream response through to the first client and hands a copy to the waiting requests.
+     */
+    private final class SharingResponse extends CopyingResponse {
+
+        private final Flight flight;
+
+        SharingResponse(ServerHttpResponse delegate, Flight flight) {
+            super(delegate, properties.getMaxBodyBytes());
+            this.flight = flight;
+        }
+
+        @Override
+        protected boolean isCopied() {
+            return HttpStatus.OK.equals(getStatusCode()) && !getHeaders().containsKey(HttpHeaders.SET_COOKIE);
+        }
+
+        @Override
+        protected void copied(byte[] body) {
+            finish(flight, new SharedResponse(getStatusCode(), copyHeaders(), body));
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder upstreamCalls = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder fallbacks = new LongAdder();
+    }
+}
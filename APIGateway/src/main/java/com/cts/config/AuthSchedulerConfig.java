@@ -0,0 +1,41 @@
+package com.cts.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Schedulers that keep the blocking parts of login and registration off the Netty event loop.
+ * JPA calls run on a bounded elastic scheduler sized like the JDBC connection pool, and BCrypt runs
+ * on its own small pool with a bounded queue, so a login storm queues there instead of stalling
+ * proxied traffic, and is turned away with 503 once the queue is full.
+ */
+@Configuration
+public class AuthSchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler authJdbcScheduler(@Value("${auth.jdbc.threads:10}") int threads,
+            @Value("${auth.jdbc.queue-size:1000}") int queueSize) {
+        return Schedulers.newBoundedElastic(threads, queueSize, "auth-jdbc");
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordHashScheduler(@Value("${auth.hash.threads:0}") int threads,
+            @Value("${auth.hash.queue-size:200}") int queueSize) {
+        // BCrypt is pure CPU: by default leave half of the cores to the event loop.
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("auth-hash-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        return Schedulers.fromExecutorService(executor, "auth-hash");
+    }
+}
@@ -0,0 +1,22 @@
+package com.cts.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.cts.ratelimit.BucketStore;
+import com.cts.ratelimit.LocalBucketStore;
+import com.cts.ratelimit.RateLimitProperties;
+import com.cts.ratelimit.SharedBucketStore;
+
+@Configuration
+public class RateLimitConfig {
+
+    // gateway.ratelimit.store=shared switches every instance to the shared store.
+    @Bean
+    public BucketStore bucketStore(RateLimitProperties properties) {
+        if ("shared".equalsIgnoreCase(properties.getStore())) {
+            return new SharedBucketStore(properties.getMaxBuckets());
+        }
+        return new LocalBucketStore(properties.getMaxBuckets());
+    }
+}
@@ -1,14 +1,15 @@
 package com.cts.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
+import com.cts.authorization.RouteAuthorizationManager;
 import com.cts.utility.JwtAuthenticationFilter;
 
 
@@ -17,32 +18,26 @@ import com.cts.utility.JwtAuthenticationFilter;
 public class SecurityConfig {
  
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RouteAuthorizationManager routeAuthorizationManager;
  
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+            RouteAuthorizationManager routeAuthorizationManager) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.routeAuthorizationManager = routeAuthorizationManager;
     }
  
     @Bean
     public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
         return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
-                .authorizeExchange(exchanges -> exchanges
-                        // Public endpoints
-                        .pathMatchers("/auth/login", "/auth/register").permitAll()
-                        
-                        // Endpoints for both USER and ADMIN
-                        .pathMatchers(HttpMethod.POST, "/api/order/save").hasAnyRole("USER")
-                        .pathMatchers(HttpMethod.GET, "/api/order/getByOrderId/{id}").hasAnyRole("ADMIN")
-                        .pathMatchers(HttpMethod.GET, "api/product/viewAllAvailable").hasAnyRole("USER","ADMIN")
-                        
-                        // All other endpoints are for ADMIN only
-                        .anyExchange().hasRole("ADMIN")
-                )
+                // The rules per path and method are in gateway.authorization; paths without a rule are for ADMIN only
+                .authorizeExchange(exchanges -> exchanges.anyExchange().access(routeAuthorizationManager))
                 .addFilterAt(jwtAuthenticationFilter, SecurityWebFiltersOrder.AUTHENTICATION).build();
     }
     
+    // Hashes stored with a lower cost are upgraded to this one on the next successful login.
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
  
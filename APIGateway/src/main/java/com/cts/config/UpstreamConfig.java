@@ -0,0 +1,25 @@
+package com.cts.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.cts.upstream.PooledRoutingFilter;
+import com.cts.upstream.UpstreamPools;
+
+import reactor.netty.http.client.HttpClient;
+
+@Configuration
+public class UpstreamConfig {
+
+    // Routes every request through its route's pool from gateway.upstream instead of the shared client.
+    @Bean
+    public PooledRoutingFilter pooledRoutingFilter(HttpClient httpClient,
+            ObjectProvider<List<HttpHeadersFilter>> headersFilters, HttpClientProperties properties, UpstreamPools pools) {
+        return new PooledRoutingFilter(httpClient, headersFilters, properties, pools);
+    }
+}
@@ -2,13 +2,16 @@ package com.cts.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 
 import com.cts.model.AuthRequest;
 import com.cts.model.User;
+import com.cts.ratelimit.ClientAddressResolver;
 import com.cts.service.AuthService;
 
-@CrossOrigin("*")
+import reactor.core.publisher.Mono;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
@@ -16,16 +19,22 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private ClientAddressResolver clientAddressResolver;
+
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody AuthRequest request) {
-        String token = authService.authenticate(request.getUsername(), request.getPassword());
-        return ResponseEntity.ok(token);
+    public Mono<ResponseEntity<String>> login(@RequestBody AuthRequest request, ServerHttpRequest httpRequest) {
+        // Behind a load balancer every login would otherwise share the balancer's address and bucket.
+        String clientAddress = clientAddressResolver.resolve(httpRequest);
+        return authService.authenticate(request.getUsername(), request.getPassword(), clientAddress)
+                .map(ResponseEntity::ok);
     }
 
     // NEW: register endpoint (keeps controller very simple)
     @PostMapping("/register")
-    public ResponseEntity<String> registerUser(@RequestBody User user) {
-        authService.registerUser(user);
-        return ResponseEntity.ok("Registration Is Done!!");
+    public Mono<ResponseEntity<String>> registerUser(@RequestBody User user, ServerHttpRequest httpRequest) {
+        // Registrations hash a password in the same pool as logins, so they are limited per address too.
+        return authService.registerUser(user, clientAddressResolver.resolve(httpRequest))
+                .thenReturn(ResponseEntity.ok("Registration Is Done!!"));
     }
 }
@@ -0,0 +1,58 @@
+package com.cts.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.cts.coalescing.RequestCoalescingFilter;
+import com.cts.model.ResponseCacheStats;
+import com.cts.model.RouteCoalescingStats;
+import com.cts.model.RouteRateLimitStats;
+import com.cts.model.UpstreamPoolStats;
+import com.cts.ratelimit.RateLimitFilter;
+import com.cts.responsecache.ResponseCache;
+import com.cts.upstream.UpstreamPools;
+
+/**
+ * Counters of the gateway's own filters. Admin only, like every path without an explicit rule.
+ */
+@RestController
+@RequestMapping("/gateway/stats")
+public class GatewayStatsController {
+
+    private final RateLimitFilter rateLimitFilter;
+    private final ResponseCache responseCache;
+    private final RequestCoalescingFilter coalescingFilter;
+    private final UpstreamPools upstreamPools;
+
+    public GatewayStatsController(RateLimitFilter rateLimitFilter, ResponseCache responseCache,
+            RequestCoalescingFilter coalescingFilter, UpstreamPools upstreamPools) {
+        this.rateLimitFilter = rateLimitFilter;
+        this.responseCache = responseCache;
+        this.coalescingFilter = coalescingFilter;
+        this.upstreamPools = upstreamPools;
+    }
+
+    @GetMapping("/rate-limits")
+    public Map<String, RouteRateLimitStats> getRateLimitStats() {
+        return rateLimitFilter.getStats();
+    }
+
+    @GetMapping("/response-cache")
+    public ResponseCacheStats getResponseCacheStats() {
+        return responseCache.getStats();
+    }
+
+    @GetMapping("/coalescing")
+    public Map<String, RouteCoalescingStats> getCoalescingStats() {
+        return coalescingFilter.getStats();
+    }
+
+    @GetMapping("/upstream-pools")
+    public Map<String, List<UpstreamPoolStats>> getUpstreamPoolStats() {
+        return upstreamPools.getStats();
+    }
+}
@@ -0,0 +1,82 @@
+package com.cts.cors;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cross-origin settings of the gateway, under {@code gateway.cors}.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.cors")
+public class CorsProperties {
+
+    private List<String> allowedOrigins = new ArrayList<>(List.of("http://localhost:4200"));
+    private List<String> allowedMethods = new ArrayList<>(List.of("GET", "PUT", "POST", "DELETE", "OPTIONS"));
+    private List<String> allowedHeaders = new ArrayList<>(List.of("*"));
+    private List<String> exposedHeaders = new ArrayList<>();
+    private boolean allowCredentials = true;
+    // How long browsers may reuse a preflight answer.
+    private Duration maxAge = Duration.ofMinutes(30);
+    // Preflight and request decisions kept per origin, method and headers; beyond this they are computed each time.
+    private int maxCachedDecisions = 10_000;
+
+    public List<String> getAllowedOrigins() {
+        return allowedOrigins;
+    }
+
+    public void setAllowedOrigins(List<String> allowedOrigins) {
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    public List<String> getAllowedMethods() {
+        return allowedMethods;
+    }
+
+    public void setAllowedMethods(List<String> allowedMethods) {
+        this.allowedMethods = allowedMethods;
+    }
+
+    public List<String> getAllowedHeaders() {
+        return allowedHeaders;
+    }
+
+    public void setAllowedHeaders(List<String> allowedHeaders) {
+        this.allowedHeaders = allowedHeaders;
+    }
+
+    public List<String> getExposedHeaders() {
+        return exposedHeaders;
+    }
+
+    public void setExposedHeaders(List<String> exposedHeaders) {
+        this.exposedHeaders = exposedHeaders;
+    }
+
+    public boolean isAllowCredentials() {
+        return allowCredentials;
+    }
+
+    public void setAllowCredentials(boolean allowCredentials) {
+        this.allowCredentials = allowCredentials;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public int getMaxCachedDecisions() {
+        return maxCachedDecisions;
+    }
+
+    public void setMaxCachedDecisions(int maxCachedDecisions) {
+        this.maxCachedDecisions = maxCachedDecisions;
+    }
+}
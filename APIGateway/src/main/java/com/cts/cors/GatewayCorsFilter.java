@@ -0,0 +1,147 @@
+package com.cts.cors;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The gateway's only CORS handling, ahead of the security chain.
+ * <p>
+ * Preflight requests are answered here, with an {@code Access-Control-Max-Age} so browsers reuse the
+ * answer instead of sending a preflight before every call. Cross-origin requests get their headers and
+ * continue. Requests from an origin, with a method or headers that are not allowed are answered with 403.
+ * The headers of each decision are computed once per origin, method and requested headers and then reused.
+ */
+@Component
+public class GatewayCorsFilter implements WebFilter, Ordered {
+
+    private static final List<String> VARY = List.of(HttpHeaders.ORIGIN, HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD,
+            HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+
+    // Marks a rejected request in the decision maps, which cannot hold null.
+    private static final HttpHeaders REJECTED = HttpHeaders.readOnlyHttpHeaders(new HttpHeaders());
+
+    private final CorsConfiguration config;
+    private final int maxCachedDecisions;
+    private final Map<String, HttpHeaders> preflights = new ConcurrentHashMap<>();
+    private final Map<String, HttpHeaders> requests = new ConcurrentHashMap<>();
+
+    public GatewayCorsFilter(CorsProperties properties) {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins(properties.getAllowedOrigins());
+        config.setAllowedMethods(properties.getAllowedMethods());
+        config.setAllowedHeaders(properties.getAllowedHeaders());
+        config.setExposedHeaders(properties.getExposedHeaders());
+        config.setAllowCredentials(properties.isAllowCredentials());
+        config.setMaxAge(properties.getMaxAge());
+        config.validateAllowCredentials();
+        this.config = config;
+        this.maxCachedDecisions = properties.getMaxCachedDecisions();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!CorsUtils.isCorsRequest(request)) {
+            return chain.filter(exchange);
+        }
+        HttpHeaders requestHeaders = request.getHeaders();
+        String origin = requestHeaders.getOrigin();
+        ServerHttpResponse response = exchange.getResponse();
+        if (CorsUtils.isPreFlightRequest(request)) {
+            String method = requestHeaders.getFirst(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+            String headers = String.join(",", requestHeaders.getOrEmpty(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS));
+            HttpHeaders decision = lookup(preflights, origin + " " + method + " " + headers,
+                    () -> preflight(origin, HttpMethod.valueOf(method), requestHeaders.getAccessControlRequestHeaders()));
+            if (decision == REJECTED) {
+                return reject(response);
+            }
+            response.getHeaders().addAll(decision);
+            response.setStatusCode(HttpStatus.OK);
+            return response.setComplete();
+        }
+        HttpHeaders decision = lookup(requests, origin + " " + request.getMethod().name(),
+                () -> actual(origin, request.getMethod()));
+        if (decision == REJECTED) {
+            return reject(response);
+        }
+        response.getHeaders().addAll(decision);
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        // Before the security chain, so preflights are answered without authentication.
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private HttpHeaders lookup(Map<String, HttpHeaders> decisions, String key, Supplier<HttpHeaders> decide) {
+        HttpHeaders decision = decisions.get(key);
+        if (decision == null) {
+            decision = decide.get();
+            if (decisions.size() < maxCachedDecisions) {
+                decisions.put(key, decision);
+            }
+        }
+        return decision;
+    }
+
+    private HttpHeaders preflight(String origin, HttpMethod method, List<String> requestedHeaders) {
+        String allowedOrigin = config.checkOrigin(origin);
+        List<HttpMethod> allowedMethods = config.checkHttpMethod(method);
+        List<String> allowedHeaders = config.checkHeaders(requestedHeaders);
+        if (allowedOrigin == null || allowedMethods == null || allowedHeaders == null) {
+            return REJECTED;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccessControlAllowOrigin(allowedOrigin);
+        headers.setAccessControlAllowMethods(allowedMethods);
+        if (!allowedHeaders.isEmpty()) {
+            headers.setAccessControlAllowHeaders(allowedHeaders);
+        }
+        if (Boolean.TRUE.equals(config.getAllowCredentials())) {
+            headers.setAccessControlAllowCredentials(true);
+        }
+        headers.setAccessControlMaxAge(config.getMaxAge());
+        headers.setVary(VARY);
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private HttpHeaders actual(String origin, HttpMethod method) {
+        String allowedOrigin = config.checkOrigin(origin);
+        if (allowedOrigin == null || config.checkHttpMethod(method) == null) {
+            return REJECTED;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccessControlAllowOrigin(allowedOrigin);
+        if (config.getExposedHeaders() != null && !config.getExposedHeaders().isEmpty()) {
+            headers.setAccessControlExposeHeaders(config.getExposedHeaders());
+        }
+        if (Boolean.TRUE.equals(config.getAllowCredentials())) {
+            headers.setAccessControlAllowCredentials(true);
+        }
+        headers.setVary(VARY);
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.FORBIDDEN);
+        return response.setComplete();
+    }
+}
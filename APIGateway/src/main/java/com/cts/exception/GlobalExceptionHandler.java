@@ -1,7 +1,9 @@
 package com.cts.exception;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -24,6 +26,22 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err));
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public Mono<ResponseEntity<ErrorResponse>> tooManyRequests(TooManyRequestsException ex) {
+        ErrorResponse err = new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage(), LocalDateTime.now());
+        return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds())).body(err));
+    }
+
+    // The password hashing queue is full.
+    @ExceptionHandler(RejectedExecutionException.class)
+    public Mono<ResponseEntity<ErrorResponse>> overloaded(RejectedExecutionException ex) {
+        ErrorResponse err = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is busy, try again later",
+                LocalDateTime.now());
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+                .body(err));
+    }
+
     // fallback for any other exception
     @ExceptionHandler(Exception.class)
     public Mono<ResponseEntity<ErrorResponse>> handleGeneric(Exception ex) {
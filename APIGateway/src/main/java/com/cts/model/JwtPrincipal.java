@@ -0,0 +1,14 @@
+package com.cts.model;
+
+/**
+ * The verified identity carried by a bearer token.
+ * @param username The subject of the token.
+ * @param role The role claim, without the ROLE_ prefix.
+ * @param expiresAt The expiry of the token, in epoch milliseconds.
+ */
+public record JwtPrincipal(String username, String role, long expiresAt) {
+
+	public boolean isExpired(long now) {
+		return expiresAt <= now;
+	}
+}
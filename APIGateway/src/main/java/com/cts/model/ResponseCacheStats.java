@@ -0,0 +1,7 @@
+package com.cts.model;
+
+/**
+ * Counters of the gateway response cache. hits includes the notModified answers.
+ */
+public record ResponseCacheStats(long hits, long notModified, long misses, long stores, long evictions, int size) {
+}
@@ -0,0 +1,10 @@
+package com.cts.model;
+
+/**
+ * Coalescing counters of one route: eligible requests, calls actually sent upstream, requests answered
+ * with another request's response, and waiting requests that had to go upstream after all.
+ * The collapse ratio is the share of requests that were answered without their own upstream call.
+ */
+public record RouteCoalescingStats(long requests, long upstreamCalls, long coalesced, long fallbacks,
+        double collapseRatio) {
+}
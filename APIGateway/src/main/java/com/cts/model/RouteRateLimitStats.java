@@ -0,0 +1,7 @@
+package com.cts.model;
+
+/**
+ * Requests of one route let through and rejected by the rate limiter.
+ */
+public record RouteRateLimitStats(long allowed, long rejected) {
+}
@@ -0,0 +1,9 @@
+package com.cts.model;
+
+/**
+ * Connections of one route's pool to one downstream instance. Saturation is the share of the
+ * maximum connections in use; requests are waiting for a connection when it reaches 1.
+ */
+public record UpstreamPoolStats(String instance, int active, int idle, int maxConnections, int pending,
+        int maxPending, double saturation) {
+}
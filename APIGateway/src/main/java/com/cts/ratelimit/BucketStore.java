@@ -0,0 +1,16 @@
+package com.cts.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the token buckets of the gateway rate limiter, one per key.
+ * Reactive so that an implementation can live in a store shared by all gateway instances.
+ */
+public interface BucketStore {
+
+    /**
+     * Takes a token from the bucket of the key, creating a full bucket on first use.
+     * @return 0 if the token was taken, otherwise the nanoseconds until one will be available.
+     */
+    Mono<Long> tryAcquire(String key, RateLimitPolicy policy);
+}
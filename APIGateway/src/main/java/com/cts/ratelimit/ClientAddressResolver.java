@@ -0,0 +1,140 @@
+package com.cts.ratelimit;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds the address of the client behind the gateway's own load balancers or proxies.
+ * <p>
+ * X-Forwarded-For is only read when the connection comes from a trusted proxy, and then from the
+ * right: the first hop that is not a trusted proxy is the client. Hops further left were written by
+ * the client itself and could be anything, so they are never used to key a rate limit.
+ */
+@Component
+public class ClientAddressResolver {
+
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final List<Cidr> trustedProxies = new ArrayList<>();
+
+    /**
+     * @param trustedProxies Addresses or CIDR ranges of the proxies in front of the gateway,
+     *        e.g. "10.0.0.0/8"; empty when clients connect directly.
+     */
+    public ClientAddressResolver(@Value("${gateway.trusted-proxies:}") List<String> trustedProxies) {
+        for (String proxy : trustedProxies) {
+            if (!proxy.isBlank()) {
+                this.trustedProxies.add(Cidr.parse(proxy.trim()));
+            }
+        }
+    }
+
+    /**
+     * Returns the client address of a request, or null if it is not known.
+     */
+    public String resolve(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null || remote.getAddress() == null) {
+            return null;
+        }
+        String address = remote.getAddress().getHostAddress();
+        if (!isTrusted(address)) {
+            return address;
+        }
+        List<String> hops = new ArrayList<>();
+        for (String header : request.getHeaders().getOrEmpty(FORWARDED_FOR)) {
+            for (String hop : header.split(",")) {
+                if (!hop.isBlank()) {
+                    hops.add(hop.trim());
+                }
+            }
+        }
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            if (!isTrusted(hops.get(i))) {
+                return hops.get(i);
+            }
+        }
+        // Every hop is one of our proxies, e.g. a health check; the first one is the closest to a client.
+        return hops.isEmpty() ? address : hops.get(0);
+    }
+
+    private boolean isTrusted(String address) {
+        // Anything but an IP literal, e.g. "unknown", is never a trusted proxy and must not be looked up in DNS.
+        if (!isIpLiteral(address)) {
+            return false;
+        }
+        InetAddress parsed = parse(address);
+        if (parsed == null) {
+            return false;
+        }
+        for (Cidr proxy : trustedProxies) {
+            if (proxy.matches(parsed.getAddress())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Only called with IP literals, which InetAddress parses without a DNS lookup; null if it is malformed.
+    private static InetAddress parse(String address) {
+        try {
+            return InetAddress.getByName(address);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    // Dotted decimal IPv4 or colon separated IPv6; a bare word such as "cafe" is a host name.
+    private static boolean isIpLiteral(String address) {
+        if (address.indexOf(':') >= 0) {
+            return address.chars().allMatch(c -> Character.digit(c, 16) >= 0 || c == '.' || c == ':');
+        }
+        return address.indexOf('.') >= 0 && address.chars().allMatch(c -> Character.isDigit(c) || c == '.');
+    }
+
+    /**
+     * An address range given as an address and the number of leading bits that must match it.
+     */
+    private record Cidr(byte[] network, int prefixBits) {
+
+        static Cidr parse(String cidr) {
+            int slash = cidr.indexOf('/');
+            String address = slash < 0 ? cidr : cidr.substring(0, slash);
+            InetAddress parsed = isIpLiteral(address) ? ClientAddressResolver.parse(address) : null;
+            if (parsed == null) {
+                throw new IllegalArgumentException("Trusted proxy is not an IP address or CIDR range: " + cidr);
+            }
+            byte[] network = parsed.getAddress();
+            int prefixBits = slash < 0 ? network.length * 8 : Integer.parseInt(cidr.substring(slash + 1));
+            if (prefixBits < 0 || prefixBits > network.length * 8) {
+                throw new IllegalArgumentException("Invalid prefix length in trusted proxy " + cidr);
+            }
+            return new Cidr(network, prefixBits);
+        }
+
+        boolean matches(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixBits / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int restBits = prefixBits % 8;
+            if (restBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - restBits) & 0xFF;
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.cts.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Token buckets held in this gateway instance. Lock-free: one map lookup and one compare-and-set
+ * per request.
+ * <p>
+ * The number of buckets is bounded. Full buckets carry no state, so they are swept periodically on a
+ * background thread rather than on the event loop. A new key that arrives while the store is still
+ * full, e.g. during a flood of made-up usernames, is rejected: evicting a bucket that is not full would
+ * reset the limit of whoever it belongs to.
+ */
+public class LocalBucketStore implements BucketStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalBucketStore.class);
+
+    private static final long SWEEP_INTERVAL_SECONDS = 10;
+    // One daemon thread sweeps every store.
+    private static final Scheduler SWEEPER = Schedulers.newSingle("bucket-sweep", true);
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final AtomicLong rejectedWhileFull = new AtomicLong();
+    private final Disposable sweeping;
+
+    public LocalBucketStore(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+        this.sweeping = SWEEPER.schedulePeriodically(() -> sweep(System.nanoTime()), SWEEP_INTERVAL_SECONDS,
+                SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Mono<Long> tryAcquire(String key, RateLimitPolicy policy) {
+        return Mono.just(tryAcquire(key, policy, System.nanoTime()));
+    }
+
+    public long tryAcquire(String key, RateLimitPolicy policy, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                rejectedWhileFull.incrementAndGet();
+                return policy.intervalNanos();
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(policy, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * Drops the buckets that are full again.
+     */
+    void sweep(long now) {
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        long rejected = rejectedWhileFull.getAndSet(0);
+        if (rejected > 0) {
+            log.warn("Rejected {} requests for new keys while the {} rate limit buckets were in use", rejected,
+                    maxBuckets);
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    // Called by Spring when the store is a bean; stops the periodic sweep.
+    @Override
+    public void close() {
+        sweeping.dispose();
+    }
+}
@@ -0,0 +1,80 @@
+package com.cts.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cts.exception.TooManyRequestsException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Limits login attempts per username and per client address with token buckets, so password
+ * guessing or a retry storm is rejected before it reaches the BCrypt pool. Registrations hash a
+ * password too and are limited per client address with their own, smaller budget, so a flood of them
+ * cannot fill the BCrypt queue and turn real logins away. Each kind of key has at most
+ * auth.login.max-buckets buckets, so made-up usernames cannot grow the stores without bound.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final LocalBucketStore usernames;
+    private final LocalBucketStore addresses;
+    private final LocalBucketStore registrations;
+    private final RateLimitPolicy usernamePolicy;
+    private final RateLimitPolicy addressPolicy;
+    private final RateLimitPolicy registrationPolicy;
+
+    public LoginRateLimiter(@Value("${auth.login.username.capacity:5}") int usernameCapacity,
+            @Value("${auth.login.username.refill-per-minute:5}") int usernameRefill,
+            @Value("${auth.login.ip.capacity:20}") int addressCapacity,
+            @Value("${auth.login.ip.refill-per-minute:20}") int addressRefill,
+            @Value("${auth.register.ip.capacity:5}") int registrationCapacity,
+            @Value("${auth.register.ip.refill-per-minute:5}") int registrationRefill,
+            @Value("${auth.login.max-buckets:100000}") int maxBuckets) {
+        this.usernames = new LocalBucketStore(maxBuckets);
+        this.addresses = new LocalBucketStore(maxBuckets);
+        this.registrations = new LocalBucketStore(maxBuckets);
+        this.usernamePolicy = new RateLimitPolicy(usernameCapacity, usernameRefill);
+        this.addressPolicy = new RateLimitPolicy(addressCapacity, addressRefill);
+        this.registrationPolicy = new RateLimitPolicy(registrationCapacity, registrationRefill);
+    }
+
+    @PreDestroy
+    public void stop() {
+        usernames.close();
+        addresses.close();
+        registrations.close();
+    }
+
+    /**
+     * Takes one attempt from the buckets of the client address and of the username.
+     * @throws TooManyRequestsException if either bucket is empty.
+     */
+    public void checkLogin(String username, String address) {
+        long now = System.nanoTime();
+        long wait = address == null ? 0 : addresses.tryAcquire(address, addressPolicy, now);
+        if (wait == 0 && username != null) {
+            wait = usernames.tryAcquire(username, usernamePolicy, now);
+        }
+        if (wait > 0) {
+            throw new TooManyRequestsException("Too many login attempts, try again later", retryAfterSeconds(wait));
+        }
+    }
+
+    /**
+     * Takes one registration from the bucket of the client address.
+     * @throws TooManyRequestsException if the bucket is empty.
+     */
+    public void checkRegistration(String address) {
+        long wait = address == null ? 0 : registrations.tryAcquire(address, registrationPolicy, System.nanoTime());
+        if (wait > 0) {
+            throw new TooManyRequestsException("Too many registrations, try again later", retryAfterSeconds(wait));
+        }
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+    }
+}
@@ -0,0 +1,99 @@
+package com.cts.ratelimit;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.cts.model.RouteRateLimitStats;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Rate limits every proxied request with two token buckets: one per user on the route (the JWT
+ * subject, or for anonymous requests the client address as {@link ClientAddressResolver} finds it) and one for the whole route, so neither a
+ * single client nor the sum of all clients can overload a downstream service. A rejected request
+ * gets 429 with a Retry-After header and is counted per route.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    // Before the response cache and request coalescing, and before the request is routed.
+    public static final int ORDER = -200;
+
+    private final BucketStore store;
+    private final RateLimitProperties properties;
+    private final ClientAddressResolver clientAddressResolver;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(BucketStore store, RateLimitProperties properties,
+            ClientAddressResolver clientAddressResolver) {
+        this.store = store;
+        this.properties = properties;
+        this.clientAddressResolver = clientAddressResolver;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        RateLimitProperties.Limits limits = properties.limitsFor(routeId);
+        Counters routeCounters = counters.computeIfAbsent(routeId, id -> new Counters());
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .defaultIfEmpty(clientAddress(exchange))
+                .flatMap(user -> store.tryAcquire(routeId + "|user|" + user, limits.userPolicy()))
+                .flatMap(wait -> wait > 0 ? Mono.just(wait) : store.tryAcquire(routeId + "|route", limits.routePolicy()))
+                .flatMap(wait -> {
+                    if (wait == 0) {
+                        routeCounters.allowed.increment();
+                        return chain.filter(exchange);
+                    }
+                    routeCounters.rejected.increment();
+                    exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                            String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999))));
+                    return exchange.getResponse().setComplete();
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * Requests allowed and rejected per route since the gateway started.
+     */
+    public Map<String, RouteRateLimitStats> getStats() {
+        Map<String, RouteRateLimitStats> stats = new TreeMap<>();
+        counters.forEach((routeId, c) -> stats.put(routeId, new RouteRateLimitStats(c.allowed.sum(), c.rejected.sum())));
+        return stats;
+    }
+
+    // Behind the load balancer every anonymous client would otherwise share the balancer's bucket.
+    private String clientAddress(ServerWebExchange exchange) {
+        String address = clientAddressResolver.resolve(exchange.getRequest());
+        return address == null ? "unknown" : address;
+    }
+
+    private static final class Counters {
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+    }
+}
@@ -0,0 +1,17 @@
+package com.cts.ratelimit;
+
+/**
+ * The size and refill rate of a token bucket.
+ * @param capacity The number of requests allowed in a burst.
+ * @param refillPerMinute The number of tokens added per minute.
+ */
+public record RateLimitPolicy(int capacity, int refillPerMinute) {
+
+    public long intervalNanos() {
+        return 60_000_000_000L / refillPerMinute;
+    }
+
+    public long burstNanos() {
+        return intervalNanos() * capacity;
+    }
+}
@@ -0,0 +1,118 @@
+package com.cts.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rate limits of the proxied routes, under {@code gateway.ratelimit}.
+ * Every route uses {@code defaults} unless it has its own entry under {@code routes.<route id>}.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.ratelimit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // "local" for buckets in this instance, "shared" for the shared store.
+    private String store = "local";
+    private int maxBuckets = 100_000;
+    private Limits defaults = new Limits();
+    private Map<String, Limits> routes = new HashMap<>();
+
+    public Limits limitsFor(String routeId) {
+        return routes.getOrDefault(routeId, defaults);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public Limits getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Limits defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Limits> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Limits> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * The bucket of each user on a route, and the bucket shared by all users of the route.
+     */
+    public static class Limits {
+
+        private int userCapacity = 50;
+        private int userRefillPerMinute = 600;
+        private int routeCapacity = 1000;
+        private int routeRefillPerMinute = 12_000;
+
+        public RateLimitPolicy userPolicy() {
+            return new RateLimitPolicy(userCapacity, userRefillPerMinute);
+        }
+
+        public RateLimitPolicy routePolicy() {
+            return new RateLimitPolicy(routeCapacity, routeRefillPerMinute);
+        }
+
+        public int getUserCapacity() {
+            return userCapacity;
+        }
+
+        public void setUserCapacity(int userCapacity) {
+            this.userCapacity = userCapacity;
+        }
+
+        public int getUserRefillPerMinute() {
+            return userRefillPerMinute;
+        }
+
+        public void setUserRefillPerMinute(int userRefillPerMinute) {
+            this.userRefillPerMinute = userRefillPerMinute;
+        }
+
+        public int getRouteCapacity() {
+            return routeCapacity;
+        }
+
+        public void setRouteCapacity(int routeCapacity) {
+            this.routeCapacity = routeCapacity;
+        }
+
+        public int getRouteRefillPerMinute() {
+            return routeRefillPerMinute;
+        }
+
+        public void setRouteRefillPerMinute(int routeRefillPerMinute) {
+            this.routeRefillPerMinute = routeRefillPerMinute;
+        }
+    }
+}
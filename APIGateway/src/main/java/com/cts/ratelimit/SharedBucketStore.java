@@ -0,0 +1,50 @@
+package com.cts.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Stand-in for a bucket store shared by all gateway instances, such as Redis.
+ * <p>
+ * It keeps only what such a store would hold, one "full at" time per key, and updates it with the
+ * compare-and-set a shared key-value store offers (a Lua script or WATCH/MULTI in Redis), so the
+ * gateway can be run and tested against the shared contract. Times are wall-clock milliseconds,
+ * since instances do not share a {@link System#nanoTime()} origin. Replace the map with the client
+ * of the real store to limit across instances.
+ */
+public class SharedBucketStore implements BucketStore {
+
+    private final ConcurrentMap<String, Long> fullAt = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+
+    public SharedBucketStore(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Override
+    public Mono<Long> tryAcquire(String key, RateLimitPolicy policy) {
+        return Mono.fromSupplier(() -> tryAcquire(key, policy, System.currentTimeMillis() * 1_000_000));
+    }
+
+    long tryAcquire(String key, RateLimitPolicy policy, long now) {
+        if (fullAt.size() >= maxBuckets) {
+            // What a TTL of one burst would do in the real store.
+            fullAt.values().removeIf(time -> time <= now);
+        }
+        while (true) {
+            Long current = fullAt.get(key);
+            long next = Math.max(current == null ? now : current, now) + policy.intervalNanos();
+            long wait = next - now - policy.burstNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            boolean stored = current == null ? fullAt.putIfAbsent(key, next) == null
+                    : fullAt.replace(key, current, next);
+            if (stored) {
+                return 0L;
+            }
+        }
+    }
+}
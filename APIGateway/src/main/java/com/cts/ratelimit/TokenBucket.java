@@ -0,0 +1,60 @@
+package com.cts.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket.
+ * <p>
+ * Implemented as the generic cell rate algorithm: instead of a token count and a refill time, the
+ * bucket keeps a single "theoretical arrival time", the instant at which it would be full again.
+ * Taking a token pushes that instant one refill interval further; the request is allowed as long as
+ * it stays within {@code capacity} intervals of now. A single compare-and-set per request keeps the
+ * bucket consistent under concurrent use without locking.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param capacity The number of requests allowed in a burst.
+     * @param refillPerMinute The number of tokens added per minute.
+     * @param now The current time, from {@link System#nanoTime()}.
+     */
+    public TokenBucket(int capacity, int refillPerMinute, long now) {
+        this(new RateLimitPolicy(capacity, refillPerMinute), now);
+    }
+
+    public TokenBucket(RateLimitPolicy policy, long now) {
+        this.intervalNanos = policy.intervalNanos();
+        this.burstNanos = policy.burstNanos();
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token if one is available.
+     * @param now The current time, from {@link System#nanoTime()}.
+     * @return 0 if the token was taken, otherwise the nanoseconds until one will be available.
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns true when the bucket is full, so dropping it loses no state.
+     */
+    public boolean isFull(long now) {
+        return fullAt.get() <= now;
+    }
+}
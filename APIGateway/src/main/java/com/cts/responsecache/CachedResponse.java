@@ -0,0 +1,19 @@
+package com.cts.responsecache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * A downstream response kept by the gateway.
+ * @param headers The response headers to replay, read-only.
+ * @param etag The entity tag of the body, quoted.
+ * @param storedAt When the response was stored, in epoch milliseconds.
+ * @param expiresAt When it stops being served, in epoch milliseconds.
+ */
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag, long storedAt,
+        long expiresAt) {
+
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+}
@@ -0,0 +1,106 @@
+package com.cts.responsecache;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import com.cts.model.ResponseCacheStats;
+
+/**
+ * Bounded store of downstream responses, least recently used first out, each valid for its TTL.
+ */
+@Component
+public class ResponseCache {
+
+    private final Map<String, CachedResponse> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache(ResponseCacheProperties properties) {
+        int maxEntries = properties.getMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the live response stored under the key, or null.
+     */
+    public CachedResponse get(String key, long now) {
+        CachedResponse cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+            if (cached != null && cached.isExpired(now)) {
+                entries.remove(key);
+                cached = null;
+            }
+        }
+        if (cached == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Stores a response. Keeps the downstream ETag if there is one, otherwise derives one from the body.
+     */
+    public CachedResponse put(String key, HttpStatusCode status, HttpHeaders headers, byte[] body, long now,
+            long ttlMillis) {
+        String etag = headers.getETag() != null ? headers.getETag() : etag(body);
+        CachedResponse cached = new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body, etag, now,
+                now + ttlMillis);
+        synchronized (entries) {
+            entries.put(key, cached);
+        }
+        stores.increment();
+        return cached;
+    }
+
+    public void countNotModified() {
+        notModified.increment();
+    }
+
+    public ResponseCacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new ResponseCacheStats(hits.sum(), notModified.sum(), misses.sum(), stores.sum(), evictions.sum(), size);
+    }
+
+    /**
+     * Derives a strong ETag from the body, for responses the service sent without one.
+     */
+    static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            // 128 bits are plenty to tell versions of one resource apart.
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16))
+                    + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.cts.responsecache;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.cts.utility.CopyingResponse;
+import com.cts.utility.ResponseKeys;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers repeated GETs of rarely changing routes from the gateway.
+ * <p>
+ * Responses are cached per route, path, query and role set, so users with different roles never
+ * see each other's responses, and per Accept and Accept-Encoding, since the services negotiate the
+ * format (JSON or CBOR) and compression. A hit is replayed with its ETag and Age, or answered with 304 when the
+ * client already has that ETag. A miss is streamed to the client while a copy is kept and carries the same
+ * ETag: the service's own, or one derived from the body, which is then held until it is complete; bodies
+ * larger than {@code max-body-bytes}, non-200 responses and responses marked no-store, private or
+ * setting cookies are not cached. Range requests bypass the cache, and a request with
+ * {@code Cache-Control: no-cache} skips the lookup.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    // After rate limiting, so cached answers still count against the client's limits.
+    public static final int ORDER = -150;
+
+    private final ResponseCache cache;
+    private final ResponseCacheProperties properties;
+    private final List<PathPattern> patterns;
+
+    public ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties) {
+        this.cache = cache;
+        this.properties = properties;
+        this.patterns = properties.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || request.getMethod() != HttpMethod.GET
+                || request.getHeaders().containsKey(HttpHeaders.RANGE) || !matches(request)) {
+            return chain.filter(exchange);
+        }
+        return ResponseKeys.key(exchange, route.getId())
+                .flatMap(key -> {
+                    long now = System.currentTimeMillis();
+                    boolean revalidate = request.getHeaders().getCacheControl() != null
+                            && request.getHeaders().getCacheControl().contains("no-cache");
+                    CachedResponse cached = revalidate ? null : cache.get(key, now);
+                    if (cached != null) {
+                        return replay(exchange, cached, now);
+                    }
+                    long ttl = properties.ttlFor(route.getId()).toMillis();
+                    return chain.filter(exchange.mutate().response(new CachingResponse(exchange.getResponse(), key, ttl))
+                            .build());
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private boolean matches(ServerHttpRequest request) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Mono<Void> replay(ServerWebExchange exchange, CachedResponse cached, long now) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.set(HttpHeaders.AGE, String.valueOf((now - cached.storedAt()) / 1000));
+        headers.set("X-Cache", "HIT");
+        if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(cached.etag())) {
+            cache.countNotModified();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        cached.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        response.setStatusCode(cached.status());
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Passes the downstream response through and keeps a copy of it once it is complete.
+     */
+    private final class CachingResponse extends CopyingResponse {
+
+        private final String key;
+        private final long ttlMillis;
+
+        CachingResponse(ServerHttpResponse delegate, String key, long ttlMillis) {
+            super(delegate, properties.getMaxBodyBytes());
+            this.key = key;
+            this.ttlMillis = ttlMillis;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (isCopied()) {
+                getHeaders().set("X-Cache", "MISS");
+                if (getHeaders().getETag() == null) {
+                    return writeWithDerivedEtag(body);
+                }
+            }
+            return super.writeWith(body);
+        }
+
+        @Override
+        protected boolean isCopied() {
+            HttpHeaders headers = getHeaders();
+            String cacheControl = headers.getCacheControl();
+            return HttpStatus.OK.equals(getStatusCode()) && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                    && (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")));
+        }
+
+        @Override
+        protected void copied(byte[] body) {
+            cache.put(key, getStatusCode(), copyHeaders(), body, System.currentTimeMillis(), ttlMillis);
+        }
+
+        /**
+         * Holds the body until it is complete, so the ETag derived from it goes out with the miss and matches
+         * the one the hits are replayed with. A body that grows past the limit is streamed on without an ETag
+         * and not cached.
+         */
+        private Mono<Void> writeWithDerivedEtag(Publisher<? extends DataBuffer> body) {
+            int limit = getMaxBodyBytes();
+            long[] size = new long[1];
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> (size[0] += buffer.readableByteCount()) > limit)
+                    .switchOnFirst((first, chunks) -> {
+                        List<DataBuffer> head = first.get();
+                        if (first.isOnError() || (head != null && size[0] > limit)) {
+                            return getDelegate().writeWith(chunks.concatMapIterable(Function.identity()));
+                        }
+                        // The first chunk only ends below the limit when the body is complete.
+                        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+                        if (head != null) {
+                            for (DataBuffer buffer : head) {
+                                copy.writeBytes(bytes(buffer));
+                                DataBufferUtils.release(buffer);
+                            }
+                        }
+                        byte[] content = copy.toByteArray();
+                        getHeaders().setETag(ResponseCache.etag(content));
+                        getHeaders().setContentLength(content.length);
+                        return getDelegate().writeWith(Mono.just(bufferFactory().wrap(content)))
+                                .doOnSuccess(done -> copied(content));
+                    })
+                    .then();
+        }
+    }
+}
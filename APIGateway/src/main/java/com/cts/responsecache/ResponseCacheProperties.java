@@ -0,0 +1,79 @@
+package com.cts.responsecache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gateway response cache settings, under {@code gateway.cache}.
+ * Only GET requests whose path matches one of {@code paths} are cached.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofSeconds(10);
+    // TTL per route id, overriding ttl.
+    private Map<String, Duration> routeTtl = new HashMap<>();
+    private int maxEntries = 1000;
+    private int maxBodyBytes = 1024 * 1024;
+    private List<String> paths = new ArrayList<>();
+
+    public Duration ttlFor(String routeId) {
+        return routeTtl.getOrDefault(routeId, ttl);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Map<String, Duration> getRouteTtl() {
+        return routeTtl;
+    }
+
+    public void setRouteTtl(Map<String, Duration> routeTtl) {
+        this.routeTtl = routeTtl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+}
@@ -1,6 +1,9 @@
 package com.cts.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -9,12 +12,18 @@ import org.springframework.stereotype.Service;
 import com.cts.exception.BadRequestException;
 import com.cts.exception.UserAlreadyExistsException;
 import com.cts.model.User;
+import com.cts.ratelimit.LoginRateLimiter;
 import com.cts.repository.UserRepository;
 import com.cts.utility.JwtUtil;
 
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     @Autowired
     private UserRepository userRepository;
 
@@ -24,36 +33,78 @@ public class AuthService {
     @Autowired
     private BCryptPasswordEncoder passwordEncoder;
 
-    public String authenticate(String username, String rawPassword) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    // Blocking JPA calls run here, never on the event loop.
+    @Autowired
+    @Qualifier("authJdbcScheduler")
+    private Scheduler jdbcScheduler;
+
+    // BCrypt hashing and matching run here.
+    @Autowired
+    @Qualifier("passwordHashScheduler")
+    private Scheduler hashScheduler;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
 
-        if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
-            throw new BadCredentialsException("Invalid password");
-        }
+    public Mono<String> authenticate(String username, String rawPassword, String clientAddress) {
+        return Mono.fromRunnable(() -> loginRateLimiter.checkLogin(username, clientAddress))
+                .then(Mono.fromCallable(() -> userRepository.findByUsername(username)
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found")))
+                        .subscribeOn(jdbcScheduler))
+                .publishOn(hashScheduler)
+                .map(user -> {
+                    if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
+                        throw new BadCredentialsException("Invalid password");
+                    }
+                    if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+                        rehash(user, rawPassword);
+                    }
+                    return jwtUtil.generateToken(user.getUsername(), user.getRole());
+                });
+    }
 
-        return jwtUtil.generateToken(user.getUsername(), user.getRole());
+    // Stores the password again at the configured cost, without delaying the login response.
+    // If it fails the old hash is kept, which still matches.
+    private void rehash(User user, String rawPassword) {
+        Mono.fromCallable(() -> passwordEncoder.encode(rawPassword))
+                .subscribeOn(hashScheduler)
+                .publishOn(jdbcScheduler)
+                .doOnNext(encoded -> {
+                    user.setPassword(encoded);
+                    userRepository.save(user);
+                })
+                .subscribe(encoded -> log.info("Upgraded password hash of user {}", user.getUsername()),
+                        error -> log.warn("Could not upgrade password hash of user {}: {}", user.getUsername(),
+                                error.getMessage()));
     }
 
-    public void registerUser(User user) {
+    public Mono<Void> registerUser(User user, String clientAddress) {
     	
     	if (user == null || user.getUsername() == null || user.getUsername().trim().isEmpty()) {
-    	    throw new BadRequestException("Username must not be empty");
+    	    return Mono.error(new BadRequestException("Username must not be empty"));
     	}
     	if (user.getPassword() == null || user.getPassword().trim().isEmpty()) {
-    	    throw new BadRequestException("Password must not be empty");
+    	    return Mono.error(new BadRequestException("Password must not be empty"));
     	}
 
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new UserAlreadyExistsException("Username '" + user.getUsername() + "' already exists");
-        }
-
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        
-        if (user.getRole() == null || user.getRole().trim().isEmpty()) {
-            user.setRole("USER");
-        }
-
-        userRepository.save(user);
+        return Mono.fromRunnable(() -> loginRateLimiter.checkRegistration(clientAddress))
+                .then(Mono.fromCallable(() -> userRepository.existsByUsername(user.getUsername()))
+                        .subscribeOn(jdbcScheduler))
+                .publishOn(hashScheduler)
+                .map(exists -> {
+                    if (exists) {
+                        throw new UserAlreadyExistsException("Username '" + user.getUsername() + "' already exists");
+                    }
+                    return passwordEncoder.encode(user.getPassword());
+                })
+                .publishOn(jdbcScheduler)
+                .doOnNext(encoded -> {
+                    user.setPassword(encoded);
+                    if (user.getRole() == null || user.getRole().trim().isEmpty()) {
+                        user.setRole("USER");
+                    }
+                    userRepository.save(user);
+                })
+                .then();
     }
 }
@@ -0,0 +1,47 @@
+package com.cts.upstream;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * The gateway's routing filter, sending each route's requests through the route's own connection pool.
+ * <p>
+ * It runs just before the default routing filter, which then finds the exchange already routed and
+ * passes it on; everything else, headers filtering and response timeouts included, is inherited.
+ */
+public class PooledRoutingFilter extends NettyRoutingFilter {
+
+    private final UpstreamPools pools;
+
+    public PooledRoutingFilter(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+            HttpClientProperties properties, UpstreamPools pools) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.pools = pools;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        HttpClient client = pools.clientFor(route.getId());
+        Object connectTimeout = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            return client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.valueOf(connectTimeout.toString()));
+        }
+        return client;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+}
@@ -0,0 +1,158 @@
+package com.cts.upstream;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.stereotype.Component;
+
+import com.cts.model.UpstreamPoolStats;
+
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * One connection pool and HTTP client per route, created on the route's first request.
+ * <p>
+ * The clients are built by the gateway's own {@link HttpClientFactory}, so every {@code spring.cloud.gateway.httpclient}
+ * setting (timeouts, header limits, proxy, SSL, wiretap, compression) and every {@link HttpClientCustomizer}
+ * applies to them as it does to the shared client; only the connection pool is the route's own.
+ * <p>
+ * Reactor Netty keeps a pool per downstream instance inside each provider; their sizes are collected
+ * here so {@link #getStats()} can show how close each pool is to its limits.
+ */
+@Component
+public class UpstreamPools implements DisposableBean {
+
+    private final UpstreamProperties properties;
+    // Builds a client with the gateway's settings on the given pool.
+    private final Function<ConnectionProvider, HttpClient> clientFactory;
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+    // Pool sizes by route id, then by downstream instance.
+    private final Map<String, Map<String, ConnectionPoolMetrics>> metrics = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UpstreamPools(UpstreamProperties properties, HttpClientProperties httpClientProperties,
+            ServerProperties serverProperties, HttpClientSslConfigurer sslConfigurer,
+            ObjectProvider<HttpClientCustomizer> customizers) {
+        this(properties, provider -> new RouteClientFactory(httpClientProperties, serverProperties, sslConfigurer,
+                customizers.orderedStream().toList(), provider).create());
+    }
+
+    UpstreamPools(UpstreamProperties properties, Function<ConnectionProvider, HttpClient> clientFactory) {
+        this.properties = properties;
+        this.clientFactory = clientFactory;
+    }
+
+    /**
+     * Returns the HTTP client of the route, with its own connection pool.
+     */
+    public HttpClient clientFor(String routeId) {
+        return clients.computeIfAbsent(routeId, this::newClient);
+    }
+
+    /**
+     * Returns the pool sizes of every route that has sent a request, by route id.
+     */
+    public Map<String, List<UpstreamPoolStats>> getStats() {
+        Map<String, List<UpstreamPoolStats>> stats = new TreeMap<>();
+        metrics.forEach((routeId, instances) -> {
+            List<UpstreamPoolStats> pools = new ArrayList<>();
+            instances.forEach((instance, pool) -> {
+                int max = pool.maxAllocatedSize();
+                pools.add(new UpstreamPoolStats(instance, pool.acquiredSize(), pool.idleSize(), max,
+                        pool.pendingAcquireSize(), pool.maxPendingAcquireSize(),
+                        max == 0 ? 0 : (double) pool.acquiredSize() / max));
+            });
+            stats.put(routeId, pools);
+        });
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        providers.values().forEach(ConnectionProvider::dispose);
+    }
+
+    private HttpClient newClient(String routeId) {
+        UpstreamProperties.Pool pool = properties.poolFor(routeId);
+        ConnectionProvider provider = ConnectionProvider.builder(routeId)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true, PoolRegistrar::new)
+                .build();
+        providers.put(routeId, provider);
+        HttpClient client = clientFactory.apply(provider);
+        if (pool.isH2c()) {
+            // Upgrades to HTTP/2 where the service accepts it and stays on HTTP/1.1 where it does not.
+            client = client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return client;
+    }
+
+    /**
+     * The gateway's client factory, building on the route's pool instead of one from {@code httpclient.pool}.
+     */
+    private static final class RouteClientFactory extends HttpClientFactory {
+
+        private final ConnectionProvider provider;
+
+        RouteClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
+                HttpClientSslConfigurer sslConfigurer, List<HttpClientCustomizer> customizers,
+                ConnectionProvider provider) {
+            super(properties, serverProperties, sslConfigurer, customizers);
+            this.provider = provider;
+        }
+
+        HttpClient create() {
+            try {
+                return createInstance();
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not create an upstream HTTP client", e);
+            }
+        }
+
+        @Override
+        protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+            return provider;
+        }
+    }
+
+    /**
+     * Receives the pool of each downstream instance when Reactor Netty creates or disposes it.
+     */
+    private final class PoolRegistrar implements ConnectionProvider.MeterRegistrar {
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics pool) {
+            metrics.computeIfAbsent(poolName, name -> new ConcurrentHashMap<>()).put(remoteAddress.toString(), pool);
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            Map<String, ConnectionPoolMetrics> instances = metrics.get(poolName);
+            if (instances != null) {
+                instances.remove(remoteAddress.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.cts.upstream;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Connection pools to the downstream services, under {@code gateway.upstream}.
+ * Every route gets its own pool with the {@code defaults} unless it has its own entry under {@code routes.<route id>}.
+ */
+@Component
+@ConfigurationProperties(prefix = "gateway.upstream")
+public class UpstreamProperties {
+
+    private Pool defaults = new Pool();
+    private Map<String, Pool> routes = new HashMap<>();
+
+    public Pool poolFor(String routeId) {
+        return routes.getOrDefault(routeId, defaults);
+    }
+
+    public Pool getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Pool defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Pool> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Pool> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Limits of the pool of one route, per downstream instance.
+     */
+    public static class Pool {
+
+        private int maxConnections = 200;
+        // Requests that may wait for a connection once all are in use; more are rejected at once.
+        private int pendingAcquireMaxCount = 400;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictionInterval = Duration.ofSeconds(15);
+        // HTTP/2 over cleartext, by upgrading from HTTP/1.1, for services that have it enabled.
+        private boolean h2c = false;
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        public boolean isH2c() {
+            return h2c;
+        }
+
+        public void setH2c(boolean h2c) {
+            this.h2c = h2c;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.cts.utility;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Passes a downstream response through to the client and keeps a copy of its body.
+ * <p>
+ * Whether a response is copied is decided once its status and headers are set. The copy is handed to
+ * {@link #copied(byte[])} after the body has been written in full; a body larger than the limit, or one
+ * that fails or is cancelled, is not handed over.
+ */
+public abstract class CopyingResponse extends ServerHttpResponseDecorator {
+
+    // Headers that describe the connection, not the response, and are never copied.
+    private static final Set<String> CONNECTION_HEADERS = Set.of(HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.DATE.toLowerCase(), "keep-alive", "x-cache");
+
+    private final int maxBodyBytes;
+
+    protected CopyingResponse(ServerHttpResponse delegate, int maxBodyBytes) {
+        super(delegate);
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * Returns whether the response, with its status and headers as they are now, should be copied.
+     */
+    protected abstract boolean isCopied();
+
+    /**
+     * Receives the complete body of a copied response.
+     */
+    protected abstract void copied(byte[] body);
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        if (!isCopied()) {
+            return super.writeWith(body);
+        }
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        boolean[] tooLarge = new boolean[1];
+        Flux<DataBuffer> tee = Flux.<DataBuffer>from(body).doOnNext(buffer -> {
+            int count = buffer.readableByteCount();
+            if (tooLarge[0] || copy.size() + count > maxBodyBytes) {
+                tooLarge[0] = true;
+                return;
+            }
+            copy.writeBytes(bytes(buffer));
+        });
+        return super.writeWith(tee).doOnSuccess(done -> {
+            if (!tooLarge[0]) {
+                copied(copy.toByteArray());
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWith(Flux.from(body).concatMap(chunk -> chunk));
+    }
+
+    protected int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * Returns a copy of the response headers, leaving out those that describe the connection.
+     */
+    protected HttpHeaders copyHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        getHeaders().forEach((name, values) -> {
+            if (!CONNECTION_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+        return headers;
+    }
+
+    /**
+     * Copies the readable bytes of the buffer without consuming them.
+     */
+    protected static byte[] bytes(DataBuffer buffer) {
+        int count = buffer.readableByteCount();
+        byte[] bytes = new byte[count];
+        buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, count);
+        return bytes;
+    }
+}
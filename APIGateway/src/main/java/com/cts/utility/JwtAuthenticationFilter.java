@@ -12,6 +12,8 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 
+import com.cts.model.JwtPrincipal;
+
 import reactor.core.publisher.Mono;
  
 @Component
@@ -19,10 +21,13 @@ public class JwtAuthenticationFilter implements WebFilter {
  
    
     private JwtUtil jwtUtil;
+
+    private VerifiedTokenCache tokenCache;
  
  
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache) {
         this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
     }
  
     @Override
@@ -32,13 +37,13 @@ public class JwtAuthenticationFilter implements WebFilter {
  
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            if (jwtUtil.isTokenValid(token)) {
-                String username = jwtUtil.extractUsername(token);
-                String role = jwtUtil.extractRole(token);
-                List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+            // One verification per distinct token; later requests with it are served from the cache.
+            JwtPrincipal principal = tokenCache.verify(token, jwtUtil::validate);
+            if (principal != null) {
+                List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + principal.role()));
  
                 UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(username, null, authorities);
+                    new UsernamePasswordAuthenticationToken(principal.username(), null, authorities);
  
                 return chain.filter(exchange)
                     .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
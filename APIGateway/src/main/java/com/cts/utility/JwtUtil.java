@@ -5,7 +5,11 @@ import java.util.Date;
 
 import org.springframework.stereotype.Component;
 
+import com.cts.model.JwtPrincipal;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -18,6 +22,9 @@ public class JwtUtil {
 	// bytes
 	private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
 
+	// Immutable and thread-safe, so one parser serves every request.
+	private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
 	public String extractUsername(String token) {
 		return extractClaims(token).getSubject();
 	}
@@ -29,12 +36,7 @@ public class JwtUtil {
 	}
 
 	public Claims extractClaims(String token) {
-		
-		 return Jwts.parserBuilder()
-				    .setSigningKey(key)
-	                .build()
-	                .parseClaimsJws(token)
-	                .getBody();
+		return parser.parseClaimsJws(token).getBody();
 	}
 
 	public String extractRole(String token) {
@@ -42,7 +44,24 @@ public class JwtUtil {
 	}
 
 	public boolean isTokenValid(String token) {
-		return !extractClaims(token).getExpiration().before(new Date());
+		return extractClaims(token).getExpiration().getTime() > System.currentTimeMillis();
+	}
+
+	/**
+	 * Verifies the signature and expiry of a token with a single parse.
+	 * @return The principal of the token, or null if it is malformed, wrongly signed, expired or has no expiry.
+	 */
+	public JwtPrincipal validate(String token) {
+		try {
+			Claims claims = parser.parseClaimsJws(token).getBody();
+			Date expiration = claims.getExpiration();
+			if (expiration == null) {
+				return null;
+			}
+			return new JwtPrincipal(claims.getSubject(), claims.get("role", String.class), expiration.getTime());
+		} catch (JwtException | IllegalArgumentException e) {
+			return null;
+		}
 	}
 
 }
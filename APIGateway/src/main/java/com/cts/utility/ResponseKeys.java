@@ -0,0 +1,54 @@
+package com.cts.utility;
+
+import java.security.Principal;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Keys under which the gateway shares one downstream response between requests.
+ * <p>
+ * A key covers the route, the caller's role set, the path, the query, and the Accept and Accept-Encoding
+ * headers. Users with different roles never share a response, and neither do requests that negotiate a
+ * different format (JSON or CBOR) or compression.
+ */
+public final class ResponseKeys {
+
+    private ResponseKeys() {
+    }
+
+    /**
+     * Returns the key of the exchange on the given route.
+     */
+    public static Mono<String> key(ServerWebExchange exchange, String routeId) {
+        return exchange.getPrincipal()
+                .map(ResponseKeys::roles)
+                .defaultIfEmpty("anonymous")
+                .map(roles -> key(routeId, roles, exchange.getRequest()));
+    }
+
+    static String key(String routeId, String roles, ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        String query = request.getURI().getRawQuery();
+        return routeId + "|" + roles + "|" + request.getURI().getRawPath() + "?" + (query == null ? "" : query) + "|"
+                + headers.getFirst(HttpHeaders.ACCEPT) + "|" + headers.getFirst(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    static String roles(Principal principal) {
+        if (principal instanceof Authentication authentication) {
+            Set<String> roles = new TreeSet<>();
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                roles.add(authority.getAuthority());
+            }
+            return String.join(",", roles);
+        }
+        return "anonymous";
+    }
+}
@@ -0,0 +1,90 @@
+package com.cts.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cts.model.JwtPrincipal;
+
+/**
+ * Remembers the principals of bearer tokens whose signature has already been verified, so a client
+ * sending the same token on every request pays for one HMAC verification and JSON parse per token
+ * instead of per request.
+ * <p>
+ * Entries are keyed by the SHA-256 of the token, so the tokens themselves are not kept in memory,
+ * and are dropped once the token expires. The cache holds at most {@code maxEntries} tokens.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Map<String, JwtPrincipal> tokens = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public VerifiedTokenCache(@Value("${security.jwt.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the principal of a token, verifying it only if it is not cached.
+     * @param token The bearer token.
+     * @param verifier Verifies an uncached token; returns null when the token is not valid.
+     * @return The principal, or null if the token is not valid.
+     */
+    public JwtPrincipal verify(String token, Function<String, JwtPrincipal> verifier) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        JwtPrincipal cached = tokens.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            tokens.remove(key, cached);
+        }
+        JwtPrincipal principal = verifier.apply(token);
+        if (principal != null && !principal.isExpired(now)) {
+            if (tokens.size() >= maxEntries) {
+                makeRoom(now);
+            }
+            tokens.put(key, principal);
+        }
+        return principal;
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    // Drops expired tokens first, then arbitrary ones, down to 90% of the bound.
+    private synchronized void makeRoom(long now) {
+        if (tokens.size() < maxEntries) {
+            return;
+        }
+        tokens.values().removeIf(principal -> principal.isExpired(now));
+        Iterator<String> keys = tokens.keySet().iterator();
+        while (tokens.size() >= maxEntries * 9 / 10 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(digest);
+    }
+}
@@ -0,0 +1,74 @@
+package com.cts.authorization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.cts.authorization.AuthorizationProperties.Rule;
+
+class RouteAuthorizationTableTest {
+
+    private final RouteAuthorizationTable table = table(
+            new Rule(null, "/auth/login", true),
+            new Rule("POST", "/api/order/save", false, "USER"),
+            new Rule("GET", "/api/order/getByOrderId/{id}", false, "ADMIN"),
+            new Rule("GET", "/api/order/getByOrderId/latest", false, "USER"),
+            new Rule("GET", "/api/product/**", false, "USER", "ADMIN"));
+
+    @Test
+    void resolvesLiteralPathsPerMethod() {
+        assertTrue(table.resolve(HttpMethod.POST, "/auth/login").permitAll());
+        assertEquals(Set.of("ROLE_USER"), table.resolve(HttpMethod.POST, "/api/order/save").authorities());
+        // No rule for GET, so the default applies.
+        assertEquals(Set.of("ROLE_ADMIN"), table.resolve(HttpMethod.GET, "/api/order/save").authorities());
+    }
+
+    @Test
+    void literalSegmentWinsOverVariable() {
+        assertEquals(Set.of("ROLE_ADMIN"), table.resolve(HttpMethod.GET, "/api/order/getByOrderId/42").authorities());
+        assertEquals(Set.of("ROLE_USER"), table.resolve(HttpMethod.GET, "/api/order/getByOrderId/latest").authorities());
+    }
+
+    @Test
+    void trailingDoubleWildcardMatchesAnyDepth() {
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), table.resolve(HttpMethod.GET, "/api/product").authorities());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"),
+                table.resolve(HttpMethod.GET, "/api/product/getProductName/1").authorities());
+        assertEquals(Set.of("ROLE_ADMIN"), table.resolve(HttpMethod.DELETE, "/api/product/delete/1").authorities());
+    }
+
+    @Test
+    void unknownPathsNeedTheDefaultRoles() {
+        assertEquals(Set.of("ROLE_ADMIN"), table.resolve(HttpMethod.GET, "/gateway/stats/coalescing").authorities());
+        assertEquals(Set.of("ROLE_ADMIN"), table.resolve(HttpMethod.GET, "/").authorities());
+    }
+
+    @Test
+    void allowsWhenCallerHasOneOfTheRoles() {
+        RouteAuthorizationTable.Access access = table.resolve(HttpMethod.GET, "/api/product/viewAll");
+
+        assertTrue(access.allows(List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        assertFalse(access.allows(List.of(new SimpleGrantedAuthority("ROLE_SUPPLIER"))));
+    }
+
+    @Test
+    void rejectsDuplicateRules() {
+        assertThrows(IllegalStateException.class, () -> table(
+                new Rule("GET", "/api/order/{id}", false, "USER"),
+                new Rule("GET", "/api/order/{orderId}", false, "ADMIN")));
+    }
+
+    private static RouteAuthorizationTable table(Rule... rules) {
+        AuthorizationProperties properties = new AuthorizationProperties();
+        properties.setRules(List.of(rules));
+        return new RouteAuthorizationTable(properties);
+    }
+}
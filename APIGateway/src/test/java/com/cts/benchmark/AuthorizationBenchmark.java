@@ -0,0 +1,119 @@
+package com.cts.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorityReactiveAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.security.web.server.authorization.DelegatingReactiveAuthorizationManager;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcherEntry;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.cts.authorization.AuthorizationProperties;
+import com.cts.authorization.AuthorizationProperties.Rule;
+import com.cts.authorization.RouteAuthorizationManager;
+import com.cts.authorization.RouteAuthorizationTable;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Cost of the authorization decision per request: the matcher chain that SecurityConfig used to build,
+ * tried in order until one matches, against one lookup in the {@link RouteAuthorizationTable}.
+ * Both are given the same rules; the last path matches no rule and falls through to the default.
+ * <p>
+ * Not a unit test; run it like {@link JwtBenchmark} with {@code -Dexec.mainClass=com.cts.benchmark.AuthorizationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    @Param({ "/auth/login", "/api/product/viewAllAvailable", "/api/report/inventory/valuation/2025-01-01/2025-02-01" })
+    public String path;
+
+    private RouteAuthorizationTable table;
+    private ReactiveAuthorizationManager<AuthorizationContext> tableManager;
+    private ReactiveAuthorizationManager<ServerWebExchange> matcherChain;
+    private MockServerWebExchange exchange;
+    private AuthorizationContext context;
+    private Mono<Authentication> authentication;
+
+    @Setup
+    public void setUp() {
+        AuthorizationProperties properties = new AuthorizationProperties();
+        properties.setRules(List.of(
+                new Rule(null, "/auth/login", true),
+                new Rule(null, "/auth/register", true),
+                new Rule("POST", "/api/order/save", false, "USER"),
+                new Rule("GET", "/api/order/getByOrderId/{id}", false, "ADMIN"),
+                new Rule("GET", "/api/product/viewAllAvailable", false, "USER", "ADMIN")));
+        table = new RouteAuthorizationTable(properties);
+        tableManager = new RouteAuthorizationManager(table);
+
+        ReactiveAuthorizationManager<AuthorizationContext> permitAll = (auth, ctx) -> Mono.just(new AuthorizationDecision(true));
+        matcherChain = DelegatingReactiveAuthorizationManager.builder()
+                .add(new ServerWebExchangeMatcherEntry<>(ServerWebExchangeMatchers.pathMatchers("/auth/login", "/auth/register"),
+                        permitAll))
+                .add(new ServerWebExchangeMatcherEntry<>(ServerWebExchangeMatchers.pathMatchers(HttpMethod.POST, "/api/order/save"),
+                        AuthorityReactiveAuthorizationManager.hasAnyRole("USER")))
+                .add(new ServerWebExchangeMatcherEntry<>(
+                        ServerWebExchangeMatchers.pathMatchers(HttpMethod.GET, "/api/order/getByOrderId/{id}"),
+                        AuthorityReactiveAuthorizationManager.hasAnyRole("ADMIN")))
+                .add(new ServerWebExchangeMatcherEntry<>(
+                        ServerWebExchangeMatchers.pathMatchers(HttpMethod.GET, "/api/product/viewAllAvailable"),
+                        AuthorityReactiveAuthorizationManager.hasAnyRole("USER", "ADMIN")))
+                .add(new ServerWebExchangeMatcherEntry<>(ServerWebExchangeMatchers.anyExchange(),
+                        AuthorityReactiveAuthorizationManager.hasRole("ADMIN")))
+                .build();
+
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        context = new AuthorizationContext(exchange);
+        authentication = Mono.just(new UsernamePasswordAuthenticationToken("admin", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @Benchmark
+    public AuthorizationDecision matcherChain() {
+        return matcherChain.check(authentication, exchange).block();
+    }
+
+    @Benchmark
+    public AuthorizationDecision table() {
+        return tableManager.check(authentication, context).block();
+    }
+
+    @Benchmark
+    public RouteAuthorizationTable.Access tableLookupOnly() {
+        return table.resolve(HttpMethod.GET, path);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] jmhArgs = Arrays.copyOf(args, args.length + 1);
+        jmhArgs[args.length] = AuthorizationBenchmark.class.getSimpleName();
+        org.openjdk.jmh.Main.main(jmhArgs);
+    }
+}
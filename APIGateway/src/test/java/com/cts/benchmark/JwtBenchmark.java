@@ -0,0 +1,79 @@
+package com.cts.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.cts.model.JwtPrincipal;
+import com.cts.utility.JwtUtil;
+import com.cts.utility.VerifiedTokenCache;
+
+/**
+ * Throughput of token generation and of the ways the authentication filter can validate a token:
+ * three separate parses (the original filter), one parse into a {@link JwtPrincipal}, and a hit
+ * in the verified-token cache. Runs on all cores to include contention on the shared parser and cache.
+ * <p>
+ * Not a unit test; run it from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=com.cts.benchmark.JwtBenchmark -Dexec.classpathScope=test}.
+ * Arguments are passed on to JMH; add {@code -Dexec.args="-prof gc"} to see the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache cache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        cache = new VerifiedTokenCache(10_000);
+        token = jwtUtil.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public void threeParses(Blackhole blackhole) {
+        blackhole.consume(jwtUtil.isTokenValid(token));
+        blackhole.consume(jwtUtil.extractUsername(token));
+        blackhole.consume(jwtUtil.extractRole(token));
+    }
+
+    @Benchmark
+    public JwtPrincipal validate() {
+        return jwtUtil.validate(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal cachedValidate() {
+        return cache.verify(token, jwtUtil::validate);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] jmhArgs = Arrays.copyOf(args, args.length + 1);
+        jmhArgs[args.length] = JwtBenchmark.class.getSimpleName();
+        org.openjdk.jmh.Main.main(jmhArgs);
+    }
+}
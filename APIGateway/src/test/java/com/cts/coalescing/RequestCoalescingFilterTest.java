@@ -0,0 +1,131 @@
+package com.cts.coalescing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.cts.model.RouteCoalescingStats;
+
+import reactor.core.publisher.Mono;
+
+class RequestCoalescingFilterTest {
+
+    private final Route route = Route.async().id("PRODUCTMANAGEMENT").uri(URI.create("lb://PRODUCTMANAGEMENT"))
+            .predicate(exchange -> true).build();
+
+    private RequestCoalescingFilter filter;
+    private final AtomicInteger forwarded = new AtomicInteger();
+
+    // Answers after a short delay, so requests sent together overlap.
+    private final GatewayFilterChain chain = exchange -> Mono.defer(() -> {
+        forwarded.incrementAndGet();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        byte[] body = "{\"productID\":1}".getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }).delaySubscription(Duration.ofMillis(100));
+
+    @BeforeEach
+    void setUp() {
+        CoalescingProperties properties = new CoalescingProperties();
+        properties.setPaths(List.of("/api/product/**"));
+        filter = new RequestCoalescingFilter(properties);
+    }
+
+    @Test
+    void concurrentIdenticalGetsShareOneUpstreamCall() {
+        MockServerWebExchange first = exchange("/api/product/getProductName/1");
+        MockServerWebExchange second = exchange("/api/product/getProductName/1");
+        MockServerWebExchange third = exchange("/api/product/getProductName/1");
+
+        Mono.when(filter.filter(first, chain), filter.filter(second, chain), filter.filter(third, chain)).block();
+
+        assertEquals(1, forwarded.get());
+        assertEquals("{\"productID\":1}", second.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.OK, third.getResponse().getStatusCode());
+        RouteCoalescingStats stats = filter.getStats().get("PRODUCTMANAGEMENT");
+        assertEquals(3, stats.requests());
+        assertEquals(1, stats.upstreamCalls());
+        assertEquals(2, stats.coalesced());
+    }
+
+    @Test
+    void differentPathsAreNotCoalesced() {
+        Mono.when(filter.filter(exchange("/api/product/getProductName/1"), chain),
+                filter.filter(exchange("/api/product/getProductName/2"), chain)).block();
+
+        assertEquals(2, forwarded.get());
+    }
+
+    @Test
+    void waitingRequestGoesUpstreamWhenTheFirstOneFails() {
+        GatewayFilterChain failingOnce = exchange -> forwarded.get() == 0
+                ? Mono.defer(() -> {
+                    forwarded.incrementAndGet();
+                    return Mono.<Void>error(new IllegalStateException("connection reset"));
+                }).delaySubscription(Duration.ofMillis(100))
+                : chain.filter(exchange);
+        MockServerWebExchange second = exchange("/api/product/getProductName/1");
+
+        Mono.when(filter.filter(exchange("/api/product/getProductName/1"), failingOnce).onErrorResume(e -> Mono.empty()),
+                filter.filter(second, failingOnce)).block();
+
+        assertEquals(2, forwarded.get());
+        assertEquals("{\"productID\":1}", second.getResponse().getBodyAsString().block());
+        assertEquals(1, filter.getStats().get("PRODUCTMANAGEMENT").fallbacks());
+    }
+
+    @Test
+    void conditionalGetsAreNotCoalesced() {
+        Mono.when(filter.filter(exchange(MockServerHttpRequest.get("/api/product/getProductName/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1\"")), chain),
+                filter.filter(exchange(MockServerHttpRequest.get("/api/product/getProductName/1")), chain)).block();
+
+        assertEquals(2, forwarded.get());
+    }
+
+    @Test
+    void onlyOkResponsesAreShared() {
+        GatewayFilterChain unavailableOnce = exchange -> forwarded.get() == 0
+                ? Mono.defer(() -> {
+                    forwarded.incrementAndGet();
+                    exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                    return exchange.getResponse().setComplete();
+                }).delaySubscription(Duration.ofMillis(100))
+                : chain.filter(exchange);
+        MockServerWebExchange first = exchange("/api/product/getProductName/1");
+        MockServerWebExchange second = exchange("/api/product/getProductName/1");
+
+        Mono.when(filter.filter(first, unavailableOnce), filter.filter(second, unavailableOnce)).block();
+
+        assertEquals(2, forwarded.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, first.getResponse().getStatusCode());
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals(1, filter.getStats().get("PRODUCTMANAGEMENT").fallbacks());
+    }
+
+    private MockServerWebExchange exchange(String path) {
+        return exchange(MockServerHttpRequest.get(path));
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
@@ -0,0 +1,104 @@
+package com.cts.cors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+class GatewayCorsFilterTest {
+
+    private final GatewayCorsFilter filter = new GatewayCorsFilter(properties());
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final WebFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @Test
+    void answersPreflightWithoutEnteringTheChain() {
+        MockServerWebExchange exchange = preflight("http://localhost:4200", "POST");
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals(0, forwarded.get());
+        assertEquals("http://localhost:4200", headers.getAccessControlAllowOrigin());
+        assertEquals(1800, headers.getAccessControlMaxAge());
+        assertTrue(headers.getAccessControlAllowCredentials());
+        assertEquals(List.of("Authorization", "Content-Type"), headers.getAccessControlAllowHeaders());
+    }
+
+    @Test
+    void repeatedPreflightGetsTheSameSingleHeaders() {
+        filter.filter(preflight("http://localhost:4200", "GET"), chain).block();
+        MockServerWebExchange second = preflight("http://localhost:4200", "GET");
+
+        filter.filter(second, chain).block();
+
+        assertEquals(List.of("http://localhost:4200"),
+                second.getResponse().getHeaders().get(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+    }
+
+    @Test
+    void rejectsPreflightFromOtherOriginOrMethod() {
+        MockServerWebExchange otherOrigin = preflight("http://evil.example", "GET");
+        MockServerWebExchange otherMethod = preflight("http://localhost:4200", "PATCH");
+
+        filter.filter(otherOrigin, chain).block();
+        filter.filter(otherMethod, chain).block();
+
+        assertEquals(HttpStatus.FORBIDDEN, otherOrigin.getResponse().getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, otherMethod.getResponse().getStatusCode());
+        assertNull(otherOrigin.getResponse().getHeaders().getAccessControlAllowOrigin());
+        assertEquals(0, forwarded.get());
+    }
+
+    @Test
+    void addsHeadersToCrossOriginRequestsAndContinues() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://gateway:8080/api/product/viewAll")
+                .header(HttpHeaders.ORIGIN, "http://localhost:4200"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(1, forwarded.get());
+        assertEquals("http://localhost:4200", exchange.getResponse().getHeaders().getAccessControlAllowOrigin());
+        assertEquals(List.of("ETag"), exchange.getResponse().getHeaders().getAccessControlExposeHeaders());
+    }
+
+    @Test
+    void leavesSameOriginRequestsAlone() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/product/viewAll"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(1, forwarded.get());
+        assertFalse(exchange.getResponse().getHeaders().containsKey(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+    }
+
+    private static MockServerWebExchange preflight(String origin, String method) {
+        return MockServerWebExchange.from(MockServerHttpRequest.method(HttpMethod.OPTIONS, "http://gateway:8080/api/order/save")
+                .header(HttpHeaders.ORIGIN, origin)
+                .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, method)
+                .header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "Authorization, Content-Type"));
+    }
+
+    private static CorsProperties properties() {
+        CorsProperties properties = new CorsProperties();
+        properties.setExposedHeaders(List.of("ETag"));
+        return properties;
+    }
+}
@@ -0,0 +1,67 @@
+package com.cts.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver(List.of("10.0.0.0/8", "192.168.1.5"));
+
+    @Test
+    void usesConnectionAddressOfUntrustedPeer() {
+        // A client connecting directly cannot pick its address with the header.
+        MockServerHttpRequest request = from("203.0.113.7")
+                .header(ClientAddressResolver.FORWARDED_FOR, "198.51.100.1").build();
+
+        assertEquals("203.0.113.7", resolver.resolve(request));
+    }
+
+    @Test
+    void takesFirstUntrustedHopFromTheRight() {
+        // The client prepended a fake hop; the balancer appended the real client, then a second proxy its own.
+        MockServerHttpRequest request = from("10.1.2.3")
+                .header(ClientAddressResolver.FORWARDED_FOR, "198.51.100.1, 203.0.113.7")
+                .header(ClientAddressResolver.FORWARDED_FOR, "192.168.1.5").build();
+
+        assertEquals("203.0.113.7", resolver.resolve(request));
+    }
+
+    @Test
+    void treatsNonAddressHopAsUntrusted() {
+        MockServerHttpRequest request = from("10.1.2.3")
+                .header(ClientAddressResolver.FORWARDED_FOR, "unknown").build();
+
+        assertEquals("unknown", resolver.resolve(request));
+        assertEquals("10.1.2.3", resolver.resolve(from("10.1.2.3").build()));
+    }
+
+    @Test
+    void matchesCidrPrefixesThatEndInsideAByte() {
+        ClientAddressResolver resolver = new ClientAddressResolver(List.of("172.16.0.0/12", "2001:db8::/32"));
+
+        assertEquals("203.0.113.7", resolver.resolve(from("172.31.255.1")
+                .header(ClientAddressResolver.FORWARDED_FOR, "203.0.113.7").build()));
+        assertEquals("172.32.0.1", resolver.resolve(from("172.32.0.1")
+                .header(ClientAddressResolver.FORWARDED_FOR, "203.0.113.7").build()));
+        assertEquals("203.0.113.7", resolver.resolve(from("2001:db8::1")
+                .header(ClientAddressResolver.FORWARDED_FOR, "203.0.113.7").build()));
+    }
+
+    @Test
+    void trustsNothingByDefault() {
+        ClientAddressResolver direct = new ClientAddressResolver(List.of());
+        MockServerHttpRequest request = from("10.1.2.3")
+                .header(ClientAddressResolver.FORWARDED_FOR, "203.0.113.7").build();
+
+        assertEquals("10.1.2.3", direct.resolve(request));
+    }
+
+    private static MockServerHttpRequest.BaseBuilder<?> from(String address) {
+        return MockServerHttpRequest.post("/auth/login").remoteAddress(new InetSocketAddress(address, 40000));
+    }
+}
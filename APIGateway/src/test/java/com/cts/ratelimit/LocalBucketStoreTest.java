@@ -0,0 +1,46 @@
+package com.cts.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LocalBucketStoreTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    // 2 tokens, one more every second
+    private static final RateLimitPolicy POLICY = new RateLimitPolicy(2, 60);
+
+    private final LocalBucketStore store = new LocalBucketStore(2);
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void rejectsNewKeysWhileFullWithoutDroppingLiveBuckets() {
+        assertEquals(0, store.tryAcquire("alice", POLICY, 0));
+        assertEquals(0, store.tryAcquire("bob", POLICY, 0));
+
+        // A third key does not evict the buckets that still limit alice and bob.
+        assertTrue(store.tryAcquire("mallory", POLICY, 0) > 0);
+        assertEquals(2, store.size());
+        assertEquals(0, store.tryAcquire("alice", POLICY, 0));
+        assertTrue(store.tryAcquire("alice", POLICY, 0) > 0);
+    }
+
+    @Test
+    void sweepDropsOnlyFullBuckets() {
+        store.tryAcquire("alice", POLICY, 0);
+        store.tryAcquire("alice", POLICY, 0);
+        store.tryAcquire("bob", POLICY, 0);
+
+        // After 1.5 s bob's bucket is full again; alice's still misses half a token.
+        store.sweep(3 * SECOND / 2);
+
+        assertEquals(1, store.size());
+        assertEquals(0, store.tryAcquire("carol", POLICY, 3 * SECOND / 2));
+    }
+}
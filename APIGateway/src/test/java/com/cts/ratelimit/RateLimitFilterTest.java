@@ -0,0 +1,111 @@
+package com.cts.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+class RateLimitFilterTest {
+
+    private final Route route = Route.async().id("ORDERMANAGEMENT").uri(URI.create("lb://ORDERMANAGEMENT"))
+            .predicate(exchange -> true).build();
+
+    @Test
+    void rejectsWith429OnceTheUserBucketIsEmpty() {
+        RateLimitProperties properties = properties(2, 1000);
+        RateLimitFilter filter = new RateLimitFilter(new LocalBucketStore(100), properties,
+                new ClientAddressResolver(List.of()));
+        AtomicInteger forwarded = new AtomicInteger();
+        GatewayFilterChain chain = exchange -> Mono.fromRunnable(forwarded::incrementAndGet);
+
+        for (int i = 0; i < 2; i++) {
+            filter.filter(exchange(), chain).block();
+        }
+        MockServerWebExchange rejected = exchange();
+        filter.filter(rejected, chain).block();
+
+        assertEquals(2, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertNotNull(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(2, filter.getStats().get("ORDERMANAGEMENT").allowed());
+        assertEquals(1, filter.getStats().get("ORDERMANAGEMENT").rejected());
+    }
+
+    @Test
+    void sharedStoreLimitsTheRouteAcrossUsers() {
+        RateLimitProperties properties = properties(1000, 3);
+        RateLimitFilter filter = new RateLimitFilter(new SharedBucketStore(100), properties,
+                new ClientAddressResolver(List.of()));
+        AtomicInteger forwarded = new AtomicInteger();
+        GatewayFilterChain chain = exchange -> Mono.fromRunnable(forwarded::incrementAndGet);
+
+        for (int i = 0; i < 5; i++) {
+            filter.filter(exchange("10.0.0." + i), chain).block();
+        }
+
+        assertEquals(3, forwarded.get());
+        assertEquals(2, filter.getStats().get("ORDERMANAGEMENT").rejected());
+    }
+
+    @Test
+    void keysAnonymousClientsBehindTheBalancerOnTheirOwnAddress() {
+        RateLimitProperties properties = properties(1, 1000);
+        RateLimitFilter filter = new RateLimitFilter(new LocalBucketStore(100), properties,
+                new ClientAddressResolver(List.of("10.0.0.0/8")));
+        AtomicInteger forwarded = new AtomicInteger();
+        GatewayFilterChain chain = exchange -> Mono.fromRunnable(forwarded::incrementAndGet);
+
+        filter.filter(forwardedFor("203.0.113.7"), chain).block();
+        filter.filter(forwardedFor("198.51.100.1"), chain).block();
+        MockServerWebExchange rejected = forwardedFor("203.0.113.7");
+        filter.filter(rejected, chain).block();
+
+        assertEquals(2, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+    }
+
+    private static RateLimitProperties properties(int userCapacity, int routeCapacity) {
+        RateLimitProperties.Limits limits = new RateLimitProperties.Limits();
+        limits.setUserCapacity(userCapacity);
+        limits.setUserRefillPerMinute(1);
+        limits.setRouteCapacity(routeCapacity);
+        limits.setRouteRefillPerMinute(1);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaults(limits);
+        return properties;
+    }
+
+    private MockServerWebExchange exchange() {
+        return exchange("10.0.0.1");
+    }
+
+    private MockServerWebExchange exchange(String address) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/order/viewAll")
+                .remoteAddress(new InetSocketAddress(address, 50000)));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    // A request that reached the gateway through the load balancer at 10.0.0.2.
+    private MockServerWebExchange forwardedFor(String client) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/order/viewAll")
+                .remoteAddress(new InetSocketAddress("10.0.0.2", 50000))
+                .header(ClientAddressResolver.FORWARDED_FOR, client));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
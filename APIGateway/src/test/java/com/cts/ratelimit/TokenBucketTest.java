@@ -0,0 +1,37 @@
+package com.cts.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsBurstThenRefillsAtRate() {
+        // 3 tokens, one more every 10 seconds
+        TokenBucket bucket = new TokenBucket(3, 6, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(10 * SECOND, bucket.tryAcquire(0));
+        assertEquals(4 * SECOND, bucket.tryAcquire(6 * SECOND));
+        assertEquals(0, bucket.tryAcquire(10 * SECOND));
+        assertFalse(bucket.isFull(10 * SECOND));
+        assertTrue(bucket.isFull(40 * SECOND));
+    }
+
+    @Test
+    void doesNotSaveUpMoreThanCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 60, 0);
+        long later = 3600 * SECOND;
+
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+}
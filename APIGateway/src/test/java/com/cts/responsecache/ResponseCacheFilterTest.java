@@ -0,0 +1,111 @@
+package com.cts.responsecache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+class ResponseCacheFilterTest {
+
+    private final Route route = Route.async().id("PRODUCTMANAGEMENT").uri(URI.create("lb://PRODUCTMANAGEMENT"))
+            .predicate(exchange -> true).build();
+
+    private ResponseCacheFilter filter;
+    private ResponseCache cache;
+    private final AtomicInteger forwarded = new AtomicInteger();
+
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = "[{\"productID\":1}]".getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    };
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setTtl(Duration.ofMinutes(1));
+        properties.setPaths(List.of("/api/product/viewAll"));
+        cache = new ResponseCache(properties);
+        filter = new ResponseCacheFilter(cache, properties);
+    }
+
+    @Test
+    void servesRepeatedGetFromCacheWithEtag() {
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/product/viewAll"));
+        filter.filter(first, chain).block();
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/product/viewAll"));
+        filter.filter(second, chain).block();
+
+        assertEquals(1, forwarded.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("[{\"productID\":1}]", second.getResponse().getBodyAsString().block());
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+        assertNotNull(second.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void sendsTheCachedEtagWithTheMiss() {
+        MockServerWebExchange miss = exchange(MockServerHttpRequest.get("/api/product/viewAll"));
+        filter.filter(miss, chain).block();
+        MockServerWebExchange hit = exchange(MockServerHttpRequest.get("/api/product/viewAll"));
+        filter.filter(hit, chain).block();
+
+        assertNotNull(miss.getResponse().getHeaders().getETag());
+        assertEquals(hit.getResponse().getHeaders().getETag(), miss.getResponse().getHeaders().getETag());
+        assertEquals("[{\"productID\":1}]", miss.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void answersMatchingIfNoneMatchWith304() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/product/viewAll")), chain).block();
+        MockServerWebExchange hit = exchange(MockServerHttpRequest.get("/api/product/viewAll"));
+        filter.filter(hit, chain).block();
+        String etag = hit.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange conditional = exchange(
+                MockServerHttpRequest.get("/api/product/viewAll").header(HttpHeaders.IF_NONE_MATCH, etag));
+        filter.filter(conditional, chain).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+        assertEquals(1, forwarded.get());
+        assertEquals(1, cache.getStats().notModified());
+    }
+
+    @Test
+    void doesNotCacheOtherPathsOrMethods() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/product/getProductName/1")), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/api/product/getProductName/1")), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.post("/api/product/viewAll")), chain).block();
+
+        assertEquals(3, forwarded.get());
+        assertEquals(0, cache.getStats().size());
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
@@ -0,0 +1,152 @@
+package com.cts.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cts.exception.UserAlreadyExistsException;
+import com.cts.exception.TooManyRequestsException;
+import com.cts.model.User;
+import com.cts.ratelimit.LoginRateLimiter;
+import com.cts.repository.UserRepository;
+import com.cts.utility.JwtUtil;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private Scheduler jdbcScheduler;
+    private Scheduler hashScheduler;
+
+    @BeforeEach
+    void setUp() {
+        jdbcScheduler = Schedulers.newBoundedElastic(2, 10, "auth-jdbc");
+        hashScheduler = Schedulers.newParallel("auth-hash", 1, true);
+        ReflectionTestUtils.setField(authService, "jdbcScheduler", jdbcScheduler);
+        ReflectionTestUtils.setField(authService, "hashScheduler", hashScheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcScheduler.dispose();
+        hashScheduler.dispose();
+    }
+
+    @Test
+    void loginRunsLookupAndHashingOffTheCallingThread() {
+        AtomicReference<String> lookupThread = new AtomicReference<>();
+        AtomicReference<String> hashThread = new AtomicReference<>();
+        when(userRepository.findByUsername("alice")).thenAnswer(invocation -> {
+            lookupThread.set(Thread.currentThread().getName());
+            return Optional.of(new User(1L, "alice", "hash", "USER"));
+        });
+        when(passwordEncoder.matches("secret", "hash")).thenAnswer(invocation -> {
+            hashThread.set(Thread.currentThread().getName());
+            return true;
+        });
+        when(jwtUtil.generateToken("alice", "USER")).thenReturn("token");
+
+        String token = authService.authenticate("alice", "secret", "10.0.0.1").block();
+
+        assertEquals("token", token);
+        assertTrue(lookupThread.get().startsWith("auth-jdbc"));
+        assertTrue(hashThread.get().startsWith("auth-hash"));
+    }
+
+    @Test
+    void loginUpgradesHashStoredWithLowerCost() {
+        User user = new User(1L, "alice", "old-hash", "USER");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "old-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-hash")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("new-hash");
+        when(jwtUtil.generateToken("alice", "USER")).thenReturn("token");
+
+        assertEquals("token", authService.authenticate("alice", "secret", "10.0.0.1").block());
+
+        verify(userRepository, timeout(1000)).save(user);
+        assertEquals("new-hash", user.getPassword());
+    }
+
+    @Test
+    void rateLimitedLoginIsRejectedBeforeLookup() {
+        doThrow(new TooManyRequestsException("Too many login attempts, try again later", 12))
+                .when(loginRateLimiter).checkLogin("alice", "10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class,
+                () -> authService.authenticate("alice", "secret", "10.0.0.1").block());
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    void rateLimitedRegistrationIsRejectedBeforeHashing() {
+        doThrow(new TooManyRequestsException("Too many registrations, try again later", 12))
+                .when(loginRateLimiter).checkRegistration("10.0.0.1");
+
+        User user = new User(null, "carol", "secret", null);
+
+        assertThrows(TooManyRequestsException.class, () -> authService.registerUser(user, "10.0.0.1").block());
+        verify(userRepository, never()).existsByUsername(any());
+        verify(passwordEncoder, never()).encode(any());
+    }
+
+    @Test
+    void registerRejectsExistingUsernameWithoutHashing() {
+        when(userRepository.existsByUsername("alice")).thenReturn(true);
+
+        User user = new User(null, "alice", "secret", null);
+
+        assertThrows(UserAlreadyExistsException.class, () -> authService.registerUser(user, "10.0.0.1").block());
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void registerStoresEncodedPasswordAndDefaultRole() {
+        when(userRepository.existsByUsername("bob")).thenReturn(false);
+        when(passwordEncoder.encode("secret")).thenReturn("encoded");
+
+        User user = new User(null, "bob", "secret", " ");
+        authService.registerUser(user, "10.0.0.1").block();
+
+        verify(userRepository).save(user);
+        assertEquals("encoded", user.getPassword());
+        assertEquals("USER", user.getRole());
+    }
+}
@@ -0,0 +1,120 @@
+package com.cts.upstream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.cts.model.UpstreamPoolStats;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+class UpstreamPoolsTest {
+
+    private final UpstreamProperties properties = properties();
+    private final UpstreamPools pools = new UpstreamPools(properties, HttpClient::create);
+    private DisposableServer server;
+
+    @AfterEach
+    void tearDown() {
+        pools.destroy();
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    @Test
+    void reusesOneClientPerRoute() {
+        assertSame(pools.clientFor("PRODUCTMANAGEMENT"), pools.clientFor("PRODUCTMANAGEMENT"));
+        assertNotSame(pools.clientFor("PRODUCTMANAGEMENT"), pools.clientFor("ORDERMANAGEMENT"));
+    }
+
+    @Test
+    void routeOverridesFallBackToDefaults() {
+        assertEquals(500, properties.poolFor("PRODUCTMANAGEMENT").getMaxConnections());
+        assertEquals(200, properties.poolFor("ORDERMANAGEMENT").getMaxConnections());
+    }
+
+    @Test
+    void noStatsBeforeAnyConnection() {
+        pools.clientFor("PRODUCTMANAGEMENT");
+
+        assertTrue(pools.getStats().isEmpty());
+    }
+
+    @Test
+    void saturatedRouteDoesNotHoldUpOtherRoutes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server = HttpServer.create().host("localhost").port(0)
+                .route(routes -> routes
+                        .get("/slow", (request, response) -> response.sendString(Mono.fromCallable(() -> {
+                            release.await(5, TimeUnit.SECONDS);
+                            return "slow";
+                        }).subscribeOn(Schedulers.boundedElastic())))
+                        .get("/fast", (request, response) -> response.sendString(Mono.just("fast"))))
+                .bindNow();
+        String base = "http://localhost:" + server.port();
+
+        // SUPPLIERMANAGEMENT has one connection: the first request holds it and the other two wait for it.
+        CompletableFuture<List<String>> slow = Flux.range(0, 3)
+                .flatMap(i -> get("SUPPLIERMANAGEMENT", base + "/slow"))
+                .collectList()
+                .toFuture();
+        UpstreamPoolStats saturated = awaitSaturated("SUPPLIERMANAGEMENT", 2);
+
+        assertEquals(1, saturated.maxConnections());
+        assertEquals(1.0, saturated.saturation());
+        assertEquals("fast", get("PRODUCTMANAGEMENT", base + "/fast").block(Duration.ofSeconds(2)));
+        UpstreamPoolStats product = pools.getStats().get("PRODUCTMANAGEMENT").get(0);
+        assertEquals(500, product.maxConnections());
+        assertEquals(0, product.pending());
+
+        release.countDown();
+        assertEquals(List.of("slow", "slow", "slow"), slow.get(5, TimeUnit.SECONDS));
+    }
+
+    private Mono<String> get(String routeId, String uri) {
+        return pools.clientFor(routeId).get().uri(uri).responseContent().aggregate().asString();
+    }
+
+    // Waits until every connection of the route's pool is in use and the given number of requests wait for one.
+    private UpstreamPoolStats awaitSaturated(String routeId, int pending) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            List<UpstreamPoolStats> stats = pools.getStats().get(routeId);
+            if (stats != null && !stats.isEmpty() && stats.get(0).pending() == pending
+                    && stats.get(0).active() == stats.get(0).maxConnections()) {
+                return stats.get(0);
+            }
+            Thread.sleep(10);
+        }
+        return fail(routeId + " never saturated with " + pending + " pending requests: " + pools.getStats());
+    }
+
+    private static UpstreamProperties properties() {
+        UpstreamProperties.Pool product = new UpstreamProperties.Pool();
+        product.setMaxConnections(500);
+        UpstreamProperties.Pool supplier = new UpstreamProperties.Pool();
+        supplier.setMaxConnections(1);
+        supplier.setPendingAcquireTimeout(Duration.ofSeconds(10));
+        UpstreamProperties properties = new UpstreamProperties();
+        properties.setRoutes(Map.of("PRODUCTMANAGEMENT", product, "SUPPLIERMANAGEMENT", supplier));
+        return properties;
+    }
+}
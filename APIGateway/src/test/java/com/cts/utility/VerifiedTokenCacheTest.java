@@ -0,0 +1,58 @@
+package com.cts.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.cts.model.JwtPrincipal;
+
+class VerifiedTokenCacheTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+
+    @Test
+    void verifiesEachTokenOnce() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        String token = jwtUtil.generateToken("alice", "USER");
+        AtomicInteger verifications = new AtomicInteger();
+
+        JwtPrincipal first = cache.verify(token, t -> {
+            verifications.incrementAndGet();
+            return jwtUtil.validate(t);
+        });
+        JwtPrincipal second = cache.verify(token, t -> {
+            verifications.incrementAndGet();
+            return jwtUtil.validate(t);
+        });
+
+        assertEquals("alice", first.username());
+        assertEquals("USER", first.role());
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void doesNotCacheInvalidTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        String token = jwtUtil.generateToken("alice", "USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(cache.verify(tampered, jwtUtil::validate));
+        assertNull(cache.verify("not-a-token", jwtUtil::validate));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void staysWithinBound() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        for (int i = 0; i < 50; i++) {
+            cache.verify(jwtUtil.generateToken("user" + i, "USER"), jwtUtil::validate);
+        }
+
+        assertEquals(true, cache.size() <= 10);
+    }
+}
@@ -0,0 +1,259 @@
+package com.cts.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.cts.model.Order;
+
+/**
+ * One immutable, memory-mapped file of archived orders stored column by column.
+ * <p>
+ * File layout (big-endian ints):
+ * <pre>
+ * magic | version | rowCount | minEpochDay | maxEpochDay | statusCount
+ * epochDay[rowCount]   (sorted ascending)
+ * productId[rowCount]
+ * quantity[rowCount]
+ * orderId[rowCount]
+ * customerId[rowCount]
+ * status[rowCount]     (index into the status names, -1 for none)
+ * statusCount x (byteLength | UTF-8 bytes)
+ * </pre>
+ * The columns are read as {@link IntBuffer} views over the mapped file, so a scan reads the
+ * primitive values in place without copying them onto the heap or creating objects per row.
+ * <p>
+ * Version 1 segments have no statusCount, customerId, status or status names. They were written
+ * without the cancelled orders and are still read; their rows have no customer and no status.
+ */
+class ArchiveSegment {
+
+	// "ORDC" - identifies an order archive segment file.
+	static final int MAGIC = 0x4F524443;
+	static final int VERSION = 2;
+	static final int HEADER_BYTES = 6 * Integer.BYTES;
+	static final int V1_HEADER_BYTES = 5 * Integer.BYTES;
+	static final String CANCELLED = "Cancelled";
+
+	private final Path path;
+	private final int rowCount;
+	private final int minEpochDay;
+	private final int maxEpochDay;
+	private final IntBuffer epochDays;
+	private final IntBuffer productIds;
+	private final IntBuffer quantities;
+	private final IntBuffer orderIds;
+	// Null in version 1 segments.
+	private final IntBuffer customerIds;
+	private final IntBuffer statuses;
+	private final String[] statusNames;
+	// Whether the status with the same index marks a cancelled order, which counts in no report.
+	private final boolean[] cancelled;
+
+	private ArchiveSegment(Path path, MappedByteBuffer mapped) throws IOException {
+		int version = mapped.capacity() < V1_HEADER_BYTES || mapped.getInt(0) != MAGIC ? -1 : mapped.getInt(4);
+		if (version != 1 && version != VERSION || version == VERSION && mapped.capacity() < HEADER_BYTES) {
+			throw new IOException("Not an order archive segment: " + path);
+		}
+		int rows = mapped.getInt(8);
+		int headerBytes = version == 1 ? V1_HEADER_BYTES : HEADER_BYTES;
+		int columns = version == 1 ? 4 : 6;
+		// A segment cut short while it was written has a header that promises more rows than the file holds.
+		long columnsEnd = headerBytes + (long) columns * rows * Integer.BYTES;
+		if (rows < 0 || version == 1 && mapped.capacity() != columnsEnd || mapped.capacity() < columnsEnd) {
+			throw new IOException("Truncated order archive segment " + path + ": " + mapped.capacity()
+					+ " bytes for " + rows + " rows");
+		}
+		this.path = path;
+		this.rowCount = rows;
+		this.minEpochDay = mapped.getInt(12);
+		this.maxEpochDay = mapped.getInt(16);
+		int columnBytes = rowCount * Integer.BYTES;
+		this.epochDays = mapped.slice(headerBytes, columnBytes).asIntBuffer();
+		this.productIds = mapped.slice(headerBytes + columnBytes, columnBytes).asIntBuffer();
+		this.quantities = mapped.slice(headerBytes + 2 * columnBytes, columnBytes).asIntBuffer();
+		this.orderIds = mapped.slice(headerBytes + 3 * columnBytes, columnBytes).asIntBuffer();
+		if (version == 1) {
+			this.customerIds = null;
+			this.statuses = null;
+			this.statusNames = new String[0];
+			this.cancelled = new boolean[0];
+			return;
+		}
+		this.customerIds = mapped.slice(headerBytes + 4 * columnBytes, columnBytes).asIntBuffer();
+		this.statuses = mapped.slice(headerBytes + 5 * columnBytes, columnBytes).asIntBuffer();
+		int statusCount = mapped.getInt(20);
+		if (statusCount < 0 || statusCount > rowCount) {
+			throw new IOException("Corrupt status names in order archive segment " + path);
+		}
+		this.statusNames = new String[statusCount];
+		this.cancelled = new boolean[statusCount];
+		int position = (int) columnsEnd;
+		for (int i = 0; i < statusCount; i++) {
+			int length = position + Integer.BYTES <= mapped.capacity() ? mapped.getInt(position) : -1;
+			if (length < 0 || position + Integer.BYTES + length > mapped.capacity()) {
+				throw new IOException("Truncated order archive segment " + path + ": status names cut short");
+			}
+			byte[] name = new byte[length];
+			mapped.get(position + Integer.BYTES, name);
+			statusNames[i] = new String(name, StandardCharsets.UTF_8);
+			cancelled[i] = CANCELLED.equalsIgnoreCase(statusNames[i]);
+			position += Integer.BYTES + length;
+		}
+		if (position != mapped.capacity()) {
+			throw new IOException("Truncated order archive segment " + path + ": " + mapped.capacity()
+					+ " bytes, expected " + position);
+		}
+	}
+
+	/**
+	 * Maps an existing segment file into memory.
+	 * @param path The segment file.
+	 * @return The mapped segment.
+	 * @throws IOException if the file cannot be read, is not a segment file or is truncated.
+	 */
+	static ArchiveSegment open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			// The mapping stays valid after the channel is closed.
+			return new ArchiveSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Writes a new segment file. The rows must already be sorted by epoch day.
+	 * The file is forced to disk before this method returns.
+	 * @param path The file to create.
+	 * @param epochDays The order dates as epoch days, sorted ascending.
+	 * @param productIds The product ID of each row.
+	 * @param quantities The quantity of each row.
+	 * @param orderIds The order ID of each row.
+	 * @param customerIds The customer ID of each row.
+	 * @param statuses The index of each row's status in statusNames, or -1 if it has none.
+	 * @param statusNames The distinct statuses of the rows.
+	 * @throws IOException if the file cannot be written.
+	 */
+	static void write(Path path, int[] epochDays, int[] productIds, int[] quantities, int[] orderIds,
+			int[] customerIds, int[] statuses, List<String> statusNames) throws IOException {
+		int rowCount = epochDays.length;
+		List<byte[]> names = statusNames.stream().map(name -> name.getBytes(StandardCharsets.UTF_8)).toList();
+		int namesBytes = names.stream().mapToInt(name -> Integer.BYTES + name.length).sum();
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 6 * rowCount * Integer.BYTES + namesBytes);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(rowCount)
+				.putInt(rowCount == 0 ? 0 : epochDays[0])
+				.putInt(rowCount == 0 ? 0 : epochDays[rowCount - 1])
+				.putInt(names.size());
+		for (int[] column : new int[][] { epochDays, productIds, quantities, orderIds, customerIds, statuses }) {
+			buffer.asIntBuffer().put(column);
+			buffer.position(buffer.position() + rowCount * Integer.BYTES);
+		}
+		for (byte[] name : names) {
+			buffer.putInt(name.length).put(name);
+		}
+		buffer.rewind();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		}
+	}
+
+	/**
+	 * Passes every row whose epoch day lies in [startEpochDay, endEpochDay] to the consumer, except
+	 * cancelled orders. The start of the range is found by binary search on the sorted date column.
+	 */
+	void scan(int startEpochDay, int endEpochDay, OrderArchive.RowConsumer consumer) {
+		if (rowCount == 0 || endEpochDay < minEpochDay || startEpochDay > maxEpochDay) {
+			return;
+		}
+		int low = 0;
+		int high = rowCount;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (epochDays.get(mid) < startEpochDay) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		for (int row = low; row < rowCount; row++) {
+			int epochDay = epochDays.get(row);
+			if (epochDay > endEpochDay) {
+				break;
+			}
+			if (isCancelled(row)) {
+				continue;
+			}
+			consumer.accept(productIds.get(row), epochDay, quantities.get(row));
+		}
+	}
+
+	/**
+	 * Returns the archived order with the given ID, or null if this segment does not hold it.
+	 * The order ID column is not sorted, so this reads all of it.
+	 */
+	Order findOrder(int orderId) {
+		for (int row = 0; row < rowCount; row++) {
+			if (orderIds.get(row) == orderId) {
+				return toOrder(row);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the archived orders of a customer to the list, in date order. Version 1 segments know no
+	 * customers and add nothing.
+	 */
+	void findByCustomerId(int customerId, List<Order> orders) {
+		if (customerIds == null) {
+			return;
+		}
+		for (int row = 0; row < rowCount; row++) {
+			if (customerIds.get(row) == customerId) {
+				orders.add(toOrder(row));
+			}
+		}
+	}
+
+	private Order toOrder(int row) {
+		int status = statuses == null ? -1 : statuses.get(row);
+		return new Order(orderIds.get(row), customerIds == null ? 0 : customerIds.get(row), productIds.get(row),
+				quantities.get(row), LocalDate.ofEpochDay(epochDays.get(row)), status < 0 ? null : statusNames[status]);
+	}
+
+	private boolean isCancelled(int row) {
+		if (statuses == null) {
+			return false;
+		}
+		int status = statuses.get(row);
+		return status >= 0 && cancelled[status];
+	}
+
+	Path getPath() {
+		return path;
+	}
+
+	int getRowCount() {
+		return rowCount;
+	}
+
+	int getMinEpochDay() {
+		return minEpochDay;
+	}
+
+	int getMaxEpochDay() {
+		return maxEpochDay;
+	}
+
+	int getFirstOrderId() {
+		return orderIds.get(0);
+	}
+}
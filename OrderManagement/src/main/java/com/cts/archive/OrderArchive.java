@@ -0,0 +1,295 @@
+package com.cts.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.cts.model.Order;
+import com.cts.model.OrderReportSent;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only columnar archive of historical orders.
+ * <p>
+ * The archive is a directory of immutable segment files ({@link ArchiveSegment}). New orders are
+ * only ever added as a new segment; existing segments are never rewritten. A segment is first written
+ * as a pending ".tmp" file and only becomes visible to queries once it is published, which
+ * {@link OrderArchiveJob} does after the archived rows have been deleted from the orders table.
+ * <p>
+ * Reads memory-map the segments and scan the primitive columns in place. The loaded segments are kept
+ * in memory, so a query does not list the directory; segments published here are added as they are
+ * published. The directory can be shared between instances; {@link #refresh()}, run periodically, picks up
+ * segments published by another instance. A segment that cannot be read, e.g. one cut short by a crash,
+ * is renamed with a ".corrupt" suffix and skipped.
+ */
+@Slf4j
+@Component
+public class OrderArchive {
+
+	static final String SEGMENT_PREFIX = "segment-";
+	static final String SEGMENT_SUFFIX = ".col";
+	static final String PENDING_SUFFIX = ".tmp";
+	static final String CORRUPT_SUFFIX = ".corrupt";
+
+	/**
+	 * Receives the rows of a scan as primitives, so scanning does not create an object per row.
+	 */
+	@FunctionalInterface
+	public interface RowConsumer {
+		void accept(int productId, int epochDay, int quantity);
+	}
+
+	private final Path directory;
+
+	// Mapped segments ordered by file name, i.e. by the order in which they were appended.
+	private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+	private final Set<Path> loaded = ConcurrentHashMap.newKeySet();
+
+	public OrderArchive(@Value("${archive.directory:order-archive}") String directory) {
+		this.directory = Paths.get(directory);
+	}
+
+	/**
+	 * Creates the archive directory if needed and maps the segments already in it.
+	 */
+	@PostConstruct
+	public void init() throws IOException {
+		Files.createDirectories(directory);
+		refresh();
+		log.info("Order archive at {} holds {} segments", directory.toAbsolutePath(), segments.size());
+	}
+
+	/**
+	 * Maps any published segment files that are not loaded yet.
+	 */
+	@Scheduled(fixedDelayString = "${archive.refresh-interval-millis:60000}")
+	public synchronized void refresh() {
+		try (Stream<Path> files = Files.list(directory)) {
+			files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+					.filter(file -> !loaded.contains(file))
+					.sorted()
+					.forEach(this::load);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not list the order archive " + directory, e);
+		}
+	}
+
+	/**
+	 * Writes the given orders to a new pending segment, sorted by order date.
+	 * Cancelled orders are archived with their status, so lookups by ID and customer still find them,
+	 * but date range scans skip them: they count in no report, like in the daily rollups.
+	 * The segment is not visible to queries until {@link #publish(Path)} is called.
+	 * @param orders The orders to archive.
+	 * @return The path of the pending segment file.
+	 * @throws IOException if the segment cannot be written.
+	 */
+	public synchronized Path writePending(List<Order> orders) throws IOException {
+		List<Order> sorted = new ArrayList<>(orders);
+		sorted.sort(Comparator.comparing(Order::getOrderDate));
+		int rowCount = sorted.size();
+		int[] epochDays = new int[rowCount];
+		int[] productIds = new int[rowCount];
+		int[] quantities = new int[rowCount];
+		int[] orderIds = new int[rowCount];
+		int[] customerIds = new int[rowCount];
+		int[] statuses = new int[rowCount];
+		// Each distinct status is stored once; the rows refer to it by index.
+		Map<String, Integer> statusIndexes = new LinkedHashMap<>();
+		for (int row = 0; row < rowCount; row++) {
+			Order order = sorted.get(row);
+			epochDays[row] = (int) order.getOrderDate().toEpochDay();
+			productIds[row] = order.getProductId();
+			quantities[row] = order.getQuantity();
+			orderIds[row] = order.getOrderId();
+			customerIds[row] = order.getCustomerId();
+			statuses[row] = order.getStatus() == null ? -1
+					: statusIndexes.computeIfAbsent(order.getStatus(), status -> statusIndexes.size());
+		}
+		Path pending = directory.resolve(nextSegmentName() + PENDING_SUFFIX);
+		ArchiveSegment.write(pending, epochDays, productIds, quantities, orderIds, customerIds, statuses,
+				new ArrayList<>(statusIndexes.keySet()));
+		return pending;
+	}
+
+	/**
+	 * Makes a pending segment visible to queries.
+	 * @param pending The pending segment returned by {@link #writePending(List)}.
+	 * @throws IOException if the segment cannot be renamed.
+	 */
+	public synchronized void publish(Path pending) throws IOException {
+		String name = pending.getFileName().toString();
+		Path published = pending.resolveSibling(name.substring(0, name.length() - PENDING_SUFFIX.length()));
+		Files.move(pending, published, StandardCopyOption.ATOMIC_MOVE);
+		load(published);
+	}
+
+	/**
+	 * Deletes a pending segment whose orders could not be removed from the orders table.
+	 * @param pending The pending segment returned by {@link #writePending(List)}.
+	 * @throws IOException if the file cannot be deleted.
+	 */
+	public void discardPending(Path pending) throws IOException {
+		Files.deleteIfExists(pending);
+	}
+
+	/**
+	 * Lists pending segments left behind by an interrupted archival run.
+	 * @return The pending segment files.
+	 * @throws IOException if the directory cannot be listed.
+	 */
+	public List<Path> findPending() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(PENDING_SUFFIX)).sorted().toList();
+		}
+	}
+
+	/**
+	 * Returns the ID of the first order stored in a pending segment.
+	 * @param pending A pending segment file.
+	 * @return The first order ID, or empty if the segment has no rows.
+	 * @throws IOException if the file cannot be read.
+	 */
+	public Optional<Integer> firstOrderId(Path pending) throws IOException {
+		ArchiveSegment segment = ArchiveSegment.open(pending);
+		return segment.getRowCount() == 0 ? Optional.empty() : Optional.of(segment.getFirstOrderId());
+	}
+
+	/**
+	 * Passes every archived order within a date range to the consumer.
+	 * @param startDate The start date (inclusive).
+	 * @param endDate The end date (inclusive).
+	 * @param consumer Receives productId, epoch day and quantity of each matching row.
+	 */
+	public void scan(LocalDate startDate, LocalDate endDate, RowConsumer consumer) {
+		int startEpochDay = (int) startDate.toEpochDay();
+		int endEpochDay = (int) endDate.toEpochDay();
+		for (ArchiveSegment segment : segments) {
+			segment.scan(startEpochDay, endEpochDay, consumer);
+		}
+	}
+
+	/**
+	 * Looks up an archived order by its ID. Segments are sorted by date rather than ID, so this reads
+	 * the order ID column of every segment; it is meant for the occasional lookup of an old order.
+	 * @param orderId The order ID.
+	 * @return The archived order, or empty if the archive does not hold it.
+	 */
+	public Optional<Order> findOrder(int orderId) {
+		for (ArchiveSegment segment : segments) {
+			Order order = segment.findOrder(orderId);
+			if (order != null) {
+				return Optional.of(order);
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Returns the archived orders of a customer, oldest first. Orders archived before customers were
+	 * stored in the archive are not found.
+	 * @param customerId The customer ID.
+	 * @return The archived orders of the customer, including cancelled ones.
+	 */
+	public List<Order> findByCustomerId(int customerId) {
+		List<Order> orders = new ArrayList<>();
+		for (ArchiveSegment segment : segments) {
+			segment.findByCustomerId(customerId, orders);
+		}
+		orders.sort(Comparator.comparing(Order::getOrderDate));
+		return orders;
+	}
+
+	/**
+	 * Returns the archived orders within a date range as report rows.
+	 * @param startDate The start date (inclusive).
+	 * @param endDate The end date (inclusive).
+	 * @return The matching rows, in the same shape as the live order report.
+	 */
+	public List<OrderReportSent> query(LocalDate startDate, LocalDate endDate) {
+		List<OrderReportSent> rows = new ArrayList<>();
+		scan(startDate, endDate, (productId, epochDay, quantity) ->
+				rows.add(new OrderReportSent(productId, LocalDate.ofEpochDay(epochDay), quantity)));
+		return rows;
+	}
+
+	/**
+	 * Returns the earliest archived order date.
+	 * @return The earliest date, or empty if the archive holds no orders.
+	 */
+	public Optional<LocalDate> getMinDate() {
+		OptionalInt minEpochDay = segments.stream()
+				.filter(segment -> segment.getRowCount() > 0)
+				.mapToInt(ArchiveSegment::getMinEpochDay)
+				.min();
+		return minEpochDay.isPresent() ? Optional.of(LocalDate.ofEpochDay(minEpochDay.getAsInt())) : Optional.empty();
+	}
+
+	/**
+	 * Returns the latest archived order date.
+	 * @return The latest date, or empty if the archive holds no orders.
+	 */
+	public Optional<LocalDate> getMaxDate() {
+		OptionalInt maxEpochDay = segments.stream()
+				.filter(segment -> segment.getRowCount() > 0)
+				.mapToInt(ArchiveSegment::getMaxEpochDay)
+				.max();
+		return maxEpochDay.isPresent() ? Optional.of(LocalDate.ofEpochDay(maxEpochDay.getAsInt())) : Optional.empty();
+	}
+
+	private void load(Path file) {
+		ArchiveSegment segment;
+		try {
+			segment = ArchiveSegment.open(file);
+		} catch (IOException e) {
+			quarantine(file, e);
+			return;
+		}
+		segments.add(segment);
+		loaded.add(file);
+	}
+
+	/**
+	 * Moves an unreadable segment out of the way, so it is neither queried nor retried on every refresh.
+	 */
+	private void quarantine(Path file, IOException cause) {
+		log.error("Skipping unreadable order archive segment {}: {}", file, cause.getMessage());
+		try {
+			Files.move(file, file.resolveSibling(file.getFileName() + CORRUPT_SUFFIX));
+		} catch (IOException e) {
+			// Another instance sharing the directory may have moved it already; remember it either way.
+			loaded.add(file);
+			log.warn("Could not rename order archive segment {}: {}", file, e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns a new segment file name. The timestamp orders the segments by creation time and the
+	 * random suffix keeps names unique when several instances share the directory.
+	 */
+	private String nextSegmentName() {
+		return SEGMENT_PREFIX + String.format("%013d-%s", System.currentTimeMillis(),
+				UUID.randomUUID().toString().substring(0, 8));
+	}
+}
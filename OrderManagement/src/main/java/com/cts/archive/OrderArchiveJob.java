@@ -0,0 +1,110 @@
+package com.cts.archive;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cts.model.Order;
+import com.cts.repository.OrderManagementRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled job that moves orders older than a configurable age from the orders table into the
+ * columnar {@link OrderArchive}.
+ * <p>
+ * Orders are moved in chunks. Each chunk is written to a pending segment, deleted from the orders
+ * table in one transaction, and only then published. If the service stops between the delete and the
+ * publish, the pending segment is recovered at the next startup: it is published when its orders are
+ * gone from the table and discarded otherwise, so no order is lost or archived twice.
+ * <p>
+ * Every order is archived, cancelled ones included, with its customer and status, so lookups by
+ * order and customer ID keep finding it after it has left the table.
+ * <p>
+ * The job only runs where {@code archive.enabled=true}, which should be a single instance.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "archive", name = "enabled", havingValue = "true")
+public class OrderArchiveJob implements ApplicationRunner {
+
+	private OrderManagementRepository repo;
+	private OrderArchive archive;
+	private TransactionTemplate deleteTransaction;
+	private int ageDays;
+	private int chunkSize;
+
+	public OrderArchiveJob(OrderManagementRepository repo, OrderArchive archive,
+			PlatformTransactionManager transactionManager,
+			@Value("${archive.age-days:365}") int ageDays,
+			@Value("${archive.chunk-size:1000}") int chunkSize) {
+		this.repo = repo;
+		this.archive = archive;
+		this.deleteTransaction = new TransactionTemplate(transactionManager);
+		this.ageDays = ageDays;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Resolves pending segments left behind by an interrupted run.
+	 */
+	@Override
+	public void run(ApplicationArguments args) throws IOException {
+		for (Path pending : archive.findPending()) {
+			Optional<Integer> firstOrderId;
+			try {
+				firstOrderId = archive.firstOrderId(pending);
+			} catch (IOException e) {
+				// Cut short while it was written, so its orders were never deleted from the table.
+				log.warn("Discarding unreadable pending archive segment {}: {}", pending, e.getMessage());
+				archive.discardPending(pending);
+				continue;
+			}
+			if (firstOrderId.isPresent() && !repo.existsById(firstOrderId.get())) {
+				log.info("Publishing pending archive segment {} whose orders were already deleted", pending);
+				archive.publish(pending);
+			} else {
+				log.info("Discarding pending archive segment {} whose orders are still in the orders table", pending);
+				archive.discardPending(pending);
+			}
+		}
+	}
+
+	/**
+	 * Archives every order placed before the configured age, one chunk at a time.
+	 */
+	@Scheduled(cron = "${archive.cron:0 0 2 * * *}")
+	public void archiveOldOrders() throws IOException {
+		LocalDate cutoff = LocalDate.now().minusDays(ageDays);
+		log.info("Archiving orders placed before {}", cutoff);
+		long archived = 0;
+		List<Order> chunk;
+		while (!(chunk = repo.findByOrderDateBefore(cutoff,
+				PageRequest.of(0, chunkSize, Sort.by("orderDate", "orderId")))).isEmpty()) {
+			List<Integer> orderIds = chunk.stream().map(Order::getOrderId).toList();
+			Path pending = archive.writePending(chunk);
+			try {
+				deleteTransaction.executeWithoutResult(status -> repo.deleteAllByIdInBatch(orderIds));
+			} catch (RuntimeException e) {
+				archive.discardPending(pending);
+				throw e;
+			}
+			archive.publish(pending);
+			archived += chunk.size();
+		}
+		log.info("Archived {} orders placed before {}", archived, cutoff);
+	}
+}
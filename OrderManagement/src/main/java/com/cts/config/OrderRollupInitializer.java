@@ -0,0 +1,59 @@
+package com.cts.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cts.repository.DailyOrderRollupRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Backfills the daily order rollups at startup when the rollup table is still empty,
+ * e.g. the first time the service starts with an existing orders table.
+ * <p>
+ * Instances starting together would all see an empty table, so the check and the rebuild run
+ * under a MySQL named lock and only the first instance rebuilds. The rebuild itself is idempotent
+ * (see {@link DailyOrderRollupRepository#rebuildFromOrders()}), so it stays correct even if the
+ * lock is released before its transaction commits.
+ */
+@Slf4j
+@Component
+public class OrderRollupInitializer implements ApplicationRunner {
+
+	// Name of the MySQL lock (GET_LOCK) held while the rollups are checked and rebuilt.
+	static final String LOCK_NAME = "daily_order_rollup_rebuild";
+
+	// Seconds to wait for another instance's rebuild before leaving the rollups to it.
+	static final int LOCK_TIMEOUT_SECONDS = 60;
+
+	private DailyOrderRollupRepository rollupRepo;
+	private JdbcTemplate jdbcTemplate;
+
+	public OrderRollupInitializer(DailyOrderRollupRepository rollupRepo, JdbcTemplate jdbcTemplate) {
+		this.rollupRepo = rollupRepo;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	@Transactional
+	public void run(ApplicationArguments args) {
+		// Runs on the transaction's connection, which is the one that holds the named lock.
+		Integer locked = jdbcTemplate.queryForObject("SELECT GET_LOCK(?, ?)", Integer.class, LOCK_NAME, LOCK_TIMEOUT_SECONDS);
+		if (locked == null || locked != 1) {
+			log.warn("Another instance is still rebuilding the daily order rollups, skipping the check");
+			return;
+		}
+		try {
+			if (rollupRepo.count() == 0) {
+				log.info("Daily order rollups are empty, rebuilding them from the orders table");
+				rollupRepo.rebuildFromOrders();
+				log.info("Rebuilt {} daily order rollup rows", rollupRepo.count());
+			}
+		} finally {
+			jdbcTemplate.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+		}
+	}
+}
@@ -1,14 +1,19 @@
 package com.cts.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.cts.exception.DataNotFoundException;
 import com.cts.exception.DateNotFoundException;
@@ -17,7 +22,9 @@ import com.cts.model.Order;
 import com.cts.model.OrderReport;
 import com.cts.model.OrderReportSent;
 import com.cts.model.Product;
+import com.cts.service.OrderDateBounds;
 import com.cts.service.OrderManagementService;
+import com.cts.service.OrderReportExportService;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,8 +34,10 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderManagementController {
 
 	private OrderManagementService service;
-	public OrderManagementController(OrderManagementService service) {
+	private OrderReportExportService exportService;
+	public OrderManagementController(OrderManagementService service, OrderReportExportService exportService) {
 		this.service=service;
+		this.exportService=exportService;
 	}
 	
 	/**
@@ -76,15 +85,57 @@ public class OrderManagementController {
 	}
 	
 	/**
+ 	 * The report is sent as JSON or, when requested with Accept: application/cbor, as CBOR.
  	 * @param orderReport The `OrderReport` DTO containing the start and end dates.
  	 * @return A ResponseEntity with a list of OrderReportSent objects.
  	 * @throws DateNotFoundException if no orders are found within the date range.
  	 */
-	@PostMapping("/getByDate")
+	@PostMapping(value = "/getByDate", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
 	public ResponseEntity<List<OrderReportSent>> getDetailsByDate(@RequestBody OrderReport orderReport)throws DateNotFoundException{
 		
 		return service.getDetailsByDate(orderReport);
 	}
+
+	/**
+	 * Endpoint for the earliest and latest order dates, the range accepted by /getByDate.
+	 * @return A ResponseEntity with the bounds, or 204 No Content if there are no orders.
+	 */
+	@GetMapping("/dateBounds")
+	public ResponseEntity<OrderDateBounds.DateRange> getDateBounds() {
+
+		return service.getDateBounds();
+	}
+
+	/**
+	 * Endpoint to read the individual orders of a date range from the columnar archive of old orders.
+	 * @param orderReport The `OrderReport` DTO containing the start and end dates.
+	 * @return A ResponseEntity with a list of OrderReportSent objects.
+	 * @throws DataNotFoundException if the date range is invalid.
+	 */
+	@PostMapping("/archive/getByDate")
+	public ResponseEntity<List<OrderReportSent>> getArchivedDetailsByDate(@RequestBody OrderReport orderReport) throws DataNotFoundException{
+		
+		return service.getArchivedDetailsByDate(orderReport);
+	}
+
+	/**
+	 * Endpoint to stream the orders of a date range as NDJSON or CSV.
+	 * With groupBy other than "none" the totals per product, per product and day, or per
+	 * product and week are computed in SQL, so only the requested granularity is transferred.
+	 * @param orderReport The `OrderReport` DTO containing the start and end dates.
+	 * @param format The output format: "ndjson" (default) or "csv".
+	 * @param groupBy The granularity: "none" (default), "product", "day" or "week".
+	 * @return A ResponseEntity whose body is written to the client as it is read from the database.
+	 * @throws DataNotFoundException if the date range, format or grouping is invalid.
+	 */
+	@PostMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportByDate(@RequestBody OrderReport orderReport,
+			@RequestParam(defaultValue = "ndjson") String format,
+			@RequestParam(defaultValue = "none") String groupBy) throws DataNotFoundException {
+
+		log.info("In the OrderMangementController we are exporting orders as {} grouped by {}", format, groupBy);
+		return exportService.exportByDate(orderReport, format, groupBy);
+	}
 	/**
 	 * Endpoint to update the status of a specific order.
 	 * @param orderId The ID of the order to be updated.
@@ -102,4 +153,19 @@ public class OrderManagementController {
 	public ResponseEntity<List<Order>> getAllOrders() {
 		return service.getAllOrders();
 	}
+
+	/**
+	 * Endpoint for the change feed: the orders inserted or updated after a watermark.
+	 * @param since The modification time of the last order already read, in ISO format.
+	 * @param afterId The ID of the last order already read at that time.
+	 * @param limit The maximum number of orders to return, at least 1; larger pages are cut to 5000.
+	 * @return A ResponseEntity with the changed orders in (lastModified, orderId) order.
+	 */
+	@GetMapping("/changes")
+	public ResponseEntity<List<Order>> getChangesSince(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+			@RequestParam(defaultValue = "0") int afterId,
+			@RequestParam(defaultValue = "1000") int limit) throws DataNotFoundException {
+		return service.getChangesSince(since, afterId, limit);
+	}
 }
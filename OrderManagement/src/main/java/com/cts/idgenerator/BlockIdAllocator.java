@@ -0,0 +1,112 @@
+package com.cts.idgenerator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out unique, increasing IDs from blocks reserved in the shared {@code id_blocks} table.
+ * <p>
+ * Each call to {@link #next(String)} is served from memory. Only when the current block of a
+ * sequence is exhausted does the allocator go to the database, where it reserves the next
+ * {@code blockSize} values with a single row update in its own transaction. Because the
+ * reservation is an atomic update on a shared row, every OrderManagement instance receives a
+ * disjoint block, so the IDs stay unique when the service is scaled horizontally.
+ * <p>
+ * The table is the same one that backs the pooled {@code @TableGenerator} of {@link com.cts.model.Order};
+ * each sequence simply owns its own row, keyed by {@code sequence_name}.
+ */
+@Slf4j
+@Component
+public class BlockIdAllocator {
+
+	// Name of the table holding one "next free value" row per sequence.
+	public static final String TABLE_NAME = "id_blocks";
+
+	// Sequence used for customer IDs assigned to new orders.
+	public static final String CUSTOMER_SEQUENCE = "customers";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate blockTransaction;
+	private final int blockSize;
+
+	// The block currently being handed out for every sequence seen by this instance.
+	private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor for dependency injection.
+	 * @param jdbcTemplate The template used to reserve blocks in the database.
+	 * @param transactionManager Used to reserve each block in a separate transaction, so a
+	 * reservation is committed even if the caller's transaction rolls back.
+	 * @param blockSize The number of IDs reserved per database round trip.
+	 */
+	public BlockIdAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			@Value("${idgenerator.block-size:50}") int blockSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.blockTransaction = new TransactionTemplate(transactionManager);
+		this.blockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Returns the next ID of the given sequence.
+	 * @param sequence The logical name of the sequence, e.g. {@link #CUSTOMER_SEQUENCE}.
+	 * @return An ID that has never been returned before by any instance for this sequence.
+	 */
+	public int next(String sequence) {
+		Block block = blocks.computeIfAbsent(sequence, name -> new Block());
+		synchronized (block) {
+			if (block.next >= block.limit) {
+				block.next = reserveBlock(sequence);
+				block.limit = block.next + blockSize;
+			}
+			return block.next++;
+		}
+	}
+
+	/**
+	 * Reserves the next block of the sequence in the database.
+	 * @param sequence The sequence to reserve a block for.
+	 * @return The first ID of the newly reserved block.
+	 */
+	private int reserveBlock(String sequence) {
+		Integer start = blockTransaction.execute(status -> {
+			int updated = jdbcTemplate.update(
+					"UPDATE " + TABLE_NAME + " SET next_val = next_val + ? WHERE sequence_name = ?", blockSize, sequence);
+			if (updated == 0) {
+				// First use of this sequence anywhere: create its row with the first block already taken.
+				try {
+					jdbcTemplate.update("INSERT INTO " + TABLE_NAME + " (sequence_name, next_val) VALUES (?, ?)",
+							sequence, 1 + blockSize);
+					return 1;
+				} catch (DuplicateKeyException e) {
+					// Another instance created the row concurrently; reserve from it instead.
+					jdbcTemplate.update("UPDATE " + TABLE_NAME + " SET next_val = next_val + ? WHERE sequence_name = ?",
+							blockSize, sequence);
+				}
+			}
+			Long end = jdbcTemplate.queryForObject("SELECT next_val FROM " + TABLE_NAME + " WHERE sequence_name = ?",
+					Long.class, sequence);
+			return (int) (end - blockSize);
+		});
+		log.info("Reserved ID block [{}, {}) for sequence {}", start, start + blockSize, sequence);
+		return start;
+	}
+
+	/**
+	 * The range of IDs [next, limit) that this instance may still hand out for one sequence.
+	 */
+	private static final class Block {
+		private int next;
+		private int limit;
+	}
+}
@@ -0,0 +1,48 @@
+package com.cts.idgenerator;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.cts.model.Order;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes sure the pooled order ID generator starts above every order ID already in the table.
+ * <p>
+ * The orders table used to be AUTO_INCREMENT, so on an existing database the 'orders' row of
+ * {@code id_blocks} would otherwise start at 1 and hand out IDs that are already taken. Hibernate's
+ * pooled optimizer serves the IDs (next_val - allocationSize, next_val] of the value it reads, so the
+ * row must be at least MAX(order_id) + allocationSize.
+ * <p>
+ * The seed is a single upsert that only ever raises the value, so instances starting together, or a
+ * restart of a running system, cannot move the generator back. It runs while the context starts,
+ * before the web server accepts orders.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class OrderIdBlockSeeder implements InitializingBean {
+
+	// Name of the sequence row used by the @TableGenerator of Order.
+	public static final String ORDER_SEQUENCE = "orders";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public OrderIdBlockSeeder(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		jdbcTemplate.update("INSERT INTO " + BlockIdAllocator.TABLE_NAME + " (sequence_name, next_val) "
+				+ "SELECT ?, COALESCE(MAX(order_id), 0) + ? FROM orders "
+				+ "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))",
+				ORDER_SEQUENCE, Order.ID_ALLOCATION_SIZE);
+		Long next = jdbcTemplate.queryForObject("SELECT next_val FROM " + BlockIdAllocator.TABLE_NAME
+				+ " WHERE sequence_name = ?", Long.class, ORDER_SEQUENCE);
+		log.info("Order ID generator starts at block {}", next);
+	}
+}
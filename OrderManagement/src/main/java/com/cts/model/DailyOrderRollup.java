@@ -0,0 +1,51 @@
+package com.cts.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pre-aggregated order totals for one product on one day, mapped to the 'daily_order_rollup' table.
+ * The rows are kept up to date incrementally whenever an order is created or cancelled, so date-range
+ * reports read at most one row per product per day instead of every individual order.
+ *
+ * @Entity marks this class as a JPA entity.
+ * @IdClass declares the composite key (productId, orderDate).
+ * @Table specifies the name of the database table.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(DailyOrderRollupId.class)
+@Table(name = "daily_order_rollup")
+public class DailyOrderRollup {
+
+	/**
+	 * The ID of the product the totals belong to.
+	 */
+	@Id
+	private int productId;
+
+	/**
+	 * The day the totals cover.
+	 */
+	@Id
+	private LocalDate orderDate;
+
+	/**
+	 * The total number of units ordered for the product on this day, excluding cancelled orders.
+	 */
+	private int totalQuantity;
+
+	/**
+	 * The number of orders placed for the product on this day, excluding cancelled orders.
+	 */
+	private int orderCount;
+}
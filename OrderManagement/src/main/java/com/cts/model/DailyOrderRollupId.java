@@ -0,0 +1,31 @@
+package com.cts.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Composite primary key of a {@link DailyOrderRollup}: one row per product per day.
+ * JPA requires it to be Serializable and to implement equals() and hashCode(),
+ * which Lombok's @Data provides.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyOrderRollupId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The ID of the product the rollup belongs to.
+	 */
+	private int productId;
+
+	/**
+	 * The day the rollup covers.
+	 */
+	private LocalDate orderDate;
+}
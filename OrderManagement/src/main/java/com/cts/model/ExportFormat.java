@@ -0,0 +1,27 @@
+package com.cts.model;
+
+/**
+ * The output format of an order report export, together with the content type it is served as.
+ */
+public enum ExportFormat {
+
+	/**
+	 * Newline-delimited JSON: one JSON object per line.
+	 */
+	NDJSON("application/x-ndjson"),
+
+	/**
+	 * Comma-separated values with a header line.
+	 */
+	CSV("text/csv");
+
+	private final String contentType;
+
+	ExportFormat(String contentType) {
+		this.contentType = contentType;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+}
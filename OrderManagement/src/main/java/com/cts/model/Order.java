@@ -1,13 +1,15 @@
 package com.cts.model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.TableGenerator;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -18,25 +20,31 @@ import lombok.NoArgsConstructor;
  * @Entity marks this class as a JPA entity.
  * @Data is a Lombok annotation to boilerplate code for getters, setters, toString(), etc.
  * @NoArgsConstructor is a Lombok annotation to create a no-argument constructor, which is required by JPA.
- * @AllArgsConstructor is a Lombok annotation to create a constructor with all fields.
  * @Table specifies the name of the database table.
  */
 @Entity
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 @Table(name="orders")
 public class Order {
 
+	// Number of order IDs reserved per round trip to the 'id_blocks' table.
+	public static final int ID_ALLOCATION_SIZE = 50;
+
 	/**
 	 * The unique identifier for the order.
 	 * @Id marks this field as the primary key.
 	 * @GeneratedValue specifies how the primary key is generated.
-	 * GenerationType.IDENTITY indicates that the ID is generated by the database's
-	 * auto-increment column feature.
+	 * GenerationType.TABLE with a pooled @TableGenerator reserves IDs in blocks of
+	 * 'allocationSize' from the shared 'id_blocks' table, so Hibernate needs one round trip
+	 * per block instead of one per insert and can batch the INSERT statements.
+	 * Each instance reserves its own block, which keeps the IDs unique across instances.
+	 * The 'orders' row is seeded above the existing IDs at startup by {@link com.cts.idgenerator.OrderIdBlockSeeder}.
 	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id_generator")
+	@TableGenerator(name = "order_id_generator", table = "id_blocks", pkColumnName = "sequence_name",
+			valueColumnName = "next_val", pkColumnValue = "orders", allocationSize = ID_ALLOCATION_SIZE)
 	private int orderId;
 
 	/**
@@ -67,4 +75,26 @@ public class Order {
 	 * For example: "PENDING", "ACCEPTED", "DELIVERED", "CANCELLED".
 	 */
 	private String status;
+
+	/**
+	 * The time the row was last inserted or updated.
+	 * Maintained by MySQL itself (DEFAULT / ON UPDATE CURRENT_TIMESTAMP), so it also covers
+	 * bulk and native updates and does not depend on the clocks of the individual instances.
+	 * Used as the watermark of the change feed read by ReportingAndAnalytics.
+	 */
+	@Column(insertable = false, updatable = false,
+			columnDefinition = "TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+	private LocalDateTime lastModified;
+
+	/**
+	 * Creates an order with all business fields; the modification time is set by the database.
+	 */
+	public Order(int orderId, int customerId, int productId, int quantity, LocalDate orderDate, String status) {
+		this.orderId = orderId;
+		this.customerId = customerId;
+		this.productId = productId;
+		this.quantity = quantity;
+		this.orderDate = orderDate;
+		this.status = status;
+	}
 }
\ No newline at end of file
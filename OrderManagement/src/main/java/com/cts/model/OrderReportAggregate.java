@@ -0,0 +1,47 @@
+package com.cts.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one aggregated row of an order report export, e.g. the totals of one product in one week.
+ * The JPQL queries in {@link com.cts.repository.DailyOrderRollupRepository} compute the sums in SQL
+ * and populate this object directly through a constructor expression.
+ *
+ * @Data Generates getters, setters, toString(), etc. via Lombok.
+ * @AllArgsConstructor Creates a constructor with all fields.
+ * @NoArgsConstructor Creates a default, no-argument constructor.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderReportAggregate {
+
+	/**
+	 * The unique identifier for the product the totals belong to.
+	 */
+	private int productId;
+
+	/**
+	 * The first day with orders in the aggregated period.
+	 */
+	private LocalDate periodStart;
+
+	/**
+	 * The last day with orders in the aggregated period.
+	 */
+	private LocalDate periodEnd;
+
+	/**
+	 * The total number of units ordered in the period.
+	 */
+	private long totalQuantity;
+
+	/**
+	 * The number of orders placed in the period.
+	 */
+	private long orderCount;
+}
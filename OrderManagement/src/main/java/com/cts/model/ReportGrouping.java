@@ -0,0 +1,28 @@
+package com.cts.model;
+
+/**
+ * The granularity of an order report export.
+ * NONE streams the raw order rows; the other values return totals computed in SQL.
+ */
+public enum ReportGrouping {
+
+	/**
+	 * One row per order.
+	 */
+	NONE,
+
+	/**
+	 * One row per product for the whole date range.
+	 */
+	PRODUCT,
+
+	/**
+	 * One row per product per day.
+	 */
+	DAY,
+
+	/**
+	 * One row per product per ISO week.
+	 */
+	WEEK
+}
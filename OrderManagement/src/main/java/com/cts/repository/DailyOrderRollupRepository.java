@@ -0,0 +1,130 @@
+package com.cts.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.cts.model.DailyOrderRollup;
+import com.cts.model.DailyOrderRollupId;
+import com.cts.model.OrderReportAggregate;
+import com.cts.model.OrderReportSent;
+
+/**
+ * A Spring Data JPA repository for the per-product daily order totals ({@link DailyOrderRollup}).
+ * <p>
+ * Cancelling an order takes it back out of its row but leaves the row, so the report queries skip
+ * rows whose order count has dropped to zero.
+ */
+public interface DailyOrderRollupRepository extends JpaRepository<DailyOrderRollup, DailyOrderRollupId> {
+
+	/**
+	 * Adds the given quantity and order count to the rollup row of a product and day,
+	 * creating the row if it does not exist yet. Negative values are used to take a cancelled
+	 * order back out of the totals. The upsert is a single statement, so concurrent orders
+	 * for the same product and day cannot overwrite each other's increments.
+	 * @param productId The ID of the ordered product.
+	 * @param orderDate The day the order was placed.
+	 * @param quantity The number of units to add (negative to subtract).
+	 * @param count The number of orders to add (negative to subtract).
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO daily_order_rollup (product_id, order_date, total_quantity, order_count) " +
+	       "VALUES (:productId, :orderDate, :quantity, :count) " +
+	       "ON DUPLICATE KEY UPDATE total_quantity = total_quantity + :quantity, order_count = order_count + :count",
+	       nativeQuery = true)
+	void addToRollup(
+	    @Param("productId") int productId,
+	    @Param("orderDate") LocalDate orderDate,
+	    @Param("quantity") int quantity,
+	    @Param("count") int count
+	);
+
+	/**
+	 * Rebuilds all rollup rows from the orders table. Used once at startup to backfill
+	 * the rollups for orders that were placed before the table existed.
+	 * <p>
+	 * The rows are set to the totals read from the orders table rather than added to, so running
+	 * the rebuild twice, or while orders are being placed, does not count an order twice. Under
+	 * InnoDB's default REPEATABLE READ, INSERT ... SELECT locks the order rows it reads, so an order
+	 * placed meanwhile either is read here or waits and adds itself to the rebuilt row afterwards.
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO daily_order_rollup (product_id, order_date, total_quantity, order_count) " +
+	       "SELECT o.product_id, o.order_date, SUM(o.quantity), COUNT(*) FROM orders o " +
+	       "WHERE o.status IS NULL OR LOWER(o.status) <> 'cancelled' " +
+	       "GROUP BY o.product_id, o.order_date " +
+	       "ON DUPLICATE KEY UPDATE total_quantity = VALUES(total_quantity), order_count = VALUES(order_count)",
+	       nativeQuery = true)
+	void rebuildFromOrders();
+
+	/**
+	 * Returns the daily totals within a date range, one report row per product per day.
+	 * @param startDate The start date of the reporting period (inclusive).
+	 * @param endDate The end date of the reporting period (inclusive).
+	 * @return A list of report rows whose quantity is the total ordered for that product and day.
+	 */
+	@Query("SELECT new com.cts.model.OrderReportSent(r.productId, r.orderDate, r.totalQuantity) " +
+	       "FROM DailyOrderRollup r " +
+	       "WHERE r.orderDate BETWEEN :startDate AND :endDate AND r.orderCount > 0 " +
+	       "ORDER BY r.orderDate, r.productId")
+	List<OrderReportSent> findRollupReportByDateBetween(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate
+	);
+
+	/**
+	 * Totals per product over a whole date range, summed in SQL.
+	 * @param startDate The start date of the reporting period (inclusive).
+	 * @param endDate The end date of the reporting period (inclusive).
+	 * @return One aggregate row per product.
+	 */
+	@Query("SELECT new com.cts.model.OrderReportAggregate(r.productId, MIN(r.orderDate), MAX(r.orderDate), " +
+	       "SUM(r.totalQuantity), SUM(r.orderCount)) " +
+	       "FROM DailyOrderRollup r " +
+	       "WHERE r.orderDate BETWEEN :startDate AND :endDate AND r.orderCount > 0 " +
+	       "GROUP BY r.productId " +
+	       "ORDER BY r.productId")
+	List<OrderReportAggregate> aggregateByProduct(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate
+	);
+
+	/**
+	 * Totals per product per day within a date range.
+	 * @param startDate The start date of the reporting period (inclusive).
+	 * @param endDate The end date of the reporting period (inclusive).
+	 * @return One aggregate row per product per day with orders.
+	 */
+	@Query("SELECT new com.cts.model.OrderReportAggregate(r.productId, r.orderDate, r.orderDate, " +
+	       "SUM(r.totalQuantity), SUM(r.orderCount)) " +
+	       "FROM DailyOrderRollup r " +
+	       "WHERE r.orderDate BETWEEN :startDate AND :endDate AND r.orderCount > 0 " +
+	       "GROUP BY r.productId, r.orderDate " +
+	       "ORDER BY r.orderDate, r.productId")
+	List<OrderReportAggregate> aggregateByDay(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate
+	);
+
+	/**
+	 * Totals per product per ISO week within a date range, grouped with MySQL's YEARWEEK(date, 3).
+	 * The period of each row spans the first and last day with orders in that week.
+	 * @param startDate The start date of the reporting period (inclusive).
+	 * @param endDate The end date of the reporting period (inclusive).
+	 * @return One aggregate row per product per week with orders.
+	 */
+	@Query("SELECT new com.cts.model.OrderReportAggregate(r.productId, MIN(r.orderDate), MAX(r.orderDate), " +
+	       "SUM(r.totalQuantity), SUM(r.orderCount)) " +
+	       "FROM DailyOrderRollup r " +
+	       "WHERE r.orderDate BETWEEN :startDate AND :endDate AND r.orderCount > 0 " +
+	       "GROUP BY r.productId, FUNCTION('YEARWEEK', r.orderDate, 3) " +
+	       "ORDER BY MIN(r.orderDate), r.productId")
+	List<OrderReportAggregate> aggregateByWeek(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate
+	);
+}
@@ -1,16 +1,24 @@
 package com.cts.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.cts.model.Order;
 import com.cts.model.OrderReportSent;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 /**
  * A Spring Data JPA repository for managing {@link Order} entities.
  * Extending JpaRepository provides standard CRUD (Create, Read, Update, Delete)
@@ -41,6 +49,17 @@ public interface OrderManagementRepository extends JpaRepository<Order,Integer>
 	 */
 	List<Order> findByCustomerId(int id);
 
+	/**
+	 * Finds an Order by its ID and locks its row (SELECT ... FOR UPDATE) until the transaction ends.
+	 * Used when a status change also adjusts the rollups, so concurrent changes of the same order
+	 * are applied one after the other and each sees the status left by the previous one.
+	 * @param id The order ID to search for.
+	 * @return An {@link Optional} containing the locked Order, or empty if no order is found.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT o FROM Order o WHERE o.orderId = :id")
+	Optional<Order> findByOrderIdForUpdate(@Param("id") int id);
+
 	/**
 	 * Executes a custom JPQL query to generate a report of orders within a specific date range.
 	 * This method uses a constructor expression to map the results directly into a list of
@@ -57,6 +76,50 @@ public interface OrderManagementRepository extends JpaRepository<Order,Integer>
 	    @Param("endDate") LocalDate endDate 
 	);
 
+	/**
+	 * Streams the report rows of the orders that count towards the totals, i.e. that are not cancelled,
+	 * without materializing them in a list. These are the orders summed by the daily rollups, so a raw
+	 * export adds up to the grouped ones. The fetch size of Integer.MIN_VALUE tells the MySQL
+	 * driver to stream the result set row by row instead of buffering it in memory.
+	 * The stream must be consumed inside a transaction and closed afterwards.
+	 * @param startDate The start date of the reporting period (inclusive).
+	 * @param endDate The end date of the reporting period (inclusive).
+	 * @return A stream of order report data transfer objects, ordered by date.
+	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+	@Query("SELECT new com.cts.model.OrderReportSent(o.productId, o.orderDate, o.quantity) " +
+	       "FROM Order o " +
+	       "WHERE o.orderDate BETWEEN :startDate AND :endDate " +
+	       "AND (o.status IS NULL OR LOWER(o.status) <> 'cancelled') " +
+	       "ORDER BY o.orderDate")
+	Stream<OrderReportSent> streamOrderReportByDateBetween(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate
+	);
+
+	/**
+	 * Retrieves one page of the orders placed before a date. Used by the archival job
+	 * to move old orders out of the table in chunks.
+	 * @param date The cutoff date (exclusive).
+	 * @param pageable The size and sort order of the chunk.
+	 * @return The orders of the requested page.
+	 */
+	List<Order> findByOrderDateBefore(LocalDate date, Pageable pageable);
+
+	/**
+	 * Retrieves the orders inserted or updated after a watermark, in (lastModified, orderId) order.
+	 * The order ID breaks ties between rows modified at the same instant, so a caller can page
+	 * through the changes by passing the position of the last row it received.
+	 * @param since The modification time of the last row already read.
+	 * @param afterId The order ID of the last row already read at that time.
+	 * @param pageable The maximum number of rows to return.
+	 * @return The next page of changed orders.
+	 */
+	@Query("SELECT o FROM Order o " +
+	       "WHERE o.lastModified > :since OR (o.lastModified = :since AND o.orderId > :afterId) " +
+	       "ORDER BY o.lastModified, o.orderId")
+	List<Order> findChangesSince(@Param("since") LocalDateTime since, @Param("afterId") int afterId, Pageable pageable);
+
 	/**
 	 * Finds the first order in the table, ordered by the order date in ascending order.
 	 * Used to determine the minimum date of available data.
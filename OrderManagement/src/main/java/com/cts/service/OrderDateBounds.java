@@ -0,0 +1,119 @@
+package com.cts.service;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.cts.archive.OrderArchive;
+import com.cts.model.Order;
+import com.cts.repository.OrderManagementRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory holder of the earliest and latest order dates, used to validate report date ranges
+ * without sorting the orders table on every request.
+ * <p>
+ * The bounds are loaded from the database at startup and widened atomically whenever an order is
+ * saved by this instance. Orders saved by other instances are not seen here, so a range that looks
+ * out of bounds should be confirmed with {@link #reload()} before it is rejected.
+ * Archived orders still count towards the bounds, since their totals remain in the daily rollups.
+ */
+@Slf4j
+@Component
+public class OrderDateBounds implements ApplicationRunner {
+
+	// JPA repository used to (re)load the bounds from the orders table.
+	private OrderManagementRepository repo;
+	// Columnar archive of old orders, which may hold dates earlier than the orders table.
+	private OrderArchive archive;
+
+	// The current bounds, or null while there are no orders at all.
+	private final AtomicReference<DateRange> bounds = new AtomicReference<>();
+
+	public OrderDateBounds(OrderManagementRepository repo, OrderArchive archive) {
+		this.repo = repo;
+		this.archive = archive;
+	}
+
+	/**
+	 * Loads the bounds once the application has started.
+	 */
+	@Override
+	public void run(ApplicationArguments args) {
+		DateRange loaded = reload();
+		log.info("Loaded order date bounds: {}", loaded);
+	}
+
+	/**
+	 * Returns the cached bounds.
+	 * @return The earliest and latest known order dates, or null if no orders exist.
+	 */
+	public DateRange get() {
+		return bounds.get();
+	}
+
+	/**
+	 * Widens the bounds to include the date of a newly saved order.
+	 * @param orderDate The date of the saved order.
+	 */
+	public void record(LocalDate orderDate) {
+		bounds.updateAndGet(current -> current == null ? new DateRange(orderDate, orderDate) : current.include(orderDate));
+	}
+
+	/**
+	 * Reloads the bounds from the orders table and the archive, replacing the cached value.
+	 * @return The reloaded bounds, or null if no orders exist.
+	 */
+	public DateRange reload() {
+		Optional<Order> minDateOpt = repo.findFirstByOrderByOrderDateAsc();
+		Optional<Order> maxDateOpt = repo.findFirstByOrderByOrderDateDesc();
+		DateRange loaded = null;
+		if (minDateOpt.isPresent() && maxDateOpt.isPresent()) {
+			loaded = new DateRange(minDateOpt.get().getOrderDate(), maxDateOpt.get().getOrderDate());
+		}
+		Optional<LocalDate> archivedMin = archive.getMinDate();
+		Optional<LocalDate> archivedMax = archive.getMaxDate();
+		if (archivedMin.isPresent() && archivedMax.isPresent()) {
+			loaded = loaded == null ? new DateRange(archivedMin.get(), archivedMax.get())
+					: loaded.include(archivedMin.get()).include(archivedMax.get());
+		}
+		bounds.set(loaded);
+		return loaded;
+	}
+
+	/**
+	 * An immutable pair of the earliest and latest order dates.
+	 * @param min The earliest order date.
+	 * @param max The latest order date.
+	 */
+	public record DateRange(LocalDate min, LocalDate max) {
+
+		/**
+		 * Checks whether a requested range lies completely within these bounds.
+		 * @param startDate The requested start date.
+		 * @param endDate The requested end date.
+		 * @return true if the requested range is covered.
+		 */
+		public boolean covers(LocalDate startDate, LocalDate endDate) {
+			return !startDate.isBefore(min) && !endDate.isAfter(max);
+		}
+
+		/**
+		 * Returns bounds that also include the given date. Returns this instance when the date is
+		 * already covered, so the common case does not allocate.
+		 * @param date The date to include.
+		 * @return The widened bounds.
+		 */
+		DateRange include(LocalDate date) {
+			if (!date.isBefore(min) && !date.isAfter(max)) {
+				return this;
+			}
+			return new DateRange(date.isBefore(min) ? date : min, date.isAfter(max) ? date : max);
+		}
+	}
+}
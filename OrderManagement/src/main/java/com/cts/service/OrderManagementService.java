@@ -1,5 +1,6 @@
 package com.cts.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
@@ -22,7 +23,14 @@ public interface OrderManagementService {
 
 	ResponseEntity<List<OrderReportSent>> getDetailsByDate(OrderReport orderReport) throws DateNotFoundException;
 
+	ResponseEntity<List<OrderReportSent>> getArchivedDetailsByDate(OrderReport orderReport) throws DataNotFoundException;
+
+	ResponseEntity<OrderDateBounds.DateRange> getDateBounds();
+
 	String updateStatus(int orderId, String status) throws OrderNotFoundException;
 
 	ResponseEntity<List<Order>> getAllOrders();
+
+	ResponseEntity<List<Order>> getChangesSince(LocalDateTime since, int afterId, int limit)
+			throws DataNotFoundException;
 }
\ No newline at end of file
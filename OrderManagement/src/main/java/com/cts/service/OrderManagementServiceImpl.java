@@ -1,25 +1,31 @@
 package com.cts.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.cts.archive.OrderArchive;
 import com.cts.client.ProductManagementClient;
 import com.cts.client.StockManagementClient;
 import com.cts.exception.DataNotFoundException;
 import com.cts.exception.DateNotFoundException;
 import com.cts.exception.OrderNotFoundException;
+import com.cts.idgenerator.BlockIdAllocator;
 import com.cts.model.Order;
 import com.cts.model.OrderReport;
 import com.cts.model.OrderReportSent;
 import com.cts.model.Product;
 import com.cts.model.ProductDTO;
 import com.cts.model.Stock;
+import com.cts.repository.DailyOrderRollupRepository;
 import com.cts.repository.OrderManagementRepository;
 
 import lombok.extern.slf4j.Slf4j;
@@ -32,29 +38,46 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class OrderManagementServiceImpl implements OrderManagementService {
 
+	// Largest page of changes returned at once, whatever limit the caller asks for.
+	static final int MAX_CHANGES_PAGE = 5000;
+
 	// JPA repository for database operations on Order entities.
 	private OrderManagementRepository repo;
 	// Feign client for communicating with the Stock Management microservice.
 	private StockManagementClient sClient;
 	// Feign client for communicating with the Product Management microservice.
 	private ProductManagementClient pClient;
+	// Block-based allocator that generates unique customer IDs across all instances.
+	private BlockIdAllocator idAllocator;
+	// JPA repository for the per-product daily order totals used by the date-range report.
+	private DailyOrderRollupRepository rollupRepo;
+	// Cached earliest and latest order dates used to validate report date ranges.
+	private OrderDateBounds dateBounds;
+	// Columnar archive holding the orders moved out of the orders table.
+	private OrderArchive archive;
 
 	/**
 	 * Constructor for dependency injection. Spring injects the required repository and Feign clients.
 	 * @param repo The repository for order data.
 	 * @param sClient The client for the stock management service.
 	 * @param pClient The client for the product management service.
+	 * @param idAllocator The allocator used to generate customer IDs.
+	 * @param rollupRepo The repository for the daily order rollups.
+	 * @param dateBounds The cached order date bounds.
+	 * @param archive The archive of old orders.
 	 */
 	public OrderManagementServiceImpl(OrderManagementRepository repo, StockManagementClient sClient,
-			ProductManagementClient pClient) {
+			ProductManagementClient pClient, BlockIdAllocator idAllocator, DailyOrderRollupRepository rollupRepo,
+			OrderDateBounds dateBounds, OrderArchive archive) {
 		this.repo = repo;
 		this.sClient = sClient;
 		this.pClient = pClient;
+		this.idAllocator = idAllocator;
+		this.rollupRepo = rollupRepo;
+		this.dateBounds = dateBounds;
+		this.archive = archive;
 	}
 
-	// A thread-safe counter to generate unique customer IDs for demonstration purposes.
-	private static final AtomicInteger customerIdCounter = new AtomicInteger(0);
-
 	/**
 	 * Creates a new order, validates product availability, and decreases stock.
 	 * @param product The product information (ID and quantity) for the new order.
@@ -62,6 +85,7 @@ public class OrderManagementServiceImpl implements OrderManagementService {
 	 * @throws DataNotFoundException if the product data is invalid, the product is not found, or stock is insufficient.
 	 */
 	@Override
+	@Transactional(rollbackFor = DataNotFoundException.class)
 	public ResponseEntity<String> createOrder(Product product) throws DataNotFoundException {
 
 		log.info("In the OrderManagementService we are creating order");
@@ -77,7 +101,7 @@ public class OrderManagementServiceImpl implements OrderManagementService {
 		order.setProductId(product.getProductId());
 		order.setOrderDate(LocalDate.now()); 
 		order.setQuantity(product.getQuantity());
-		order.setCustomerId(customerIdCounter.getAndIncrement());
+		order.setCustomerId(idAllocator.next(BlockIdAllocator.CUSTOMER_SEQUENCE));
 		order.setStatus("Pending"); // Setting a default status here is better practice
 
 		// 3. Call ProductManagement microservice via Feign client to check product existence and quantity.
@@ -102,11 +126,15 @@ public class OrderManagementServiceImpl implements OrderManagementService {
 		log.info("We are saving the data");
 		repo.save(order);
 
+		// 8. Add the order to the daily rollup of its product, in the same transaction as the order.
+		rollupRepo.addToRollup(order.getProductId(), order.getOrderDate(), order.getQuantity(), 1);
+		dateBounds.record(order.getOrderDate());
+
 		return new ResponseEntity<>("Saved succesfully", HttpStatus.CREATED);
 	}
 
 	/**
-	 * Retrieves a single order by its unique order ID.
+	 * Retrieves a single order by its unique order ID, from the orders table or else from the archive.
 	 * @param id The ID of the order to retrieve.
 	 * @return A ResponseEntity containing the found Order and HTTP status OK.
 	 * @throws OrderNotFoundException if no order is found with the given ID.
@@ -116,6 +144,10 @@ public class OrderManagementServiceImpl implements OrderManagementService {
 
 		log.info("In the OrderManagementService we are retriving order by order ID");
 		Optional<Order> op = repo.findByOrderId(id);
+		if (op.isEmpty()) {
+			// Orders older than the archive age have moved out of the orders table.
+			op = archive.findOrder(id);
+		}
 		if (op.isPresent()) {
 			return new ResponseEntity<>(op.get(), HttpStatus.OK);
 		} else {
@@ -125,7 +157,7 @@ public class OrderManagementServiceImpl implements OrderManagementService {
 	}
 
 	/**
-	 * Retrieves all orders placed by a specific customer.
+	 * Retrieves all orders placed by a specific customer, including the archived ones.
 	 * @param id The ID of the customer.
 	 * @return A ResponseEntity containing a list of Orders and HTTP status OK.
 	 * @throws OrderNotFoundException if the customer has no orders.
@@ -134,7 +166,9 @@ public class OrderManagementServiceImpl implements OrderManagementService {
 	public ResponseEntity<List<Order>> getDetailsByCustomerId(int id) throws OrderNotFoundException {
 
 		log.info("In the OrderManagementService we are retriveing order by customer ID");
-		List<Order> orders = repo.findByCustomerId(id);
+		// The archived orders are older than any order still in the table, so they come first.
+		List<Order> orders = new ArrayList<>(archive.findByCustomerId(id));
+		orders.addAll(repo.findByCustomerId(id));
 
 		if (!orders.isEmpty()) {
 			return new ResponseEntity<>(orders, HttpStatus.OK);
@@ -160,8 +194,10 @@ public class OrderManagementServiceImpl implements OrderManagementService {
 
 	/**
 	 * Retrieves an order report for a specific date range. It first validates the
-	 * date range against the earliest and latest order dates in the database to
-	 * ensure the request is valid.
+	 * date range against the cached earliest and latest order dates to ensure the
+	 * request is valid; the database is only consulted again when a range looks
+	 * out of bounds, in case another instance has saved newer orders. The report is served from the daily rollups, so
+	 * it contains one row per product per day carrying that day's total quantity.
 	 * @param orderReport The DTO containing the start and end dates.
 	 * @return A ResponseEntity with a list of OrderReportSent objects.
 	 * @throws DateNotFoundException if no orders are found within the specified
@@ -172,24 +208,52 @@ public class OrderManagementServiceImpl implements OrderManagementService {
 		LocalDate startDate=orderReport.getStartDate(); 
 		LocalDate endDate=orderReport.getEndDate(); 
 		
-		// Validate the requested date range against the available data in the database.
-		Optional<Order> minDateOpt = repo.findFirstByOrderByOrderDateAsc();
-		Optional<Order> maxDateOpt = repo.findFirstByOrderByOrderDateDesc();
-
-		if (minDateOpt.isPresent() && maxDateOpt.isPresent()) {
-			LocalDate minDate = minDateOpt.get().getOrderDate();
-			LocalDate maxDate = maxDateOpt.get().getOrderDate();
-
-			// If the requested range is outside the bounds of available data, throw an exception.
-			if (startDate.isBefore(minDate) || endDate.isAfter(maxDate)) {
-				throw new DateNotFoundException("Requested date range is outside the available data range. Available data is from " + minDate + " to " + maxDate + ".");
-			}
+		// Validate the requested date range against the cached bounds of the available data.
+		OrderDateBounds.DateRange bounds = dateBounds.get();
+		if (bounds == null || !bounds.covers(startDate, endDate)) {
+			// The cache may be behind orders saved by other instances, so confirm before rejecting.
+			bounds = dateBounds.reload();
 		}
-		// Fetch the report data from the repository using the validated date range.
-		List<OrderReportSent> reportList = repo.findOrderReportByDateBetween(startDate, endDate);
+
+		// If the requested range is outside the bounds of available data, throw an exception.
+		if (bounds != null && !bounds.covers(startDate, endDate)) {
+			throw new DateNotFoundException("Requested date range is outside the available data range. Available data is from " + bounds.min() + " to " + bounds.max() + ".");
+		}
+		// Fetch the pre-aggregated report data for the validated date range.
+		List<OrderReportSent> reportList = rollupRepo.findRollupReportByDateBetween(startDate, endDate);
 		return new ResponseEntity<>(reportList,HttpStatus.OK);
 	}
 
+	/**
+	 * Retrieves the individual archived orders of a date range from the columnar archive.
+	 * The archive is scanned in place through its memory-mapped columns.
+	 * @param orderReport The DTO containing the start and end dates.
+	 * @return A ResponseEntity with one OrderReportSent per archived order.
+	 * @throws DataNotFoundException if the date range is missing or reversed.
+	 */
+	@Override
+	public ResponseEntity<List<OrderReportSent>> getArchivedDetailsByDate(OrderReport orderReport) throws DataNotFoundException {
+		if (orderReport == null || orderReport.getStartDate() == null || orderReport.getEndDate() == null
+				|| orderReport.getStartDate().isAfter(orderReport.getEndDate())) {
+			throw new DataNotFoundException("Invalid date range. Please provide a start date on or before the end date.");
+		}
+		log.info("In the OrderManagementService we are reading archived orders from {} to {}", orderReport.getStartDate(), orderReport.getEndDate());
+		List<OrderReportSent> reportList = archive.query(orderReport.getStartDate(), orderReport.getEndDate());
+		return new ResponseEntity<>(reportList, HttpStatus.OK);
+	}
+
+	/**
+	 * Returns the earliest and latest order dates, i.e. the widest range {@link #getDetailsByDate} accepts,
+	 * so clients can clamp their ranges instead of being rejected.
+	 * @return A ResponseEntity with the bounds, or 204 No Content while there are no orders.
+	 */
+	@Override
+	public ResponseEntity<OrderDateBounds.DateRange> getDateBounds() {
+		// Reloaded rather than cached, so the bounds include orders saved by other instances.
+		OrderDateBounds.DateRange bounds = dateBounds.reload();
+		return bounds == null ? ResponseEntity.noContent().build() : new ResponseEntity<>(bounds, HttpStatus.OK);
+	}
+
 	/**
 	 * Updates the status of an existing order.
 	 * @param orderId The ID of the order to update.
@@ -198,11 +262,12 @@ public class OrderManagementServiceImpl implements OrderManagementService {
 	 * @throws OrderNotFoundException if the order with the given ID does not exist.
 	 */
 	@Override
+	@Transactional(rollbackFor = OrderNotFoundException.class)
 	public String updateStatus(int orderId, String status) throws OrderNotFoundException {
 		// TODO Auto-generated method stub
 
-		// Find the order by its ID.
-		Optional<Order> optional = repo.findByOrderId(orderId);
+		// Find the order by its ID and lock it, so a concurrent status change cannot adjust the rollup twice.
+		Optional<Order> optional = repo.findByOrderIdForUpdate(orderId);
 
 		// If the order doesn't exist, throw an exception.
 		if (optional.isEmpty()) {
@@ -211,11 +276,28 @@ public class OrderManagementServiceImpl implements OrderManagementService {
 		
 		// Get the order, update its status, and save it back to the database.
 		Order order = optional.get();
+		boolean wasCancelled = isCancelled(order.getStatus());
 		order.setStatus(status);
 		repo.save(order);
+
+		// Take a cancelled order out of its daily rollup, or put it back if it is reinstated.
+		if (!wasCancelled && isCancelled(status)) {
+			rollupRepo.addToRollup(order.getProductId(), order.getOrderDate(), -order.getQuantity(), -1);
+		} else if (wasCancelled && !isCancelled(status)) {
+			rollupRepo.addToRollup(order.getProductId(), order.getOrderDate(), order.getQuantity(), 1);
+		}
 		return "Successfully Updated status";
 	}
 
+	/**
+	 * Checks whether a status marks an order as cancelled. Cancelled orders are excluded from the rollups.
+	 * @param status The status of an order.
+	 * @return true if the status is "Cancelled" (case-insensitive).
+	 */
+	private boolean isCancelled(String status) {
+		return "Cancelled".equalsIgnoreCase(status);
+	}
+
 	@Override
 	public ResponseEntity<List<Order>> getAllOrders() {
 		// TODO Auto-generated method stub
@@ -223,4 +305,23 @@ public class OrderManagementServiceImpl implements OrderManagementService {
 		return new ResponseEntity<>(orders,HttpStatus.OK);
 	}
 
+	/**
+	 * Retrieves one page of the orders inserted or updated after the given watermark.
+	 * Used by ReportingAndAnalytics to keep its local copy of the orders up to date.
+	 * @param since The modification time of the last order already read.
+	 * @param afterId The ID of the last order already read at that time.
+	 * @param limit The maximum number of orders to return, at most {@value #MAX_CHANGES_PAGE}.
+	 * @return A ResponseEntity with the changed orders in (lastModified, orderId) order.
+	 */
+	@Override
+	public ResponseEntity<List<Order>> getChangesSince(LocalDateTime since, int afterId, int limit)
+			throws DataNotFoundException {
+		if (limit < 1) {
+			throw new DataNotFoundException("Invalid limit. Please provide a limit of at least 1.");
+		}
+		List<Order> orders = repo.findChangesSince(since, afterId, PageRequest.of(0, Math.min(limit, MAX_CHANGES_PAGE)));
+		log.info("Returning {} orders changed since {} (after order {})", orders.size(), since, afterId);
+		return new ResponseEntity<>(orders, HttpStatus.OK);
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.cts.service;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.cts.exception.DataNotFoundException;
+import com.cts.model.OrderReport;
+
+public interface OrderReportExportService {
+
+	ResponseEntity<StreamingResponseBody> exportByDate(OrderReport orderReport, String format, String groupBy)
+			throws DataNotFoundException;
+}
@@ -0,0 +1,192 @@
+package com.cts.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.cts.archive.OrderArchive;
+import com.cts.exception.DataNotFoundException;
+import com.cts.model.ExportFormat;
+import com.cts.model.OrderReport;
+import com.cts.model.OrderReportAggregate;
+import com.cts.model.OrderReportSent;
+import com.cts.model.ReportGrouping;
+import com.cts.repository.DailyOrderRollupRepository;
+import com.cts.repository.OrderManagementRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service implementation for exporting order reports as a stream.
+ * Raw rows are written straight from the archive scan and a JPA stream, so the response is never
+ * materialized in memory; grouped exports are summed in SQL from the daily rollups and only the totals
+ * are transferred. Both cover the same orders, archived ones included and cancelled ones excluded,
+ * so the raw rows of a range add up to its grouped totals.
+ */
+@Slf4j
+@Service
+public class OrderReportExportServiceImpl implements OrderReportExportService {
+
+	// JPA repository used to stream the raw order rows.
+	private OrderManagementRepository repo;
+	// JPA repository used to compute the grouped totals.
+	private DailyOrderRollupRepository rollupRepo;
+	// Columnar archive holding the orders already moved out of the orders table.
+	private OrderArchive archive;
+	// Read-only transaction that keeps the database cursor open while the raw rows are written.
+	private TransactionTemplate readOnlyTransaction;
+	// Spring's configured ObjectMapper, so dates are written the same way as in the JSON endpoints.
+	private ObjectMapper objectMapper;
+
+	/**
+	 * Constructor for dependency injection.
+	 * @param repo The repository for order data.
+	 * @param rollupRepo The repository for the daily order rollups.
+	 * @param archive The archive of old orders, included in raw exports.
+	 * @param transactionManager The transaction manager used to stream the raw rows.
+	 * @param objectMapper The mapper used to write NDJSON lines.
+	 */
+	public OrderReportExportServiceImpl(OrderManagementRepository repo, DailyOrderRollupRepository rollupRepo,
+			OrderArchive archive, PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+		this.repo = repo;
+		this.rollupRepo = rollupRepo;
+		this.archive = archive;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Exports the orders of a date range in the requested format and granularity.
+	 * @param orderReport The DTO containing the start and end dates.
+	 * @param format The output format: "ndjson" or "csv".
+	 * @param groupBy The granularity: "none", "product", "day" or "week".
+	 * @return A ResponseEntity whose body writes the report to the response as it is read.
+	 * @throws DataNotFoundException if the date range, format or grouping is invalid.
+	 */
+	@Override
+	public ResponseEntity<StreamingResponseBody> exportByDate(OrderReport orderReport, String format, String groupBy)
+			throws DataNotFoundException {
+		if (orderReport == null || orderReport.getStartDate() == null || orderReport.getEndDate() == null
+				|| orderReport.getStartDate().isAfter(orderReport.getEndDate())) {
+			throw new DataNotFoundException("Invalid date range. Please provide a start date on or before the end date.");
+		}
+		LocalDate startDate = orderReport.getStartDate();
+		LocalDate endDate = orderReport.getEndDate();
+		ExportFormat exportFormat = parse(ExportFormat.class, format, "format");
+		ReportGrouping grouping = parse(ReportGrouping.class, groupBy, "groupBy");
+		log.info("Exporting orders from {} to {} as {} grouped by {}", startDate, endDate, exportFormat, grouping);
+
+		StreamingResponseBody body = outputStream -> {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+			if (grouping == ReportGrouping.NONE) {
+				writeRawRows(writer, exportFormat, startDate, endDate);
+			} else {
+				writeAggregates(writer, exportFormat, aggregate(grouping, startDate, endDate));
+			}
+			writer.flush();
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(exportFormat.getContentType())).body(body);
+	}
+
+	/**
+	 * Writes every order of the range that counts towards the totals: first the archived ones, which are
+	 * older than any order still in the table, then the live ones, read from a database cursor inside a
+	 * read-only transaction.
+	 */
+	private void writeRawRows(Writer writer, ExportFormat format, LocalDate startDate, LocalDate endDate)
+			throws IOException {
+		if (format == ExportFormat.CSV) {
+			writer.write("productId,date,quantity\n");
+		}
+		try {
+			archive.scan(startDate, endDate, (productId, epochDay, quantity) ->
+					writeRawRow(writer, format, new OrderReportSent(productId, LocalDate.ofEpochDay(epochDay), quantity)));
+			readOnlyTransaction.executeWithoutResult(status -> {
+				try (Stream<OrderReportSent> rows = repo.streamOrderReportByDateBetween(startDate, endDate)) {
+					rows.forEach(row -> writeRawRow(writer, format, row));
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Writes one raw row, rethrowing write failures unchecked so it can be called from the row callbacks.
+	 */
+	private void writeRawRow(Writer writer, ExportFormat format, OrderReportSent row) {
+		try {
+			if (format == ExportFormat.CSV) {
+				writer.write(row.getProductId() + "," + row.getDate() + "," + row.getQuantity() + "\n");
+			} else {
+				writer.write(objectMapper.writeValueAsString(row));
+				writer.write('\n');
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes the grouped totals computed by the database.
+	 */
+	private void writeAggregates(Writer writer, ExportFormat format, List<OrderReportAggregate> rows)
+			throws IOException {
+		if (format == ExportFormat.CSV) {
+			writer.write("productId,periodStart,periodEnd,totalQuantity,orderCount\n");
+		}
+		for (OrderReportAggregate row : rows) {
+			if (format == ExportFormat.CSV) {
+				writer.write(row.getProductId() + "," + row.getPeriodStart() + "," + row.getPeriodEnd() + ","
+						+ row.getTotalQuantity() + "," + row.getOrderCount() + "\n");
+			} else {
+				writer.write(objectMapper.writeValueAsString(row));
+				writer.write('\n');
+			}
+		}
+	}
+
+	/**
+	 * Runs the SQL aggregation that matches the requested grouping.
+	 */
+	private List<OrderReportAggregate> aggregate(ReportGrouping grouping, LocalDate startDate, LocalDate endDate) {
+		switch (grouping) {
+		case PRODUCT:
+			return rollupRepo.aggregateByProduct(startDate, endDate);
+		case DAY:
+			return rollupRepo.aggregateByDay(startDate, endDate);
+		case WEEK:
+			return rollupRepo.aggregateByWeek(startDate, endDate);
+		default:
+			throw new IllegalArgumentException("Unsupported grouping: " + grouping);
+		}
+	}
+
+	/**
+	 * Parses a request parameter into one of the export enums, ignoring case.
+	 * @throws DataNotFoundException if the value does not name a constant of the enum.
+	 */
+	private <E extends Enum<E>> E parse(Class<E> type, String value, String name) throws DataNotFoundException {
+		try {
+			return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException | NullPointerException e) {
+			throw new DataNotFoundException("Invalid " + name + " '" + value + "'.");
+		}
+	}
+}
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -19,20 +20,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.cts.archive.OrderArchive;
 import com.cts.client.ProductManagementClient;
 import com.cts.client.StockManagementClient;
 import com.cts.exception.DataNotFoundException;
 import com.cts.exception.DateNotFoundException;
 import com.cts.exception.OrderNotFoundException;
+import com.cts.idgenerator.BlockIdAllocator;
 import com.cts.model.Order;
 import com.cts.model.OrderReport;
 import com.cts.model.Product;
 import com.cts.model.ProductDTO;
 import com.cts.model.Stock;
+import com.cts.repository.DailyOrderRollupRepository;
 import com.cts.repository.OrderManagementRepository;
+import com.cts.service.OrderDateBounds;
 import com.cts.service.OrderManagementServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +53,18 @@ class OrderManagementServiceImplTest {
     @Mock
     private ProductManagementClient pClient;
 
+    @Mock
+    private BlockIdAllocator idAllocator;
+
+    @Mock
+    private DailyOrderRollupRepository rollupRepo;
+
+    @Mock
+    private OrderDateBounds dateBounds;
+
+    @Mock
+    private OrderArchive archive;
+
     @InjectMocks
     private OrderManagementServiceImpl service;
 
@@ -84,6 +102,7 @@ class OrderManagementServiceImplTest {
         verify(pClient, times(1)).checkProductId(product.getProductId());
         verify(sClient, times(1)).decreaseStockFromOrder(any(ProductDTO.class));
         verify(repo, times(1)).save(any(Order.class));
+        verify(rollupRepo, times(1)).addToRollup(product.getProductId(), LocalDate.now(), product.getQuantity(), 1);
     }
 
     // Tests that an exception is thrown for invalid product data.
@@ -153,6 +172,22 @@ class OrderManagementServiceImplTest {
         });
     }
 
+    // Tests that an order moved to the archive, here a cancelled one, is still found by its ID.
+    @Test
+    void testGetDetailsByOrderId_Archived_ReturnsArchivedOrder() throws OrderNotFoundException {
+        // Arrange
+        Order archived = new Order(7, 101, 1, 10, LocalDate.now().minusYears(2), "Cancelled");
+        when(repo.findByOrderId(7)).thenReturn(Optional.empty());
+        when(archive.findOrder(7)).thenReturn(Optional.of(archived));
+
+        // Act
+        ResponseEntity<Order> response = service.getDetailsByOrderId(7);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(archived, response.getBody());
+    }
+
     // Tests retrieving orders for a customer who has placed orders.
     @Test
     void testGetDetailsByCustomerId_Found_ReturnsOrderList() throws OrderNotFoundException {
@@ -184,13 +219,10 @@ class OrderManagementServiceImplTest {
     @Test
     void testGetDetailsByDate_RequestedDateOutsideAvailableRange_ThrowsException() {
         // Arrange
-        Order oldestOrder = new Order();
-        oldestOrder.setOrderDate(LocalDate.now().minusDays(10));
-        Order newestOrder = new Order();
-        newestOrder.setOrderDate(LocalDate.now().minusDays(5));
+        OrderDateBounds.DateRange bounds = new OrderDateBounds.DateRange(LocalDate.now().minusDays(10), LocalDate.now().minusDays(5));
         
-        when(repo.findFirstByOrderByOrderDateAsc()).thenReturn(Optional.of(oldestOrder));
-        when(repo.findFirstByOrderByOrderDateDesc()).thenReturn(Optional.of(newestOrder));
+        when(dateBounds.get()).thenReturn(bounds);
+        when(dateBounds.reload()).thenReturn(bounds);
         
         OrderReport reportRequest = new OrderReport(LocalDate.now().minusDays(20), LocalDate.now());
 
@@ -200,12 +232,55 @@ class OrderManagementServiceImplTest {
         });
     }
 
+    // Tests that a range inside the cached bounds is served without reloading the bounds from the database.
+    @Test
+    void testGetDetailsByDate_RequestedDateInsideCachedRange_DoesNotReload() throws DateNotFoundException {
+        // Arrange
+        LocalDate startDate = LocalDate.now().minusDays(8);
+        LocalDate endDate = LocalDate.now().minusDays(6);
+        when(dateBounds.get()).thenReturn(new OrderDateBounds.DateRange(LocalDate.now().minusDays(10), LocalDate.now()));
+        when(rollupRepo.findRollupReportByDateBetween(startDate, endDate)).thenReturn(Collections.emptyList());
+
+        // Act
+        service.getDetailsByDate(new OrderReport(startDate, endDate));
+
+        // Assert
+        verify(dateBounds, never()).reload();
+        verify(repo, never()).findFirstByOrderByOrderDateAsc();
+    }
+
+    // Tests that the date bounds are reloaded, so clients see orders saved by other instances, and are empty without orders.
+    @Test
+    void testGetDateBounds_ReloadsBounds() {
+        // Arrange
+        OrderDateBounds.DateRange bounds = new OrderDateBounds.DateRange(LocalDate.now().minusDays(10), LocalDate.now());
+        when(dateBounds.reload()).thenReturn(bounds, (OrderDateBounds.DateRange) null);
+
+        // Act & Assert
+        ResponseEntity<OrderDateBounds.DateRange> response = service.getDateBounds();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(bounds, response.getBody());
+        assertEquals(HttpStatus.NO_CONTENT, service.getDateBounds().getStatusCode());
+    }
+
+    // Tests that the change feed rejects an empty page and cuts a huge one to the maximum page size.
+    @Test
+    void testGetChangesSince_ValidatesLimit() throws DataNotFoundException {
+        // Arrange
+        LocalDateTime since = LocalDateTime.of(2025, 3, 1, 10, 0);
+        when(repo.findChangesSince(since, 0, PageRequest.of(0, 5000))).thenReturn(List.of(order));
+
+        // Act & Assert
+        assertThrows(DataNotFoundException.class, () -> service.getChangesSince(since, 0, 0));
+        assertEquals(List.of(order), service.getChangesSince(since, 0, Integer.MAX_VALUE).getBody());
+    }
+
     // Tests the successful update of an order's status.
     @Test
     void testUpdateStatus_Success() throws OrderNotFoundException {
         // Arrange
         Order existingOrder = new Order(1, 101, 1, 5, LocalDate.now(), "Pending");
-        when(repo.findByOrderId(1)).thenReturn(Optional.of(existingOrder));
+        when(repo.findByOrderIdForUpdate(1)).thenReturn(Optional.of(existingOrder));
 
         // Act
         String result = service.updateStatus(1, "Shipped");
@@ -214,13 +289,42 @@ class OrderManagementServiceImplTest {
         assertEquals("Successfully Updated status", result);
         assertEquals("Shipped", existingOrder.getStatus());
         verify(repo, times(1)).save(existingOrder);
+        verify(rollupRepo, never()).addToRollup(any(Integer.class), any(LocalDate.class), any(Integer.class), any(Integer.class));
+    }
+
+    // Tests that cancelling an order takes it back out of its daily rollup.
+    @Test
+    void testUpdateStatus_Cancelled_SubtractsFromRollup() throws OrderNotFoundException {
+        // Arrange
+        Order existingOrder = new Order(1, 101, 1, 5, LocalDate.now(), "Accepted");
+        when(repo.findByOrderIdForUpdate(1)).thenReturn(Optional.of(existingOrder));
+
+        // Act
+        service.updateStatus(1, "Cancelled");
+
+        // Assert
+        verify(rollupRepo, times(1)).addToRollup(1, existingOrder.getOrderDate(), -5, -1);
+    }
+
+    // Tests that cancelling an order that is already cancelled leaves its rollup alone.
+    @Test
+    void testUpdateStatus_AlreadyCancelled_DoesNotSubtractAgain() throws OrderNotFoundException {
+        // Arrange
+        Order existingOrder = new Order(1, 101, 1, 5, LocalDate.now(), "Cancelled");
+        when(repo.findByOrderIdForUpdate(1)).thenReturn(Optional.of(existingOrder));
+
+        // Act
+        service.updateStatus(1, "Cancelled");
+
+        // Assert
+        verify(rollupRepo, never()).addToRollup(any(Integer.class), any(LocalDate.class), any(Integer.class), any(Integer.class));
     }
 
     // Tests updating a status for an order that does not exist.
     @Test
     void testUpdateStatus_OrderNotFound_ThrowsException() {
         // Arrange
-        when(repo.findByOrderId(99)).thenReturn(Optional.empty());
+        when(repo.findByOrderIdForUpdate(99)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(OrderNotFoundException.class, () -> {
@@ -0,0 +1,128 @@
+package com.cts.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.cts.model.Order;
+import com.cts.model.OrderReportSent;
+
+class OrderArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private OrderArchive archive;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archive = new OrderArchive(directory.toString());
+        archive.init();
+    }
+
+    // Tests that published orders are returned by a date range query, and only those in the range.
+    @Test
+    void testQuery_ReturnsOnlyOrdersInRange() throws IOException {
+        // Arrange
+        LocalDate day = LocalDate.of(2024, 3, 10);
+        List<Order> orders = List.of(
+                new Order(3, 100, 7, 2, day.plusDays(5), "Accepted"),
+                new Order(1, 100, 5, 4, day, "Accepted"),
+                new Order(2, 100, 6, 1, day.plusDays(1), "Accepted"));
+        archive.publish(archive.writePending(orders));
+
+        // Act
+        List<OrderReportSent> result = archive.query(day.plusDays(1), day.plusDays(5));
+
+        // Assert
+        assertEquals(List.of(new OrderReportSent(6, day.plusDays(1), 1), new OrderReportSent(7, day.plusDays(5), 2)), result);
+        assertEquals(day, archive.getMinDate().get());
+        assertEquals(day.plusDays(5), archive.getMaxDate().get());
+    }
+
+    // Tests that cancelled orders are archived for lookups but left out of the date range queries.
+    @Test
+    void testCancelledOrders_FoundByIdButNotQueried() throws IOException {
+        // Arrange
+        LocalDate day = LocalDate.of(2024, 3, 10);
+        archive.publish(archive.writePending(List.of(
+                new Order(1, 100, 5, 4, day, "Accepted"),
+                new Order(2, 100, 6, 1, day.plusDays(1), "Cancelled"),
+                new Order(3, 200, 5, 2, day.plusDays(2), "Delivered"))));
+
+        // Act
+        List<OrderReportSent> rows = archive.query(day, day.plusDays(2));
+
+        // Assert
+        assertEquals(List.of(new OrderReportSent(5, day, 4), new OrderReportSent(5, day.plusDays(2), 2)), rows);
+        assertEquals(new Order(2, 100, 6, 1, day.plusDays(1), "Cancelled"), archive.findOrder(2).get());
+        assertEquals(List.of(1, 2), archive.findByCustomerId(100).stream().map(Order::getOrderId).toList());
+        assertTrue(archive.findOrder(4).isEmpty());
+    }
+
+    // Tests that a pending segment stays invisible until it is published.
+    @Test
+    void testPendingSegment_NotVisibleUntilPublished() throws IOException {
+        // Arrange
+        LocalDate day = LocalDate.of(2024, 3, 10);
+        Path pending = archive.writePending(List.of(new Order(1, 100, 5, 4, day, "Accepted")));
+
+        // Act & Assert
+        assertTrue(archive.query(day, day).isEmpty());
+        assertEquals(List.of(pending), archive.findPending());
+        assertEquals(1, archive.firstOrderId(pending).get());
+
+        archive.publish(pending);
+        assertEquals(1, archive.query(day, day).size());
+        assertTrue(archive.findPending().isEmpty());
+    }
+
+    // Tests that a segment cut short by a crash is renamed out of the way instead of failing every query.
+    @Test
+    void testRefresh_QuarantinesTruncatedSegment() throws IOException {
+        // Arrange
+        LocalDate day = LocalDate.of(2024, 3, 10);
+        Path pending = archive.writePending(List.of(
+                new Order(1, 100, 5, 4, day, "Accepted"),
+                new Order(2, 100, 6, 1, day, "Accepted")));
+        Path truncated = directory.resolve("segment-0-truncated" + OrderArchive.SEGMENT_SUFFIX);
+        Files.move(pending, truncated);
+        try (FileChannel channel = FileChannel.open(truncated, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 4);
+        }
+
+        // Act
+        archive.refresh();
+
+        // Assert
+        assertTrue(archive.query(day, day).isEmpty());
+        assertFalse(Files.exists(truncated));
+        assertTrue(Files.exists(directory.resolve(truncated.getFileName() + OrderArchive.CORRUPT_SUFFIX)));
+    }
+
+    // Tests that a truncated pending segment is reported as unreadable, so the archive job can discard it.
+    @Test
+    void testFirstOrderId_TruncatedPendingSegment_Throws() throws IOException {
+        // Arrange
+        Path pending = archive.writePending(List.of(new Order(1, 100, 5, 4, LocalDate.of(2024, 3, 10), "Accepted")));
+        try (FileChannel channel = FileChannel.open(pending, StandardOpenOption.WRITE)) {
+            channel.truncate(10);
+        }
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> archive.firstOrderId(pending));
+    }
+}
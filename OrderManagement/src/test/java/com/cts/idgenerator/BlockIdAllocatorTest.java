@@ -0,0 +1,175 @@
+package com.cts.idgenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class BlockIdAllocatorTest {
+
+    private final FakeIdBlocksTable table = new FakeIdBlocksTable();
+
+    // Tests that the first call reserves a block and the following calls are served from memory.
+    @Test
+    void testNext_ReservesOneBlockForManyIds() {
+        // Arrange
+        BlockIdAllocator allocator = new BlockIdAllocator(table, table.transactionManager, 5);
+
+        // Act
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(allocator.next(BlockIdAllocator.CUSTOMER_SEQUENCE));
+        }
+
+        // Assert
+        assertEquals(List.of(1, 2, 3, 4, 5), ids);
+        assertEquals(1, table.reservations.get());
+        assertEquals(6, table.rows.get(BlockIdAllocator.CUSTOMER_SEQUENCE));
+    }
+
+    // Tests that an exhausted block rolls over to the next free block, skipping blocks taken by other instances.
+    @Test
+    void testNext_RollsOverToNextFreeBlock() {
+        // Arrange
+        BlockIdAllocator first = new BlockIdAllocator(table, table.transactionManager, 5);
+        BlockIdAllocator second = new BlockIdAllocator(table, table.transactionManager, 5);
+
+        // Act
+        int firstId = first.next(BlockIdAllocator.CUSTOMER_SEQUENCE);
+        int otherInstanceId = second.next(BlockIdAllocator.CUSTOMER_SEQUENCE);
+        for (int i = 0; i < 4; i++) {
+            first.next(BlockIdAllocator.CUSTOMER_SEQUENCE);
+        }
+        int afterRollover = first.next(BlockIdAllocator.CUSTOMER_SEQUENCE);
+
+        // Assert
+        assertEquals(1, firstId);
+        assertEquals(6, otherInstanceId);
+        assertEquals(11, afterRollover);
+        assertEquals(3, table.reservations.get());
+    }
+
+    // Tests that sequences are independent of each other.
+    @Test
+    void testNext_SequencesAreIndependent() {
+        // Arrange
+        BlockIdAllocator allocator = new BlockIdAllocator(table, table.transactionManager, 5);
+
+        // Act & Assert
+        assertEquals(1, allocator.next("customers"));
+        assertEquals(1, allocator.next("suppliers"));
+        assertEquals(2, allocator.next("customers"));
+    }
+
+    // Tests that concurrent callers on several instances never receive the same ID.
+    @Test
+    void testNext_ConcurrentCallersGetUniqueIds() throws Exception {
+        // Arrange
+        List<BlockIdAllocator> instances = List.of(
+                new BlockIdAllocator(table, table.transactionManager, 7),
+                new BlockIdAllocator(table, table.transactionManager, 7));
+        int threads = 8;
+        int callsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            BlockIdAllocator allocator = instances.get(t % instances.size());
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < callsPerThread; i++) {
+                    if (!ids.add(allocator.next(BlockIdAllocator.CUSTOMER_SEQUENCE))) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(0, duplicates.get());
+        assertEquals(threads * callsPerThread, ids.size());
+    }
+
+    /**
+     * The id_blocks table in memory. A transaction holds a table-wide lock until it commits,
+     * like the row lock the UPDATE takes in MySQL.
+     */
+    private static final class FakeIdBlocksTable extends JdbcTemplate {
+
+        private final Map<String, Long> rows = new HashMap<>();
+        private final AtomicInteger reservations = new AtomicInteger();
+        private final ReentrantLock rowLock = new ReentrantLock();
+
+        private final PlatformTransactionManager transactionManager = new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                rowLock.lock();
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+                rowLock.unlock();
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+                rowLock.unlock();
+            }
+        };
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (sql.startsWith("UPDATE")) {
+                String sequence = (String) args[1];
+                if (!rows.containsKey(sequence)) {
+                    return 0;
+                }
+                reservations.incrementAndGet();
+                rows.merge(sequence, ((Integer) args[0]).longValue(), Long::sum);
+                return 1;
+            }
+            String sequence = (String) args[0];
+            if (rows.containsKey(sequence)) {
+                throw new DuplicateKeyException(sequence);
+            }
+            reservations.incrementAndGet();
+            rows.put(sequence, ((Integer) args[1]).longValue());
+            return 1;
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            return requiredType.cast(rows.get((String) args[0]));
+        }
+    }
+}
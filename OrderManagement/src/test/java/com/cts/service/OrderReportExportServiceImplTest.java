@@ -0,0 +1,125 @@
+package com.cts.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.cts.archive.OrderArchive;
+import com.cts.exception.DataNotFoundException;
+import com.cts.model.Order;
+import com.cts.model.OrderReport;
+import com.cts.model.OrderReportAggregate;
+import com.cts.model.OrderReportSent;
+import com.cts.repository.DailyOrderRollupRepository;
+import com.cts.repository.OrderManagementRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class OrderReportExportServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    private final LocalDate start = LocalDate.of(2024, 1, 1);
+    private final LocalDate end = LocalDate.of(2024, 12, 31);
+
+    private OrderManagementRepository repo;
+    private DailyOrderRollupRepository rollupRepo;
+    private OrderReportExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repo = mock(OrderManagementRepository.class);
+        rollupRepo = mock(DailyOrderRollupRepository.class);
+        OrderArchive archive = new OrderArchive(directory.toString());
+        archive.init();
+        // Archived: product 5 twice, plus a cancelled order of product 5 that counts nowhere.
+        archive.publish(archive.writePending(List.of(
+                new Order(1, 100, 5, 4, start.plusDays(1), "Delivered"),
+                new Order(2, 100, 5, 3, start.plusDays(2), "Cancelled"),
+                new Order(3, 101, 5, 1, start.plusDays(3), "Accepted"))));
+        service = new OrderReportExportServiceImpl(repo, rollupRepo, archive, mock(PlatformTransactionManager.class),
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    // Tests that a raw export contains the archived orders before the live ones, without cancelled orders.
+    @Test
+    void testExport_RawIncludesArchivedOrders() throws Exception {
+        // Arrange
+        when(repo.streamOrderReportByDateBetween(start, end)).thenReturn(Stream.of(
+                new OrderReportSent(5, start.plusDays(200), 2),
+                new OrderReportSent(6, start.plusDays(201), 7)));
+
+        // Act
+        String csv = export("csv", "none");
+
+        // Assert
+        assertEquals("productId,date,quantity\n"
+                + "5,2024-01-02,4\n"
+                + "5,2024-01-04,1\n"
+                + "5,2024-07-19,2\n"
+                + "6,2024-07-20,7\n", csv);
+    }
+
+    // Tests that the raw rows of a range add up to the totals of the grouped export of the same range.
+    @Test
+    void testExport_RawRowsAddUpToGroupedTotals() throws Exception {
+        // Arrange
+        when(repo.streamOrderReportByDateBetween(start, end)).thenReturn(Stream.of(
+                new OrderReportSent(5, start.plusDays(200), 2),
+                new OrderReportSent(6, start.plusDays(201), 7)));
+        // The rollups hold the same non-cancelled orders, archived ones included.
+        when(rollupRepo.aggregateByProduct(start, end)).thenReturn(List.of(
+                new OrderReportAggregate(5, start.plusDays(1), start.plusDays(200), 7, 3),
+                new OrderReportAggregate(6, start.plusDays(201), start.plusDays(201), 7, 1)));
+
+        // Act
+        Map<Integer, Long> raw = sumByProduct(export("csv", "none"), 2);
+        Map<Integer, Long> grouped = sumByProduct(export("csv", "product"), 3);
+
+        // Assert
+        assertEquals(Map.of(5, 7L, 6, 7L), raw);
+        assertEquals(grouped, raw);
+    }
+
+    // Tests that an unknown grouping is rejected before anything is streamed.
+    @Test
+    void testExport_InvalidGrouping_ThrowsException() {
+        assertThrows(DataNotFoundException.class,
+                () -> service.exportByDate(new OrderReport(start, end), "csv", "month"));
+    }
+
+    private String export(String format, String groupBy) throws Exception {
+        ResponseEntity<StreamingResponseBody> response = service.exportByDate(new OrderReport(start, end), format, groupBy);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    // Sums the quantity column of a CSV export per product ID, skipping the header line.
+    private static Map<Integer, Long> sumByProduct(String csv, int quantityColumn) {
+        Map<Integer, Long> totals = new TreeMap<>();
+        csv.lines().skip(1).forEach(line -> {
+            String[] columns = line.split(",");
+            totals.merge(Integer.parseInt(columns[0]), Long.parseLong(columns[quantityColumn]), Long::sum);
+        });
+        return totals;
+    }
+}
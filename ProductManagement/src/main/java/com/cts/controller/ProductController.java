@@ -5,6 +5,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -74,9 +75,9 @@ public class ProductController {
 	 * information.
 	 *
 	 * @return A list of {@link OverAllStock} objects containing product and stock
-	 * details.
+	 * details, as JSON or, when requested with Accept: application/cbor, as CBOR.
 	 */
-	@PostMapping("/getAll")
+	@PostMapping(value = "/getAll", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
 	public List<OverAllStock> getAllProductsStocks() {
 		logger.info("Received request to retrieve all products with stock information.");
 		List<OverAllStock> stocks = service.getAllStocks();
@@ -0,0 +1,40 @@
+package com.cts.analytics;
+
+/**
+ * Exponentially smoothed daily demand of one product and the smoothed variance of its forecast error.
+ * Updated once per day, so the estimate is maintained incrementally as new days of orders arrive.
+ */
+public final class DemandEstimate {
+
+	private double level;
+	private double variance;
+	private boolean initialized;
+
+	/**
+	 * Adds the quantity sold on the next day.
+	 * @param quantity The quantity sold that day; 0 for days without orders.
+	 * @param alpha The smoothing factor in (0, 1]; higher values follow recent days more closely.
+	 */
+	public void update(double quantity, double alpha) {
+		if (!initialized) {
+			level = quantity;
+			initialized = true;
+			return;
+		}
+		double error = quantity - level;
+		level += alpha * error;
+		variance = (1 - alpha) * (variance + alpha * error * error);
+	}
+
+	public boolean isInitialized() {
+		return initialized;
+	}
+
+	public double getLevel() {
+		return level;
+	}
+
+	public double getStdDev() {
+		return Math.sqrt(variance);
+	}
+}
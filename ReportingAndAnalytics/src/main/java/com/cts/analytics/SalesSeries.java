@@ -0,0 +1,200 @@
+package com.cts.analytics;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import com.cts.model.OrderReportSent;
+
+/**
+ * Daily sold quantities per product over a date range, built in a single pass over the order rows.
+ * <p>
+ * Products are mapped to dense indexes with an open-addressing table of primitive ints, and each
+ * product owns a {@code long[]} with one slot per day, so no value is boxed per row. The arrays only
+ * span the days from the first to the last row, so padding around the data, e.g. before the first
+ * order, costs no memory and reads as zero. Rows outside the range are ignored.
+ */
+public final class SalesSeries {
+
+	private final LocalDate startDate;
+	private final int days;
+	// Day of the series stored in slot 0 of the daily arrays, and the number of stored days.
+	private int firstStored;
+	private int stored;
+
+	// productIds[i], totals[i], daysWithSales[i] and daily[i] describe the product with index i.
+	private int[] productIds = new int[16];
+	private long[] totals = new long[16];
+	private long[] daysWithSales = new long[16];
+	private long[][] daily = new long[16][];
+	private int size;
+
+	// Open-addressing table from product ID to index + 1; 0 marks a free slot.
+	private int[] keys = new int[32];
+	private int[] slots = new int[32];
+
+	private SalesSeries(LocalDate startDate, LocalDate endDate) {
+		this.startDate = startDate;
+		this.days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+	}
+
+	/**
+	 * Aggregates order rows into daily quantities per product.
+	 * @param rows The order rows, in any order.
+	 * @param startDate The first day of the series (inclusive).
+	 * @param endDate The last day of the series (inclusive).
+	 */
+	public static SalesSeries of(List<OrderReportSent> rows, LocalDate startDate, LocalDate endDate) {
+		SalesSeries series = new SalesSeries(startDate, endDate);
+		long startDay = startDate.toEpochDay();
+		long first = Long.MAX_VALUE;
+		long last = -1;
+		for (OrderReportSent row : rows) {
+			long day = row.getDate().toEpochDay() - startDay;
+			if (day >= 0 && day < series.days) {
+				first = Math.min(first, day);
+				last = Math.max(last, day);
+			}
+		}
+		if (last < 0) {
+			return series;
+		}
+		series.firstStored = (int) first;
+		series.stored = (int) (last - first + 1);
+		for (OrderReportSent row : rows) {
+			long day = row.getDate().toEpochDay() - startDay;
+			if (day < 0 || day >= series.days) {
+				continue;
+			}
+			int index = series.indexOf(row.getProductId());
+			long[] daily = series.daily[index];
+			int slot = (int) day - series.firstStored;
+			if (daily[slot] == 0 && row.getQuantity() != 0) {
+				series.daysWithSales[index]++;
+			}
+			daily[slot] += row.getQuantity();
+			series.totals[index] += row.getQuantity();
+		}
+		return series;
+	}
+
+	public LocalDate getStartDate() {
+		return startDate;
+	}
+
+	public int days() {
+		return days;
+	}
+
+	public int productCount() {
+		return size;
+	}
+
+	public int productId(int index) {
+		return productIds[index];
+	}
+
+	public long total(int index) {
+		return totals[index];
+	}
+
+	/**
+	 * Returns the number of days on which the product sold. Rows are daily totals per product, so
+	 * the number of orders is not known here.
+	 */
+	public long daysWithSales(int index) {
+		return daysWithSales[index];
+	}
+
+	/**
+	 * Returns the index of a product, or -1 if it has no orders in the range.
+	 */
+	public int find(int productId) {
+		int mask = keys.length - 1;
+		for (int slot = mix(productId) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+			if (keys[slot] == productId) {
+				return slots[slot] - 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the quantity of a product sold on a day of the series.
+	 * @param index The product index.
+	 * @param day The day, counted from the start of the series.
+	 */
+	public long quantity(int index, int day) {
+		int slot = day - firstStored;
+		return slot < 0 || slot >= stored ? 0 : daily[index][slot];
+	}
+
+	/**
+	 * Returns the trailing moving average of the daily quantity of a product. The value of day d is
+	 * the mean of days d - window + 1 .. d; days before the start of the series count as zero.
+	 * @param index The product index.
+	 * @param window The number of days averaged, e.g. 7 or 30.
+	 */
+	public double[] movingAverage(int index, int window) {
+		double[] averages = new double[days];
+		long sum = 0;
+		for (int d = 0; d < days; d++) {
+			sum += quantity(index, d);
+			if (d >= window) {
+				sum -= quantity(index, d - window);
+			}
+			averages[d] = (double) sum / window;
+		}
+		return averages;
+	}
+
+	private int indexOf(int productId) {
+		int mask = keys.length - 1;
+		int slot = mix(productId) & mask;
+		while (slots[slot] != 0) {
+			if (keys[slot] == productId) {
+				return slots[slot] - 1;
+			}
+			slot = (slot + 1) & mask;
+		}
+		int index = size++;
+		if (index == productIds.length) {
+			int capacity = index * 2;
+			productIds = Arrays.copyOf(productIds, capacity);
+			totals = Arrays.copyOf(totals, capacity);
+			daysWithSales = Arrays.copyOf(daysWithSales, capacity);
+			daily = Arrays.copyOf(daily, capacity);
+		}
+		productIds[index] = productId;
+		daily[index] = new long[stored];
+		keys[slot] = productId;
+		slots[slot] = index + 1;
+		if (size * 2 > keys.length) {
+			rehash();
+		}
+		return index;
+	}
+
+	private void rehash() {
+		int[] newKeys = new int[keys.length * 2];
+		int[] newSlots = new int[keys.length * 2];
+		int mask = newKeys.length - 1;
+		for (int i = 0; i < size; i++) {
+			int slot = mix(productIds[i]) & mask;
+			while (newSlots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			newKeys[slot] = productIds[i];
+			newSlots[slot] = i + 1;
+		}
+		keys = newKeys;
+		slots = newSlots;
+	}
+
+	// Spreads sequential product IDs over the table.
+	private static int mix(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,127 @@
+package com.cts.analytics;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import com.cts.model.SupplierDeliveryPeriod;
+import com.cts.model.SupplierPerformance;
+import com.cts.model.SupplierPerformanceReport;
+import com.cts.model.SupplierReportSent;
+
+/**
+ * Streaming aggregation of supplier deliveries.
+ * <p>
+ * Rows are folded into per-supplier running totals as they arrive, so memory grows with the
+ * number of suppliers, products and weeks rather than with the number of deliveries. Supplier
+ * rows name their product instead of carrying its ID, so products are matched with the stock
+ * items by name, ignoring case and surrounding blanks.
+ */
+public final class SupplierStats implements Consumer<SupplierReportSent> {
+
+	private final Map<String, Totals> suppliers = new HashMap<>();
+
+	@Override
+	public void accept(SupplierReportSent row) {
+		String name = row.getName() == null ? "" : row.getName();
+		Totals totals = suppliers.computeIfAbsent(name, Totals::new);
+		totals.deliveries++;
+		totals.quantity += row.getQuantity();
+		if (row.getProductsSupplied() != null) {
+			totals.products.add(normalize(row.getProductsSupplied()));
+		}
+		LocalDateTime date = row.getDate();
+		if (date != null) {
+			if (totals.first == null || date.isBefore(totals.first)) {
+				totals.first = date;
+			}
+			if (totals.last == null || date.isAfter(totals.last)) {
+				totals.last = date;
+			}
+			long[] week = totals.weekly.computeIfAbsent(
+					date.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), d -> new long[2]);
+			week[0]++;
+			week[1] += row.getQuantity();
+		}
+	}
+
+	/**
+	 * Builds the report from the rows seen so far.
+	 * @param lowStockNames Names of the stock items now at or below their reorder level.
+	 */
+	public SupplierPerformanceReport report(LocalDate startDate, LocalDate endDate, Collection<String> lowStockNames) {
+		Set<String> lowStock = new HashSet<>();
+		for (String name : lowStockNames) {
+			if (name != null) {
+				lowStock.add(normalize(name));
+			}
+		}
+		Set<String> allProducts = new HashSet<>();
+		Set<String> allLowStock = new HashSet<>();
+		long deliveries = 0;
+		long quantity = 0;
+		List<SupplierPerformance> performances = new ArrayList<>(suppliers.size());
+		for (Totals totals : suppliers.values()) {
+			int low = 0;
+			for (String product : totals.products) {
+				if (lowStock.contains(product)) {
+					low++;
+					allLowStock.add(product);
+				}
+			}
+			allProducts.addAll(totals.products);
+			deliveries += totals.deliveries;
+			quantity += totals.quantity;
+			performances.add(totals.toPerformance(low));
+		}
+		performances.sort(Comparator.comparingLong(SupplierPerformance::getQuantitySupplied).reversed());
+		return new SupplierPerformanceReport(startDate, endDate, deliveries, quantity,
+				rate(allLowStock.size(), allProducts.size()), performances);
+	}
+
+	private static String normalize(String product) {
+		return product.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static double rate(int part, int whole) {
+		return whole == 0 ? 0 : (double) part / whole;
+	}
+
+	private static final class Totals {
+		private final String name;
+		private long deliveries;
+		private long quantity;
+		private LocalDateTime first;
+		private LocalDateTime last;
+		private final Set<String> products = new HashSet<>();
+		// Week start -> {deliveries, quantity}, in date order.
+		private final TreeMap<LocalDate, long[]> weekly = new TreeMap<>();
+
+		private Totals(String name) {
+			this.name = name;
+		}
+
+		private SupplierPerformance toPerformance(int lowStockProducts) {
+			List<SupplierDeliveryPeriod> periods = new ArrayList<>(weekly.size());
+			weekly.forEach((week, sums) -> periods.add(new SupplierDeliveryPeriod(week, sums[0], sums[1])));
+			Double gap = deliveries > 1 && first != null
+					? Duration.between(first, last).toMinutes() / (24.0 * 60) / (deliveries - 1)
+					: null;
+			return new SupplierPerformance(name, deliveries, quantity, (double) quantity / deliveries, first, last,
+					gap, products.size(), lowStockProducts, rate(lowStockProducts, products.size()), periods);
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package com.cts.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cts.model.CacheStats;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory cache for report responses, keyed by endpoint and parameters.
+ * <ul>
+ * <li>Entries younger than the TTL are returned directly.</li>
+ * <li>Entries older than the TTL but within the stale window are returned at once while a single
+ * background refresh reloads them (stale-while-revalidate).</li>
+ * <li>On a miss, concurrent requests for the same key share one downstream call.</li>
+ * <li>The number of entries is bounded; the least recently used entry is evicted first.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ReportCache {
+
+	private final long ttlMillis;
+	private final long staleMillis;
+	private final ExecutorService refreshExecutor;
+	private final LongSupplier clock;
+
+	private final Map<String, Entry> entries;
+	// Loads currently running, so concurrent misses and refreshes of one key share a single call.
+	private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong staleHits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+	private final AtomicLong refreshes = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	@Autowired
+	public ReportCache(@Value("${report.cache.ttl-millis:5000}") long ttlMillis,
+			@Value("${report.cache.stale-millis:60000}") long staleMillis,
+			@Value("${report.cache.max-entries:500}") int maxEntries,
+			@Qualifier("reportFanOutExecutor") ExecutorService reportFanOutExecutor) {
+		this(ttlMillis, staleMillis, maxEntries, reportFanOutExecutor, System::currentTimeMillis);
+	}
+
+	/**
+	 * @param clock Source of the current time in milliseconds, replaced in tests.
+	 */
+	ReportCache(long ttlMillis, long staleMillis, int maxEntries, ExecutorService reportFanOutExecutor,
+			LongSupplier clock) {
+		this.ttlMillis = ttlMillis;
+		this.staleMillis = staleMillis;
+		this.refreshExecutor = reportFanOutExecutor;
+		this.clock = clock;
+		this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				if (size() > maxEntries) {
+					evictions.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+		});
+	}
+
+	/**
+	 * Returns the cached value for a key, loading it with the given loader when needed.
+	 * @param key The endpoint and its parameters, e.g. "orders:2025-01-01:2025-01-31".
+	 * @param loader The downstream call that produces the value.
+	 * @return The fresh or stale cached value, or the newly loaded one.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String key, Supplier<T> loader) {
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			long age = clock.getAsLong() - entry.loadedAt;
+			if (age < ttlMillis) {
+				hits.incrementAndGet();
+				return (T) entry.value;
+			}
+			if (age < ttlMillis + staleMillis) {
+				staleHits.incrementAndGet();
+				refreshInBackground(key, loader);
+				return (T) entry.value;
+			}
+		}
+		misses.incrementAndGet();
+		return (T) load(key, loader);
+	}
+
+	/**
+	 * Returns the hit, miss and eviction counters.
+	 */
+	public CacheStats getStats() {
+		long fresh = hits.get();
+		long stale = staleHits.get();
+		long lookups = fresh + stale + misses.get();
+		return new CacheStats(fresh, stale, misses.get(), coalesced.get(), refreshes.get(), evictions.get(),
+				entries.size(), lookups == 0 ? 0 : (double) (fresh + stale) / lookups);
+	}
+
+	/**
+	 * Loads a value on the caller's thread, or waits for the load that is already running for the key.
+	 */
+	private Object load(String key, Supplier<?> loader) {
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		CompletableFuture<Object> running = inFlight.putIfAbsent(key, future);
+		if (running != null) {
+			coalesced.incrementAndGet();
+			return await(running);
+		}
+		runLoad(key, loader, future);
+		return await(future);
+	}
+
+	/**
+	 * Starts one background reload of a stale key, unless a load for it is already running.
+	 */
+	private void refreshInBackground(String key, Supplier<?> loader) {
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		if (inFlight.putIfAbsent(key, future) == null) {
+			refreshes.incrementAndGet();
+			refreshExecutor.execute(() -> runLoad(key, loader, future));
+		}
+	}
+
+	private void runLoad(String key, Supplier<?> loader, CompletableFuture<Object> future) {
+		try {
+			Object value = loader.get();
+			entries.put(key, new Entry(value, clock.getAsLong()));
+			future.complete(value);
+		} catch (RuntimeException e) {
+			log.warn("Loading report cache entry {} failed: {}", key, e.getMessage());
+			future.completeExceptionally(e);
+		} finally {
+			inFlight.remove(key, future);
+		}
+	}
+
+	private static Object await(CompletableFuture<Object> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private static final class Entry {
+		private final Object value;
+		private final long loadedAt;
+
+		private Entry(Object value, long loadedAt) {
+			this.value = value;
+			this.loadedAt = loadedAt;
+		}
+	}
+}
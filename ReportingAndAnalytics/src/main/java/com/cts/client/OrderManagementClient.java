@@ -3,16 +3,34 @@ package com.cts.client;
 import java.util.List;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.cts.model.OrderDateRange;
+import com.cts.model.OrderFact;
 import com.cts.model.OrderReport;
 import com.cts.model.OrderReportSent;
 
 @FeignClient(value="ORDERMANAGEMENT", path="/api/order/")
 public interface OrderManagementClient {
 
-	@PostMapping("/getByDate")
+	// CBOR response, negotiated instead of JSON to cut payload size and parsing time.
+	@PostMapping(value = "/getByDate", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_CBOR_VALUE)
 	ResponseEntity<List<OrderReportSent>> getDetailsByDate(@RequestBody OrderReport orderReport);
+
+	// 204 No Content, i.e. a null body, while there are no orders.
+	@GetMapping("/dateBounds")
+	ResponseEntity<OrderDateRange> getDateBounds();
+
+	@PostMapping("/archive/getByDate")
+	ResponseEntity<List<OrderReportSent>> getArchivedDetailsByDate(@RequestBody OrderReport orderReport);
+
+	// since is an ISO-8601 local date-time, e.g. 2025-01-31T10:15:30.123456
+	@GetMapping("/changes")
+	List<OrderFact> getChangesSince(@RequestParam("since") String since, @RequestParam("afterId") int afterId,
+			@RequestParam("limit") int limit);
 }
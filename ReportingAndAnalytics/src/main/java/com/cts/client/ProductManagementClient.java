@@ -3,13 +3,19 @@ package com.cts.client;
 import java.util.List;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 
 import com.cts.model.OverAllStock;
+import com.cts.model.ProductPrice;
 
 @FeignClient(value="PRODUCTMANAGEMENT",path="/api/product")
 public interface ProductManagementClient {
-	@PostMapping("/getAll")
+	@PostMapping(value = "/getAll", produces = MediaType.APPLICATION_CBOR_VALUE)
 	List<OverAllStock> getAllProductsStocks();
 
+	@GetMapping("/viewAll")
+	List<ProductPrice> getAllProducts();
+
 }
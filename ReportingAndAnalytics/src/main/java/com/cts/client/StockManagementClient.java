@@ -3,15 +3,31 @@ package com.cts.client;
 import java.util.List;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.cts.model.ReorderLevelDTO;
 import com.cts.model.StockDTO;
+import com.cts.model.StockFact;
 
 @FeignClient(value="STOCKMANAGEMENT",path="/api/stock")
 public interface StockManagementClient {
 	
-	@GetMapping("/send-stock-report")
+	@GetMapping(value = "/send-stock-report", produces = MediaType.APPLICATION_CBOR_VALUE)
 	ResponseEntity<List<StockDTO>> getLowStockReport();
 
+	@GetMapping(value = "/stock-levels", produces = MediaType.APPLICATION_CBOR_VALUE)
+	ResponseEntity<List<StockDTO>> getAllStockLevels();
+
+	@PutMapping("/reorder-levels")
+	ResponseEntity<Integer> updateReorderLevels(@RequestBody List<ReorderLevelDTO> levels);
+
+	@GetMapping("/changes")
+	List<StockFact> getChangesSince(@RequestParam("since") String since, @RequestParam("afterId") int afterId,
+			@RequestParam("limit") int limit);
+
 }
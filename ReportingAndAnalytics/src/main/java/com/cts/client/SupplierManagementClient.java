@@ -4,9 +4,12 @@ import java.util.List;
 
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.cts.model.SupplierFact;
 import com.cts.model.SupplierReport;
 import com.cts.model.SupplierReportSent;
 
@@ -15,4 +18,8 @@ public interface SupplierManagementClient {
 
 	@PostMapping("/supplierInfoByDateForReport")
 	ResponseEntity<List<SupplierReportSent>> getSupplierInfoForReport(@RequestBody SupplierReport report);
+
+	@GetMapping("/changes")
+	List<SupplierFact> getChangesSince(@RequestParam("since") String since, @RequestParam("afterId") int afterId,
+			@RequestParam("limit") int limit);
 }
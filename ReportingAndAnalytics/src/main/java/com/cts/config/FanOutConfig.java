@@ -0,0 +1,43 @@
+package com.cts.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Thread pools used to call the downstream services concurrently for composite reports,
+ * and to make the individual deadline-bounded and hedged calls.
+ */
+@Configuration
+public class FanOutConfig {
+
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService reportFanOutExecutor(@Value("${report.fanout.threads:16}") int threads) {
+		return Executors.newFixedThreadPool(threads, daemonThreads("report-fanout-"));
+	}
+
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService reportCallExecutor(@Value("${resilience.call-threads:32}") int threads) {
+		return Executors.newFixedThreadPool(threads, daemonThreads("report-call-"));
+	}
+
+	@Bean(destroyMethod = "shutdown")
+	public ScheduledExecutorService hedgeScheduler() {
+		return Executors.newSingleThreadScheduledExecutor(daemonThreads("report-hedge-"));
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
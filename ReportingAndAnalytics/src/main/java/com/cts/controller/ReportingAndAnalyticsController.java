@@ -4,19 +4,36 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.cts.model.CacheStats;
+import com.cts.model.DailySales;
+import com.cts.model.DashboardReport;
+import com.cts.model.InventoryReport;
 import com.cts.model.OrderReport;
 import com.cts.model.OrderReportSent;
 import com.cts.model.OverAllStock;
+import com.cts.model.ProductSales;
+import com.cts.model.ReorderRecommendation;
+import com.cts.model.SnapshotInfo;
 import com.cts.model.StockDTO;
+import com.cts.model.SupplierPerformanceReport;
 import com.cts.model.SupplierReport;
 import com.cts.model.SupplierReportSent;
+import com.cts.service.DashboardService;
+import com.cts.service.ForecastService;
+import com.cts.service.InventoryAnalyticsService;
+import com.cts.service.ReportSnapshotService;
 import com.cts.service.ReportingAndAnalyticsService;
+import com.cts.service.SalesAnalyticsService;
+import com.cts.service.SupplierAnalyticsService;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,9 +43,23 @@ import lombok.extern.slf4j.Slf4j;
 public class ReportingAndAnalyticsController {
 
 	private ReportingAndAnalyticsService service;
+	private DashboardService dashboardService;
+	private SalesAnalyticsService salesService;
+	private ForecastService forecastService;
+	private ReportSnapshotService snapshotService;
+	private InventoryAnalyticsService inventoryService;
+	private SupplierAnalyticsService supplierService;
 	
-	public ReportingAndAnalyticsController(ReportingAndAnalyticsService service) {
+	public ReportingAndAnalyticsController(ReportingAndAnalyticsService service, DashboardService dashboardService,
+			SalesAnalyticsService salesService, ForecastService forecastService, ReportSnapshotService snapshotService,
+			InventoryAnalyticsService inventoryService, SupplierAnalyticsService supplierService) {
 		this.service=service;
+		this.dashboardService=dashboardService;
+		this.salesService=salesService;
+		this.forecastService=forecastService;
+		this.snapshotService=snapshotService;
+		this.inventoryService=inventoryService;
+		this.supplierService=supplierService;
 	}
 	@GetMapping("/getByDate/order/{startDate}/{endDate}")
 	public ResponseEntity<List<OrderReportSent>> getOrderDetailsByDate(@PathVariable LocalDate startDate,@PathVariable LocalDate endDate){
@@ -39,6 +70,12 @@ public class ReportingAndAnalyticsController {
 		return service.getDetailsByDate(orderReport);
 	}
 	
+	@GetMapping("/getByDate/archive/{startDate}/{endDate}")
+	public ResponseEntity<List<OrderReportSent>> getArchivedOrderDetailsByDate(@PathVariable LocalDate startDate,@PathVariable LocalDate endDate){
+		log.info("Fetching archived order report from {} to {}", startDate, endDate);
+		return service.getArchivedDetailsByDate(new OrderReport(startDate, endDate));
+	}
+	
 	@GetMapping("/getByDate/supplier/{startDate}/{endDate}")
 	public ResponseEntity<List<SupplierReportSent>> getSupplierDetailsByDate(@PathVariable LocalDateTime startDate,@PathVariable LocalDateTime endDate){
 			log.info("Start Date: "+startDate+" End Date :"+endDate);
@@ -59,4 +96,76 @@ public class ReportingAndAnalyticsController {
 		log.info("Fetching complete stock inventory");
 		return service.getAllStocks();
 	}
+	
+	@GetMapping("/cache/stats")
+	public CacheStats getCacheStats(){
+		return service.getCacheStats();
+	}
+	
+	@GetMapping("/dashboard/{startDate}/{endDate}")
+	public DashboardReport getDashboard(@PathVariable LocalDate startDate,@PathVariable LocalDate endDate){
+		log.info("Fetching dashboard from {} to {}", startDate, endDate);
+		return dashboardService.getDashboard(startDate, endDate);
+	}
+	
+	@GetMapping("/sales/top/{startDate}/{endDate}")
+	public List<ProductSales> getTopSellers(@PathVariable LocalDate startDate,@PathVariable LocalDate endDate,
+			@RequestParam(defaultValue = "10") int limit){
+		log.info("Fetching top {} sellers from {} to {}", limit, startDate, endDate);
+		return salesService.getTopSellers(startDate, endDate, limit);
+	}
+	
+	@GetMapping("/sales/velocity/{startDate}/{endDate}")
+	public List<ProductSales> getSalesVelocity(@PathVariable LocalDate startDate,@PathVariable LocalDate endDate){
+		log.info("Fetching sales velocity from {} to {}", startDate, endDate);
+		return salesService.getVelocities(startDate, endDate);
+	}
+	
+	@GetMapping("/sales/daily/{productId}/{startDate}/{endDate}")
+	public List<DailySales> getDailySales(@PathVariable int productId,@PathVariable LocalDate startDate,
+			@PathVariable LocalDate endDate){
+		log.info("Fetching daily sales of product {} from {} to {}", productId, startDate, endDate);
+		return salesService.getDailySales(productId, startDate, endDate);
+	}
+
+	@GetMapping("/inventory/valuation/{startDate}/{endDate}")
+	public InventoryReport getInventoryValuation(@PathVariable LocalDate startDate,@PathVariable LocalDate endDate){
+		log.info("Fetching inventory valuation from {} to {}", startDate, endDate);
+		return inventoryService.getInventoryValuation(startDate, endDate);
+	}
+
+	@GetMapping("/suppliers/performance/{startDate}/{endDate}")
+	public SupplierPerformanceReport getSupplierPerformance(@PathVariable LocalDate startDate,@PathVariable LocalDate endDate){
+		log.info("Fetching supplier performance from {} to {}", startDate, endDate);
+		return supplierService.getSupplierPerformance(startDate, endDate);
+	}
+	
+	@GetMapping("/forecast/reorder")
+	public List<ReorderRecommendation> getReorderRecommendations(){
+		log.info("Fetching reorder recommendations");
+		return forecastService.getRecommendations();
+	}
+	
+	@PostMapping("/forecast/reorder/push")
+	public int pushReorderLevels(){
+		log.info("Pushing recommended reorder levels to StockManagement");
+		return forecastService.pushReorderLevels();
+	}
+	
+	@GetMapping("/snapshots")
+	public List<SnapshotInfo> getSnapshots(){
+		return snapshotService.getSnapshots();
+	}
+	
+	@GetMapping("/snapshots/{name}")
+	public ResponseEntity<Resource> getSnapshot(@PathVariable String name){
+		log.info("Serving snapshot of report {}", name);
+		return snapshotService.getSnapshot(name);
+	}
+	
+	@PostMapping("/snapshots/materialize")
+	public List<SnapshotInfo> materializeSnapshots(){
+		log.info("Materializing report snapshots");
+		return snapshotService.materializeAll();
+	}
 }
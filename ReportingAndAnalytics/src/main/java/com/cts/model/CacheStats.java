@@ -0,0 +1,23 @@
+package com.cts.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters of the report cache since startup.
+ * hitRate counts fresh and stale hits against all lookups.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStats {
+	private long hits;
+	private long staleHits;
+	private long misses;
+	private long coalesced;
+	private long refreshes;
+	private long evictions;
+	private int size;
+	private double hitRate;
+}
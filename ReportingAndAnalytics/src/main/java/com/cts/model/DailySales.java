@@ -0,0 +1,20 @@
+package com.cts.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Quantity of a product sold on one day, with its trailing 7 and 30 day moving averages.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailySales {
+	private LocalDate date;
+	private long quantity;
+	private double movingAverage7;
+	private double movingAverage30;
+}
@@ -0,0 +1,23 @@
+package com.cts.model;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Composite dashboard built from all downstream services in one request.
+ * A section is null when its source failed or timed out; the reason is in sources.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardReport {
+	private List<OrderReportSent> orders;
+	private List<SupplierReportSent> suppliers;
+	private List<StockDTO> lowStocks;
+	private List<OverAllStock> allStocks;
+	private Map<String, SourceStatus> sources;
+}
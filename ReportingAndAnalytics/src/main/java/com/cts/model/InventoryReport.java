@@ -0,0 +1,25 @@
+package com.cts.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Inventory valuation and turnover of all products over a date range, with the overall figures
+ * computed from the totals by value. Products are sorted by stock value, highest first.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryReport {
+	private LocalDate startDate;
+	private LocalDate endDate;
+	private long totalStockValue;
+	private long totalSalesValue;
+	private Double daysOfCover;
+	private Double turnover;
+	private List<InventoryValuation> products;
+}
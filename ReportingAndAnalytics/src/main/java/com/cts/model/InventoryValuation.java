@@ -0,0 +1,27 @@
+package com.cts.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Value and turnover of the stock of one product over a date range.
+ * stockValue and salesValue are priced at the current unit price. daysOfCover is how long the
+ * stock lasts at the range's sales rate and turnover is units sold per unit held; both are null
+ * when they are unbounded (no sales, or no stock).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryValuation {
+	private int productId;
+	private String name;
+	private int unitPrice;
+	private int stockQuantity;
+	private long stockValue;
+	private long unitsSold;
+	private long salesValue;
+	private double dailyVelocity;
+	private Double daysOfCover;
+	private Double turnover;
+}
@@ -0,0 +1,18 @@
+package com.cts.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Earliest and latest order dates, the widest range OrderManagement's /getByDate accepts.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderDateRange {
+	private LocalDate min;
+	private LocalDate max;
+}
@@ -0,0 +1,35 @@
+package com.cts.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Local copy of an order, kept up to date from the OrderManagement change feed.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "analytics_order", indexes = @Index(name = "idx_analytics_order_date", columnList = "order_date"))
+public class OrderFact {
+	@Id
+	@Column(name = "order_id")
+	private int orderId;
+	@Column(name = "product_id")
+	private int productId;
+	private int quantity;
+	@Column(name = "order_date")
+	private LocalDate orderDate;
+	private String status;
+	@Column(name = "last_modified")
+	private LocalDateTime lastModified;
+}
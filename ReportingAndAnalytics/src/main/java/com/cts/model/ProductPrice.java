@@ -0,0 +1,17 @@
+package com.cts.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Unit price of a product, read from ProductManagement's product list.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductPrice {
+	private int productID;
+	private String name;
+	private int price;
+}
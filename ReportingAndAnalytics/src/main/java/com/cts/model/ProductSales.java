@@ -0,0 +1,19 @@
+package com.cts.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sales of one product over a date range; dailyVelocity is the mean quantity sold per day.
+ * The order rows are daily totals, so daysWithSales counts the days on which the product sold, not orders.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSales {
+	private int productId;
+	private long totalQuantity;
+	private long daysWithSales;
+	private double dailyVelocity;
+}
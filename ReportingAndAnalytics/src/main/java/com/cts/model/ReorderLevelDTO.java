@@ -0,0 +1,13 @@
+package com.cts.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReorderLevelDTO {
+	private int productID;
+	private int reorderLevel;
+}
@@ -0,0 +1,21 @@
+package com.cts.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Forecast demand of a product and the stock levels derived from it.
+ * reorderPoint covers the demand over the lead time plus safety stock;
+ * reorderQuantity covers the demand of one replenishment cycle.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReorderRecommendation {
+	private int productId;
+	private double dailyDemand;
+	private double demandStdDev;
+	private int reorderPoint;
+	private int reorderQuantity;
+}
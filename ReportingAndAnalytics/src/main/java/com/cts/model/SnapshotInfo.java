@@ -0,0 +1,22 @@
+package com.cts.model;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A materialized report file: when it was generated, its gzip-compressed size and its ETag.
+ * stale is set when the last run could not rebuild the report, so the file is older than it should be.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SnapshotInfo {
+	private String name;
+	private LocalDateTime generatedAt;
+	private long sizeBytes;
+	private String etag;
+	private boolean stale;
+}
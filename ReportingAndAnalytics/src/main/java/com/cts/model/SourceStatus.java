@@ -0,0 +1,18 @@
+package com.cts.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one downstream call made for a composite report.
+ * status is OK, TIMEOUT or ERROR; message explains a failure.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SourceStatus {
+	private String status;
+	private String message;
+	private long elapsedMillis;
+}
@@ -0,0 +1,31 @@
+package com.cts.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Local copy of a stock level, kept up to date from the StockManagement change feed.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "analytics_stock")
+public class StockFact {
+	@Id
+	@Column(name = "product_id")
+	private int productID;
+	private String name;
+	private int quantity;
+	@Column(name = "reorder_level")
+	private int reorderLevel;
+	@Column(name = "last_modified")
+	private LocalDateTime lastModified;
+}
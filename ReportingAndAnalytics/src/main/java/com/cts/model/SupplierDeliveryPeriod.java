@@ -0,0 +1,19 @@
+package com.cts.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Deliveries of one supplier in the week starting on weekStart (a Monday).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SupplierDeliveryPeriod {
+	private LocalDate weekStart;
+	private long deliveries;
+	private long quantity;
+}
@@ -0,0 +1,33 @@
+package com.cts.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Local copy of a supplier delivery, kept up to date from the SupplierManagement change feed.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "analytics_supplier", indexes = @Index(name = "idx_analytics_supplier_date", columnList = "date"))
+public class SupplierFact {
+	@Id
+	@Column(name = "supplier_id")
+	private int supplierID;
+	private String name;
+	@Column(name = "products_supplied")
+	private String productsSupplied;
+	private int quantity;
+	private LocalDateTime date;
+	@Column(name = "last_modified")
+	private LocalDateTime lastModified;
+}
@@ -0,0 +1,31 @@
+package com.cts.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Deliveries of one supplier over a date range.
+ * lowStockProducts is how many of the distinct products it supplied are now at or below their
+ * reorder level, and lowStockRate the share of its products that are; a supplier whose rate is
+ * well above the overall rate is associated with stock-outs.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SupplierPerformance {
+	private String name;
+	private long deliveries;
+	private long quantitySupplied;
+	private double averageQuantity;
+	private LocalDateTime firstDelivery;
+	private LocalDateTime lastDelivery;
+	private Double averageDaysBetweenDeliveries;
+	private int productsSupplied;
+	private int lowStockProducts;
+	private double lowStockRate;
+	private List<SupplierDeliveryPeriod> weekly;
+}
@@ -0,0 +1,25 @@
+package com.cts.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Performance of all suppliers over a date range, sorted by quantity supplied, highest first.
+ * lowStockRate is the share of all supplied products now at or below their reorder level,
+ * the baseline to compare each supplier's rate with.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SupplierPerformanceReport {
+	private LocalDate startDate;
+	private LocalDate endDate;
+	private long deliveries;
+	private long quantitySupplied;
+	private double lowStockRate;
+	private List<SupplierPerformance> suppliers;
+}
@@ -13,6 +13,12 @@ public class SupplierReportSent {
 	private String name;
 	private String productsSupplied;
 	private LocalDateTime date;
-	
+	private int quantity;
+
+	public SupplierReportSent(String name, String productsSupplied, LocalDateTime date) {
+		this.name = name;
+		this.productsSupplied = productsSupplied;
+		this.date = date;
+	}
 
 }
@@ -0,0 +1,29 @@
+package com.cts.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Position of the last change read from one source service: its modification time and, for
+ * rows modified at the same instant, its ID.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "sync_watermark")
+public class SyncWatermark {
+	@Id
+	private String source;
+	@Column(name = "last_modified")
+	private LocalDateTime lastModified;
+	@Column(name = "last_id")
+	private int lastId;
+}
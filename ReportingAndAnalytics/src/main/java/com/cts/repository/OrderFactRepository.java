@@ -0,0 +1,32 @@
+package com.cts.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.cts.model.OrderFact;
+import com.cts.model.OrderReportSent;
+
+public interface OrderFactRepository extends JpaRepository<OrderFact, Integer> {
+
+	// Same rows as OrderManagement's /getByDate, which reads its daily rollups: one row per product and
+	// day with the total quantity ordered, not counting cancelled orders.
+	@Query("SELECT new com.cts.model.OrderReportSent(o.productId, o.orderDate, CAST(SUM(o.quantity) AS Integer)) "
+			+ "FROM OrderFact o "
+			+ "WHERE o.orderDate BETWEEN :startDate AND :endDate "
+			+ "AND (o.status IS NULL OR UPPER(o.status) <> 'CANCELLED') "
+			+ "GROUP BY o.productId, o.orderDate "
+			+ "ORDER BY o.orderDate, o.productId")
+	List<OrderReportSent> findOrderReportByDateBetween(@Param("startDate") LocalDate startDate,
+			@Param("endDate") LocalDate endDate);
+
+	@Query("SELECT MIN(o.orderDate) FROM OrderFact o")
+	Optional<LocalDate> findMinOrderDate();
+
+	@Query("SELECT MAX(o.orderDate) FROM OrderFact o")
+	Optional<LocalDate> findMaxOrderDate();
+}
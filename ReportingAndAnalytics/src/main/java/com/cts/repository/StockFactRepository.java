@@ -0,0 +1,20 @@
+package com.cts.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.cts.model.StockDTO;
+import com.cts.model.StockFact;
+
+public interface StockFactRepository extends JpaRepository<StockFact, Integer> {
+
+	// Same threshold as StockManagement's /send-stock-report.
+	@Query("SELECT new com.cts.model.StockDTO(s.productID, s.name, s.quantity) FROM StockFact s WHERE s.quantity <= s.reorderLevel")
+	List<StockDTO> findLowStockItems();
+
+	// Same rows as StockManagement's /stock-levels.
+	@Query("SELECT new com.cts.model.StockDTO(s.productID, s.name, s.quantity) FROM StockFact s")
+	List<StockDTO> findAllStockLevels();
+}
@@ -0,0 +1,34 @@
+package com.cts.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.cts.model.SupplierFact;
+import com.cts.model.SupplierReportSent;
+
+import jakarta.persistence.QueryHint;
+
+public interface SupplierFactRepository extends JpaRepository<SupplierFact, Integer> {
+
+	@Query("SELECT new com.cts.model.SupplierReportSent(s.name, s.productsSupplied, s.date, s.quantity) "
+			+ "FROM SupplierFact s "
+			+ "WHERE s.date BETWEEN :startDate AND :endDate")
+	List<SupplierReportSent> findSupplierReportByDateBetween(@Param("startDate") LocalDateTime startDate,
+			@Param("endDate") LocalDateTime endDate);
+
+	// Same rows, read as a stream: a fetch size of Integer.MIN_VALUE makes the MySQL driver
+	// hand over one row at a time instead of buffering the whole result.
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+	@Query("SELECT new com.cts.model.SupplierReportSent(s.name, s.productsSupplied, s.date, s.quantity) "
+			+ "FROM SupplierFact s "
+			+ "WHERE s.date BETWEEN :startDate AND :endDate")
+	Stream<SupplierReportSent> streamSupplierReportByDateBetween(@Param("startDate") LocalDateTime startDate,
+			@Param("endDate") LocalDateTime endDate);
+}
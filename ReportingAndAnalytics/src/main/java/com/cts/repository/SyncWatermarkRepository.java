@@ -0,0 +1,8 @@
+package com.cts.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.cts.model.SyncWatermark;
+
+public interface SyncWatermarkRepository extends JpaRepository<SyncWatermark, String> {
+}
@@ -0,0 +1,46 @@
+package com.cts.resilience;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Starts the deadline of every incoming request: the time budget sent by the caller in
+ * {@link RequestDeadline#HEADER}, capped at the configured default.
+ */
+@Component
+public class DeadlineFilter extends OncePerRequestFilter {
+
+	private final long defaultMillis;
+
+	public DeadlineFilter(@Value("${resilience.deadline-millis:5000}") long defaultMillis) {
+		this.defaultMillis = defaultMillis;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		long budget = defaultMillis;
+		String header = request.getHeader(RequestDeadline.HEADER);
+		if (header != null) {
+			try {
+				budget = Math.min(budget, Math.max(0, Long.parseLong(header.trim())));
+			} catch (NumberFormatException e) {
+				// Ignore a malformed budget and use the default.
+			}
+		}
+		RequestDeadline.set(System.nanoTime() + budget * 1_000_000);
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			RequestDeadline.set(null);
+		}
+	}
+}
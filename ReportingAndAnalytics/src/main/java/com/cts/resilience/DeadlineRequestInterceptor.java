@@ -0,0 +1,21 @@
+package com.cts.resilience;
+
+import org.springframework.stereotype.Component;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * Forwards the remaining time of the current request to the called service, so a service that
+ * honours {@link RequestDeadline#HEADER} does not keep working for a caller that has given up.
+ */
+@Component
+public class DeadlineRequestInterceptor implements RequestInterceptor {
+
+	@Override
+	public void apply(RequestTemplate template) {
+		if (RequestDeadline.get() != null) {
+			template.header(RequestDeadline.HEADER, Long.toString(RequestDeadline.remainingMillis(0)));
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.cts.resilience;
+
+import java.util.function.Supplier;
+
+/**
+ * Deadline of the report request being served by the current thread, as a {@link System#nanoTime()} value.
+ * Set by {@link DeadlineFilter} for incoming requests and carried over to the threads that make the
+ * downstream calls, where {@link DeadlineRequestInterceptor} forwards the remaining time.
+ */
+public final class RequestDeadline {
+
+	// Header carrying the remaining time budget of a request, in milliseconds.
+	public static final String HEADER = "X-Request-Timeout";
+
+	private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+	private RequestDeadline() {
+	}
+
+	/**
+	 * Returns the deadline of the current thread, or null when it has none.
+	 */
+	public static Long get() {
+		return DEADLINE.get();
+	}
+
+	/**
+	 * Returns the milliseconds left until the deadline, or the default budget when the thread has none.
+	 */
+	public static long remainingMillis(long defaultMillis) {
+		Long deadline = DEADLINE.get();
+		return deadline == null ? defaultMillis : Math.max(0, (deadline - System.nanoTime()) / 1_000_000);
+	}
+
+	static void set(Long deadline) {
+		if (deadline == null) {
+			DEADLINE.remove();
+		} else {
+			DEADLINE.set(deadline);
+		}
+	}
+
+	/**
+	 * Runs a call with the given deadline set on the current thread, restoring the previous one afterwards.
+	 */
+	public static <T> T callWith(Long deadline, Supplier<T> call) {
+		Long previous = DEADLINE.get();
+		set(deadline);
+		try {
+			return call.get();
+		} finally {
+			set(previous);
+		}
+	}
+}
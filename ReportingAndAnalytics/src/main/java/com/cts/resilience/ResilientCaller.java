@@ -0,0 +1,282 @@
+package com.cts.resilience;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes the Feign calls of the report endpoints with a bounded latency.
+ * <ul>
+ * <li>Every call is bounded by the deadline of the incoming request ({@link RequestDeadline}).</li>
+ * <li>When a call has not answered after the service's recent p95 latency, a second, hedged call is
+ * made. The load balancer sends it to the next Eureka instance, and the first answer wins.</li>
+ * <li>After a run of consecutive failures the circuit of a service opens for a while and calls fail
+ * fast; afterwards a single trial call decides whether it closes again.</li>
+ * <li>When a call fails, times out or is rejected by an open circuit, the last good response for the
+ * same key is returned instead, unless it is older than the configured maximum age.</li>
+ * </ul>
+ * Client errors (4xx) are the answer of a healthy service and are passed through unchanged. A request
+ * whose budget is already spent fails without a call, and a call that times out under a budget shorter
+ * than the service's usual latency does not count towards opening its circuit.
+ */
+@Slf4j
+@Component
+public class ResilientCaller {
+
+	private final ExecutorService callExecutor;
+	private final ScheduledExecutorService hedgeScheduler;
+	private final long defaultDeadlineMillis;
+	private final boolean hedgingEnabled;
+	private final long minHedgeDelayMillis;
+	private final int failureThreshold;
+	private final long openMillis;
+	private final long fallbackMaxAgeNanos;
+
+	private final Map<String, ServiceGuard> guards = new ConcurrentHashMap<>();
+	// Last good response per call key, returned while a service is failing.
+	private final Map<String, Fallback> lastGood;
+
+	public ResilientCaller(@Qualifier("reportCallExecutor") ExecutorService callExecutor,
+			@Qualifier("hedgeScheduler") ScheduledExecutorService hedgeScheduler,
+			@Value("${resilience.deadline-millis:5000}") long defaultDeadlineMillis,
+			@Value("${resilience.hedge.enabled:true}") boolean hedgingEnabled,
+			@Value("${resilience.hedge.min-delay-millis:50}") long minHedgeDelayMillis,
+			@Value("${resilience.breaker.failure-threshold:5}") int failureThreshold,
+			@Value("${resilience.breaker.open-millis:10000}") long openMillis,
+			@Value("${resilience.fallback.max-entries:500}") int maxFallbacks,
+			@Value("${resilience.fallback.max-age-millis:300000}") long fallbackMaxAgeMillis) {
+		this.callExecutor = callExecutor;
+		this.hedgeScheduler = hedgeScheduler;
+		this.defaultDeadlineMillis = defaultDeadlineMillis;
+		this.hedgingEnabled = hedgingEnabled;
+		this.minHedgeDelayMillis = minHedgeDelayMillis;
+		this.failureThreshold = failureThreshold;
+		this.openMillis = openMillis;
+		this.fallbackMaxAgeNanos = fallbackMaxAgeMillis * 1_000_000;
+		this.lastGood = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Fallback> eldest) {
+				return size() > maxFallbacks;
+			}
+		});
+	}
+
+	/**
+	 * Calls a downstream service.
+	 * @param service The Eureka name of the service, e.g. "STOCKMANAGEMENT".
+	 * @param key The endpoint and its parameters, used for the fallback response.
+	 * @param call The Feign call.
+	 * @return The response of the call, or the last good response for the key if the call failed and
+	 * that response is not too old.
+	 * @throws ResponseStatusException 503/504 when the call failed and there is no earlier response.
+	 */
+	public <T> T call(String service, String key, Supplier<T> call) {
+		ServiceGuard guard = guards.computeIfAbsent(service, name -> new ServiceGuard());
+		Admission admission = guard.admit();
+		if (admission == Admission.REJECTED) {
+			return fallback(key, new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+					service + " is unavailable (circuit open)"));
+		}
+		try {
+			return callAdmitted(guard, service, key, call);
+		} finally {
+			// An interrupted trial records neither success nor failure; free the slot in any case.
+			if (admission == Admission.TRIAL) {
+				guard.endTrial();
+			}
+		}
+	}
+
+	private <T> T callAdmitted(ServiceGuard guard, String service, String key, Supplier<T> call) {
+		Long deadline = RequestDeadline.get();
+		long remaining = RequestDeadline.remainingMillis(defaultDeadlineMillis);
+		if (remaining <= 0) {
+			// The caller's budget was spent before the call started, which says nothing about the service.
+			log.info("No time left for call {} to {}", key, service);
+			return fallback(key, new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+					"No time left to call " + service));
+		}
+		Long callDeadline = deadline != null ? deadline : System.nanoTime() + remaining * 1_000_000;
+
+		CompletableFuture<T> result = new CompletableFuture<>();
+		AtomicInteger running = new AtomicInteger(1);
+		launch(guard, callDeadline, call, result, running);
+		long hedgeDelay = guard.hedgeDelayMillis();
+		if (hedgingEnabled && hedgeDelay >= 0 && hedgeDelay < remaining) {
+			hedgeScheduler.schedule(() -> {
+				if (!result.isDone()) {
+					running.incrementAndGet();
+					launch(guard, callDeadline, call, result, running);
+				}
+			}, hedgeDelay, TimeUnit.MILLISECONDS);
+		}
+
+		try {
+			T value = result.get(remaining, TimeUnit.MILLISECONDS);
+			guard.onSuccess();
+			lastGood.put(key, new Fallback(value, System.nanoTime()));
+			return value;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (isClientError(cause)) {
+				guard.onSuccess();
+				throw (FeignException) cause;
+			}
+			guard.onFailure(service);
+			log.warn("Call {} to {} failed: {}", key, service, cause.getMessage());
+			return fallback(key, new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+					service + " failed: " + cause.getMessage(), cause));
+		} catch (TimeoutException e) {
+			result.cancel(false);
+			// A budget shorter than the service usually needs is the caller's problem, not a sign of trouble.
+			if (remaining >= (hedgeDelay >= 0 ? hedgeDelay : minHedgeDelayMillis)) {
+				guard.onFailure(service);
+			}
+			log.warn("Call {} to {} missed its deadline of {} ms", key, service, remaining);
+			return fallback(key, new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+					service + " did not answer within " + remaining + " ms"));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while calling " + service);
+		}
+	}
+
+	private <T> void launch(ServiceGuard guard, Long deadline, Supplier<T> call, CompletableFuture<T> result,
+			AtomicInteger running) {
+		callExecutor.execute(() -> {
+			long start = System.nanoTime();
+			try {
+				T value = RequestDeadline.callWith(deadline, call);
+				guard.recordLatency((System.nanoTime() - start) / 1_000_000);
+				result.complete(value);
+			} catch (RuntimeException e) {
+				// A client error is final; otherwise wait for the other attempt, if one is running.
+				if (running.decrementAndGet() == 0 || isClientError(e)) {
+					result.completeExceptionally(e);
+				}
+			}
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T fallback(String key, ResponseStatusException failure) {
+		Fallback fallback = lastGood.get(key);
+		if (fallback == null) {
+			throw failure;
+		}
+		long ageNanos = System.nanoTime() - fallback.storedAt();
+		if (ageNanos > fallbackMaxAgeNanos) {
+			log.info("Not serving the last good response for {}, which is {} ms old", key, ageNanos / 1_000_000);
+			throw failure;
+		}
+		log.info("Serving last good response for {}", key);
+		return (T) fallback.value();
+	}
+
+	private static boolean isClientError(Throwable e) {
+		return e instanceof FeignException feign && feign.status() >= 400 && feign.status() < 500;
+	}
+
+	// A good response and the System.nanoTime() at which it was received.
+	private record Fallback(Object value, long storedAt) {
+	}
+
+	private enum Admission {
+		REJECTED, CLOSED, TRIAL
+	}
+
+	/**
+	 * Latency samples and circuit breaker state of one downstream service.
+	 */
+	private final class ServiceGuard {
+
+		private static final int SAMPLES = 128;
+		// Below this many samples the p95 is not meaningful and no hedge is sent.
+		private static final int MIN_SAMPLES = 20;
+
+		private final long[] latencies = new long[SAMPLES];
+		private int count;
+		private int next;
+
+		private final AtomicInteger consecutiveFailures = new AtomicInteger();
+		private volatile long openUntil;
+		private volatile boolean trialRunning;
+
+		synchronized void recordLatency(long millis) {
+			latencies[next] = millis;
+			next = (next + 1) % SAMPLES;
+			count = Math.min(count + 1, SAMPLES);
+		}
+
+		/**
+		 * Returns the hedge delay, the p95 of the recent latencies, or -1 while there are too few samples.
+		 */
+		synchronized long hedgeDelayMillis() {
+			if (count < MIN_SAMPLES) {
+				return -1;
+			}
+			long[] sorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(sorted);
+			return Math.max(minHedgeDelayMillis, sorted[(int) Math.ceil(count * 0.95) - 1]);
+		}
+
+		Admission admit() {
+			if (consecutiveFailures.get() < failureThreshold) {
+				return Admission.CLOSED;
+			}
+			if (System.nanoTime() < openUntil) {
+				return Admission.REJECTED;
+			}
+			// Half-open: let a single trial call through.
+			synchronized (this) {
+				if (trialRunning) {
+					return Admission.REJECTED;
+				}
+				trialRunning = true;
+				return Admission.TRIAL;
+			}
+		}
+
+		void endTrial() {
+			trialRunning = false;
+		}
+
+		void onSuccess() {
+			consecutiveFailures.set(0);
+			trialRunning = false;
+		}
+
+		void onFailure(String service) {
+			int failures = consecutiveFailures.incrementAndGet();
+			if (failures >= failureThreshold) {
+				if (failures == failureThreshold || trialRunning) {
+					log.warn("Opening circuit of {} for {} ms after {} consecutive failures", service, openMillis,
+							failures);
+				}
+				openUntil = System.nanoTime() + openMillis * 1_000_000;
+			}
+			trialRunning = false;
+		}
+	}
+}
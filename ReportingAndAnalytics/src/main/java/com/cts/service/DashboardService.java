@@ -0,0 +1,10 @@
+package com.cts.service;
+
+import java.time.LocalDate;
+
+import com.cts.model.DashboardReport;
+
+public interface DashboardService {
+
+	DashboardReport getDashboard(LocalDate startDate, LocalDate endDate);
+}
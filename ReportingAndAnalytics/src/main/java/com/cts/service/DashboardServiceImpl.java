@@ -0,0 +1,123 @@
+package com.cts.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cts.client.OrderManagementClient;
+import com.cts.client.ProductManagementClient;
+import com.cts.client.StockManagementClient;
+import com.cts.client.SupplierManagementClient;
+import com.cts.model.DashboardReport;
+import com.cts.model.OrderReport;
+import com.cts.model.OrderReportSent;
+import com.cts.model.OverAllStock;
+import com.cts.model.SourceStatus;
+import com.cts.model.StockDTO;
+import com.cts.model.SupplierReport;
+import com.cts.model.SupplierReportSent;
+import com.cts.resilience.RequestDeadline;
+import com.cts.resilience.ResilientCaller;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the dashboard by calling the four downstream services concurrently.
+ * Every call goes through the {@link ResilientCaller}, so it is hedged, circuit-broken and falls back
+ * to the last good response like the single reports. It is bounded by the request's deadline or the
+ * fan-out timeout, whichever comes first. A slow or failing service only leaves its own section empty
+ * and is reported in the per-source status, while the other sections are still returned.
+ */
+@Service
+@Slf4j
+public class DashboardServiceImpl implements DashboardService {
+
+	private OrderManagementClient oClient;
+	private SupplierManagementClient sClient;
+	private StockManagementClient stClient;
+	private ProductManagementClient pClient;
+	private ResilientCaller caller;
+	private ExecutorService executor;
+	private long timeoutMillis;
+
+	public DashboardServiceImpl(OrderManagementClient oClient, SupplierManagementClient sClient,
+			StockManagementClient stClient, ProductManagementClient pClient, ResilientCaller caller,
+			@Qualifier("reportFanOutExecutor") ExecutorService reportFanOutExecutor,
+			@Value("${report.fanout.timeout-millis:2000}") long timeoutMillis) {
+		this.oClient = oClient;
+		this.sClient = sClient;
+		this.stClient = stClient;
+		this.pClient = pClient;
+		this.caller = caller;
+		this.executor = reportFanOutExecutor;
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	@Override
+	public DashboardReport getDashboard(LocalDate startDate, LocalDate endDate) {
+		log.info("Building dashboard for {} to {}", startDate, endDate);
+		Map<String, SourceStatus> sources = new ConcurrentHashMap<>();
+		// The fan-out threads do not inherit the request's deadline; every call gets it explicitly.
+		long fanOutDeadline = System.nanoTime() + timeoutMillis * 1_000_000;
+		Long requestDeadline = RequestDeadline.get();
+		Long deadline = requestDeadline != null && requestDeadline - fanOutDeadline < 0 ? requestDeadline : fanOutDeadline;
+
+		// Same keys as the single reports, so both share the last good responses.
+		OrderReport orderReport = new OrderReport(startDate, endDate);
+		SupplierReport supplierReport = new SupplierReport(startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX));
+		CompletableFuture<List<OrderReportSent>> orders = fetch("orders", sources, deadline,
+				() -> caller.call("ORDERMANAGEMENT", "orders:" + startDate + ":" + endDate,
+						() -> oClient.getDetailsByDate(orderReport)).getBody());
+		CompletableFuture<List<SupplierReportSent>> suppliers = fetch("suppliers", sources, deadline,
+				() -> caller.call("SUPPLIERMANAGEMENT",
+						"suppliers:" + supplierReport.getStartDate() + ":" + supplierReport.getEndDate(),
+						() -> sClient.getSupplierInfoForReport(supplierReport)).getBody());
+		CompletableFuture<List<StockDTO>> lowStocks = fetch("lowStocks", sources, deadline,
+				() -> caller.call("STOCKMANAGEMENT", "lowStocks", () -> stClient.getLowStockReport()).getBody());
+		CompletableFuture<List<OverAllStock>> allStocks = fetch("allStocks", sources, deadline,
+				() -> caller.call("PRODUCTMANAGEMENT", "allStocks", () -> pClient.getAllProductsStocks()));
+
+		// None of the futures fails: errors and timeouts are turned into a null section and a status.
+		CompletableFuture.allOf(orders, suppliers, lowStocks, allStocks).join();
+		return new DashboardReport(orders.join(), suppliers.join(), lowStocks.join(), allStocks.join(), sources);
+	}
+
+	/**
+	 * Starts one downstream call on the fan-out pool, under the given deadline, and records its outcome
+	 * under the given name. The returned future completes with null when the call fails or misses the deadline.
+	 */
+	private <T> CompletableFuture<T> fetch(String source, Map<String, SourceStatus> sources, Long deadline,
+			Supplier<T> call) {
+		long start = System.nanoTime();
+		return CompletableFuture.supplyAsync(() -> RequestDeadline.callWith(deadline, call), executor)
+				.handle((result, error) -> {
+					long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+					if (error == null) {
+						sources.put(source, new SourceStatus("OK", null, elapsed));
+						return result;
+					}
+					Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+					if (cause instanceof ResponseStatusException status && status.getStatusCode() == HttpStatus.GATEWAY_TIMEOUT) {
+						log.warn("Dashboard source {} timed out after {} ms", source, elapsed);
+						sources.put(source, new SourceStatus("TIMEOUT", status.getReason(), elapsed));
+					} else {
+						log.warn("Dashboard source {} failed: {}", source, cause.getMessage());
+						sources.put(source, new SourceStatus("ERROR", cause.getMessage(), elapsed));
+					}
+					return null;
+				});
+	}
+}
@@ -0,0 +1,12 @@
+package com.cts.service;
+
+import java.util.List;
+
+import com.cts.model.ReorderRecommendation;
+
+public interface ForecastService {
+
+	List<ReorderRecommendation> getRecommendations();
+
+	int pushReorderLevels();
+}
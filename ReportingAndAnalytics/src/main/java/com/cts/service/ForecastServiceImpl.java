@@ -0,0 +1,158 @@
+package com.cts.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.cts.analytics.DemandEstimate;
+import com.cts.analytics.SalesSeries;
+import com.cts.client.StockManagementClient;
+import com.cts.model.ReorderLevelDTO;
+import com.cts.model.ReorderRecommendation;
+import com.cts.store.LocalReportStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Forecasts the daily demand of every product from its order history and derives reorder points
+ * and quantities.
+ * <p>
+ * The estimates are exponentially smoothed per day. The first run replays the configured history
+ * from the local store; later runs only feed the days completed since, so the cost of a run grows
+ * with the number of new days, not with the history. Recommended reorder levels can be pushed to
+ * StockManagement in batches; only values that changed since the last push are sent.
+ */
+@Slf4j
+@Service
+public class ForecastServiceImpl implements ForecastService {
+
+	private final LocalReportStore store;
+	private final StockManagementClient stClient;
+	private final double alpha;
+	private final int historyDays;
+	private final int leadTimeDays;
+	private final int coverDays;
+	private final double safetyFactor;
+	private final int batchSize;
+	private final boolean autoPush;
+
+	// Guarded by this.
+	private final Map<Integer, DemandEstimate> estimates = new HashMap<>();
+	private final Map<Integer, Integer> pushedLevels = new HashMap<>();
+	private LocalDate processedThrough;
+
+	public ForecastServiceImpl(LocalReportStore store, StockManagementClient stClient,
+			@Value("${forecast.alpha:0.2}") double alpha,
+			@Value("${forecast.history-days:180}") int historyDays,
+			@Value("${forecast.lead-time-days:7}") int leadTimeDays,
+			@Value("${forecast.cover-days:30}") int coverDays,
+			@Value("${forecast.safety-factor:1.65}") double safetyFactor,
+			@Value("${forecast.push-batch-size:500}") int batchSize,
+			@Value("${forecast.auto-push:false}") boolean autoPush) {
+		this.store = store;
+		this.stClient = stClient;
+		this.alpha = alpha;
+		this.historyDays = historyDays;
+		this.leadTimeDays = leadTimeDays;
+		this.coverDays = coverDays;
+		this.safetyFactor = safetyFactor;
+		this.batchSize = batchSize;
+		this.autoPush = autoPush;
+	}
+
+	/**
+	 * Feeds the days completed since the last run into the estimates.
+	 */
+	@Scheduled(fixedDelayString = "${forecast.interval-millis:600000}", initialDelayString = "${forecast.initial-delay-millis:60000}")
+	public void update() {
+		if (!store.isReady()) {
+			log.info("Skipping forecast update until the local store has synced");
+			return;
+		}
+		if (advance(LocalDate.now().minusDays(1)) && autoPush) {
+			pushReorderLevels();
+		}
+	}
+
+	/**
+	 * Feeds every complete day up to and including lastDay that was not processed yet.
+	 * @return true if at least one day was processed.
+	 */
+	public synchronized boolean advance(LocalDate lastDay) {
+		LocalDate from = processedThrough == null ? lastDay.minusDays(historyDays - 1L) : processedThrough.plusDays(1);
+		if (from.isAfter(lastDay)) {
+			return false;
+		}
+		SalesSeries series = SalesSeries.of(store.getOrders(from, lastDay), from, lastDay);
+		for (int i = 0; i < series.productCount(); i++) {
+			estimates.computeIfAbsent(series.productId(i), id -> new DemandEstimate());
+		}
+		for (Map.Entry<Integer, DemandEstimate> entry : estimates.entrySet()) {
+			int index = series.find(entry.getKey());
+			DemandEstimate estimate = entry.getValue();
+			for (int d = 0; d < series.days(); d++) {
+				long quantity = index < 0 ? 0 : series.quantity(index, d);
+				// A product new in this batch starts at its first sale rather than at a run of zeros.
+				if (!estimate.isInitialized() && quantity == 0) {
+					continue;
+				}
+				estimate.update(quantity, alpha);
+			}
+		}
+		processedThrough = lastDay;
+		log.info("Forecast updated with {} days from {} for {} products", series.days(), from, estimates.size());
+		return true;
+	}
+
+	@Override
+	public synchronized List<ReorderRecommendation> getRecommendations() {
+		List<ReorderRecommendation> recommendations = new ArrayList<>(estimates.size());
+		for (Map.Entry<Integer, DemandEstimate> entry : estimates.entrySet()) {
+			recommendations.add(recommend(entry.getKey(), entry.getValue()));
+		}
+		recommendations.sort(Comparator.comparingInt(ReorderRecommendation::getProductId));
+		return recommendations;
+	}
+
+	@Override
+	public int pushReorderLevels() {
+		List<ReorderLevelDTO> changed = new ArrayList<>();
+		synchronized (this) {
+			for (ReorderRecommendation recommendation : getRecommendations()) {
+				Integer pushed = pushedLevels.get(recommendation.getProductId());
+				if (pushed == null || pushed != recommendation.getReorderPoint()) {
+					changed.add(new ReorderLevelDTO(recommendation.getProductId(), recommendation.getReorderPoint()));
+				}
+			}
+		}
+		int updated = 0;
+		for (int start = 0; start < changed.size(); start += batchSize) {
+			List<ReorderLevelDTO> batch = changed.subList(start, Math.min(start + batchSize, changed.size()));
+			Integer count = stClient.updateReorderLevels(batch).getBody();
+			updated += count == null ? 0 : count;
+			synchronized (this) {
+				for (ReorderLevelDTO level : batch) {
+					pushedLevels.put(level.getProductID(), level.getReorderLevel());
+				}
+			}
+		}
+		log.info("Pushed {} changed reorder levels to StockManagement, {} stock items updated", changed.size(), updated);
+		return updated;
+	}
+
+	private ReorderRecommendation recommend(int productId, DemandEstimate estimate) {
+		double demand = estimate.getLevel();
+		double stdDev = estimate.getStdDev();
+		double safetyStock = safetyFactor * stdDev * Math.sqrt(leadTimeDays);
+		int reorderPoint = (int) Math.ceil(demand * leadTimeDays + safetyStock);
+		int reorderQuantity = (int) Math.ceil(demand * coverDays);
+		return new ReorderRecommendation(productId, demand, stdDev, reorderPoint, reorderQuantity);
+	}
+}
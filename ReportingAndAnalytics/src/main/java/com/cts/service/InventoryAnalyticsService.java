@@ -0,0 +1,10 @@
+package com.cts.service;
+
+import java.time.LocalDate;
+
+import com.cts.model.InventoryReport;
+
+public interface InventoryAnalyticsService {
+
+	InventoryReport getInventoryValuation(LocalDate startDate, LocalDate endDate);
+}
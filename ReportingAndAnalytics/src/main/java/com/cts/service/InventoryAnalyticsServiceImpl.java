@@ -0,0 +1,114 @@
+package com.cts.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cts.model.InventoryReport;
+import com.cts.model.InventoryValuation;
+import com.cts.model.OrderReportSent;
+import com.cts.model.ProductPrice;
+import com.cts.model.StockDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Joins product prices, stock levels and order volumes into an inventory valuation.
+ * Each source is read with a single bulk call and joined in memory on hash tables keyed by
+ * product ID, so the cost is linear in the number of rows and independent of round trips.
+ */
+@Slf4j
+@Service
+public class InventoryAnalyticsServiceImpl implements InventoryAnalyticsService {
+
+	private ReportingAndAnalyticsService reportService;
+
+	public InventoryAnalyticsServiceImpl(ReportingAndAnalyticsService reportService) {
+		this.reportService = reportService;
+	}
+
+	@Override
+	public InventoryReport getInventoryValuation(LocalDate startDate, LocalDate endDate) {
+		if (endDate.isBefore(startDate)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date must not be before start date");
+		}
+		List<ProductPrice> products = reportService.getProductPrices();
+		List<StockDTO> stocks = reportService.getStockLevels();
+		// Days outside the order dates count as days without sales rather than failing the report.
+		List<OrderReportSent> orders = reportService.getOrdersWithinBounds(startDate, endDate);
+
+		long start = System.nanoTime();
+		InventoryReport report = join(products == null ? List.of() : products, stocks == null ? List.of() : stocks,
+				orders, startDate, endDate);
+		log.info("Joined {} products, {} stock items and {} order rows in {} ms", report.getProducts().size(),
+				stocks == null ? 0 : stocks.size(), orders.size(),
+				(System.nanoTime() - start) / 1_000_000);
+		return report;
+	}
+
+	static InventoryReport join(List<ProductPrice> products, List<StockDTO> stocks, List<OrderReportSent> orders,
+			LocalDate startDate, LocalDate endDate) {
+		int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+
+		// Build sides: stock by product and units sold by product.
+		Map<Integer, StockDTO> stockById = new HashMap<>(capacity(stocks.size()));
+		for (StockDTO stock : stocks) {
+			stockById.put(stock.getProductID(), stock);
+		}
+		Map<Integer, long[]> soldById = new HashMap<>(capacity(Math.min(orders.size(), products.size() + stocks.size())));
+		for (OrderReportSent order : orders) {
+			soldById.computeIfAbsent(order.getProductId(), id -> new long[1])[0] += order.getQuantity();
+		}
+
+		// Probe with the product list; stock items left over have no price and are valued at zero.
+		List<InventoryValuation> valuations = new ArrayList<>(products.size() + stocks.size());
+		for (ProductPrice product : products) {
+			StockDTO stock = stockById.remove(product.getProductID());
+			valuations.add(value(product.getProductID(), product.getName(), product.getPrice(),
+					stock == null ? 0 : stock.getQuantity(), soldById.get(product.getProductID()), days));
+		}
+		if (!stockById.isEmpty()) {
+			log.warn("{} stock items have no product and are valued at zero", stockById.size());
+			for (StockDTO stock : stockById.values()) {
+				valuations.add(value(stock.getProductID(), stock.getName(), 0, stock.getQuantity(),
+						soldById.get(stock.getProductID()), days));
+			}
+		}
+
+		long totalStockValue = 0;
+		long totalSalesValue = 0;
+		for (InventoryValuation valuation : valuations) {
+			totalStockValue += valuation.getStockValue();
+			totalSalesValue += valuation.getSalesValue();
+		}
+		valuations.sort(Comparator.comparingLong(InventoryValuation::getStockValue).reversed());
+		return new InventoryReport(startDate, endDate, totalStockValue, totalSalesValue,
+				ratio(totalStockValue, (double) totalSalesValue / days), ratio(totalSalesValue, totalStockValue),
+				valuations);
+	}
+
+	private static InventoryValuation value(int productId, String name, int price, int quantity, long[] sold,
+			int days) {
+		long unitsSold = sold == null ? 0 : sold[0];
+		double velocity = (double) unitsSold / days;
+		return new InventoryValuation(productId, name, price, quantity, (long) price * quantity, unitsSold,
+				(long) price * unitsSold, velocity, ratio(quantity, velocity), ratio(unitsSold, quantity));
+	}
+
+	// Null instead of an infinite or undefined ratio.
+	private static Double ratio(double numerator, double denominator) {
+		return denominator > 0 ? numerator / denominator : null;
+	}
+
+	private static int capacity(int size) {
+		return (int) (size / 0.75f) + 1;
+	}
+}
@@ -0,0 +1,17 @@
+package com.cts.service;
+
+import java.util.List;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+
+import com.cts.model.SnapshotInfo;
+
+public interface ReportSnapshotService {
+
+	List<SnapshotInfo> getSnapshots();
+
+	ResponseEntity<Resource> getSnapshot(String name);
+
+	List<SnapshotInfo> materializeAll();
+}
@@ -0,0 +1,258 @@
+package com.cts.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cts.model.SnapshotInfo;
+import com.cts.model.SupplierReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Materializes the configured reports into gzip-compressed JSON files at off-peak times and serves
+ * them as static files.
+ * <p>
+ * Each run writes a new version of a report next to the previous one and switches to it with an
+ * atomic rename, so a download in progress keeps reading a complete file; the version before the
+ * previous one is deleted. If a report cannot be built, its previous version is kept and served as
+ * stale until a later run succeeds. The ETag is the SHA-256 of the compressed bytes, computed while writing.
+ * Range requests and If-None-Match are handled by Spring MVC for the returned file resource, so a
+ * repeated or resumed download costs only file I/O.
+ */
+@Slf4j
+@Service
+public class ReportSnapshotServiceImpl implements ReportSnapshotService {
+
+	static final String DAILY_ORDERS = "daily-orders";
+	static final String LOW_STOCK = "low-stock";
+	static final String SUPPLIER_ACTIVITY = "supplier-activity";
+
+	private static final String SUFFIX = ".json.gz";
+	private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+	static final String STALE_HEADER = "X-Snapshot-Stale";
+
+	private final ReportingAndAnalyticsService reportService;
+	private final ObjectMapper objectMapper;
+	private final Path directory;
+	private final List<String> enabledReports;
+	private final int rangeDays;
+
+	// Current version of each report.
+	private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+	public ReportSnapshotServiceImpl(ReportingAndAnalyticsService reportService, ObjectMapper objectMapper,
+			@Value("${report.snapshot.directory:report-snapshots}") String directory,
+			@Value("${report.snapshot.reports:daily-orders,low-stock,supplier-activity}") List<String> enabledReports,
+			@Value("${report.snapshot.range-days:30}") int rangeDays) {
+		this.reportService = reportService;
+		this.objectMapper = objectMapper;
+		this.directory = Paths.get(directory);
+		this.enabledReports = enabledReports;
+		this.rangeDays = rangeDays;
+	}
+
+	/**
+	 * Picks up the snapshots written before a restart.
+	 */
+	@PostConstruct
+	void init() throws IOException {
+		Files.createDirectories(directory);
+		for (String name : enabledReports) {
+			List<Path> versions = versions(name);
+			if (!versions.isEmpty()) {
+				Path latest = versions.get(versions.size() - 1);
+				snapshots.put(name, new Snapshot(latest, digest(latest), Files.getLastModifiedTime(latest).toInstant(), false));
+			}
+		}
+		log.info("Loaded {} report snapshots from {}", snapshots.size(), directory.toAbsolutePath());
+	}
+
+	@Override
+	public List<SnapshotInfo> getSnapshots() {
+		List<SnapshotInfo> infos = new ArrayList<>();
+		for (String name : enabledReports) {
+			Snapshot snapshot = snapshots.get(name);
+			if (snapshot != null) {
+				infos.add(snapshot.info(name));
+			}
+		}
+		return infos;
+	}
+
+	@Override
+	public ResponseEntity<Resource> getSnapshot(String name) {
+		Snapshot snapshot = snapshots.get(name);
+		if (snapshot == null) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No snapshot of report " + name);
+		}
+		return ResponseEntity.ok()
+				.eTag(snapshot.etag)
+				.header(STALE_HEADER, Boolean.toString(snapshot.stale))
+				.lastModified(snapshot.generatedAt)
+				.contentType(GZIP)
+				.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(name + SUFFIX).build().toString())
+				.body(new FileSystemResource(snapshot.path));
+	}
+
+	@Override
+	@Scheduled(cron = "${report.snapshot.cron:0 30 2 * * *}")
+	public synchronized List<SnapshotInfo> materializeAll() {
+		for (Map.Entry<String, Supplier<Object>> report : reports().entrySet()) {
+			if (!enabledReports.contains(report.getKey())) {
+				continue;
+			}
+			try {
+				materialize(report.getKey(), report.getValue().get());
+			} catch (RuntimeException | IOException e) {
+				// Keep serving the previous version of this report, marked as stale.
+				log.warn("Materializing report {} failed, serving the previous version as stale: {}", report.getKey(),
+						e.getMessage());
+				snapshots.computeIfPresent(report.getKey(), (name, snapshot) -> snapshot.markStale());
+			}
+		}
+		return getSnapshots();
+	}
+
+	/**
+	 * The reports that can be materialized, each covering the last complete days of the configured range.
+	 */
+	private Map<String, Supplier<Object>> reports() {
+		LocalDate endDate = LocalDate.now().minusDays(1);
+		LocalDate startDate = endDate.minusDays(rangeDays - 1L);
+		Map<String, Supplier<Object>> reports = new LinkedHashMap<>();
+		// Clamped to the days that have orders, so a range before the first order does not fail the snapshot.
+		reports.put(DAILY_ORDERS, () -> reportService.getOrdersWithinBounds(startDate, endDate));
+		reports.put(LOW_STOCK, () -> reportService.getTheLowerStocks().getBody());
+		reports.put(SUPPLIER_ACTIVITY, () -> reportService.getSupplierDetailsByDate(
+				new SupplierReport(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay().minusNanos(1))).getBody());
+		return reports;
+	}
+
+	private void materialize(String name, Object report) throws IOException {
+		long start = System.currentTimeMillis();
+		Path target = directory.resolve(name + "-" + start + SUFFIX);
+		Path temp = directory.resolve(target.getFileName() + ".tmp");
+		MessageDigest digest = sha256();
+		try (OutputStream out = new GZIPOutputStream(new DigestOutputStream(Files.newOutputStream(temp), digest), 64 * 1024)) {
+			objectMapper.writeValue(out, report);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+		Snapshot previous = snapshots.put(name, new Snapshot(target, HexFormat.of().formatHex(digest.digest()), Instant.now(), false));
+		deleteOlderThan(name, previous);
+		log.info("Materialized report {} into {} ({} bytes) in {} ms", name, target.getFileName(), Files.size(target),
+				System.currentTimeMillis() - start);
+	}
+
+	// Deletes every version of the report except the current and the previous one.
+	private void deleteOlderThan(String name, Snapshot previous) throws IOException {
+		Snapshot current = snapshots.get(name);
+		for (Path version : versions(name)) {
+			if (!version.equals(current.path) && (previous == null || !version.equals(previous.path))) {
+				Files.deleteIfExists(version);
+			}
+		}
+	}
+
+	// Versions of a report in the order they were written.
+	private List<Path> versions(String name) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> isVersionOf(file, name))
+					.sorted((a, b) -> Long.compare(timestamp(a, name), timestamp(b, name)))
+					.toList();
+		}
+	}
+
+	private static boolean isVersionOf(Path file, String name) {
+		String fileName = file.getFileName().toString();
+		return fileName.startsWith(name + "-") && fileName.endsWith(SUFFIX)
+				&& fileName.substring(name.length() + 1, fileName.length() - SUFFIX.length()).chars().allMatch(Character::isDigit);
+	}
+
+	private static long timestamp(Path file, String name) {
+		String fileName = file.getFileName().toString();
+		return Long.parseLong(fileName.substring(name.length() + 1, fileName.length() - SUFFIX.length()));
+	}
+
+	private static String digest(Path file) throws IOException {
+		MessageDigest digest = sha256();
+		try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+			in.transferTo(OutputStream.nullOutputStream());
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static final class Snapshot {
+		private final Path path;
+		private final String etag;
+		private final Instant generatedAt;
+		private final boolean stale;
+
+		private Snapshot(Path path, String etag, Instant generatedAt, boolean stale) {
+			this.path = path;
+			this.etag = etag;
+			this.generatedAt = generatedAt;
+			this.stale = stale;
+		}
+
+		private Snapshot markStale() {
+			return stale ? this : new Snapshot(path, etag, generatedAt, true);
+		}
+
+		private SnapshotInfo info(String name) {
+			try {
+				return new SnapshotInfo(name, LocalDateTime.ofInstant(generatedAt, ZoneId.systemDefault()),
+						Files.size(path), etag, stale);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+}
@@ -1,12 +1,15 @@
 package com.cts.service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
 
+import com.cts.model.CacheStats;
 import com.cts.model.OrderReport;
 import com.cts.model.OrderReportSent;
 import com.cts.model.OverAllStock;
+import com.cts.model.ProductPrice;
 import com.cts.model.StockDTO;
 import com.cts.model.SupplierReport;
 import com.cts.model.SupplierReportSent;
@@ -15,10 +18,21 @@ public interface ReportingAndAnalyticsService {
 
 	ResponseEntity<List<OrderReportSent>> getDetailsByDate(OrderReport orderReport);
 
+	// The orders of the part of the range that has orders; empty instead of 404 outside of it.
+	List<OrderReportSent> getOrdersWithinBounds(LocalDate startDate, LocalDate endDate);
+
+	ResponseEntity<List<OrderReportSent>> getArchivedDetailsByDate(OrderReport orderReport);
+
 	ResponseEntity<List<SupplierReportSent>> getSupplierDetailsByDate(SupplierReport supplierReport);
 
 	ResponseEntity<List<StockDTO>> getTheLowerStocks();
 
 	List<OverAllStock> getAllStocks();
+
+	List<StockDTO> getStockLevels();
+
+	List<ProductPrice> getProductPrices();
+
+	CacheStats getCacheStats();
 	
 }
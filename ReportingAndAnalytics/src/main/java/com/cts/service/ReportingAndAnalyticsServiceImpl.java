@@ -1,20 +1,27 @@
 package com.cts.service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import com.cts.cache.ReportCache;
 import com.cts.client.OrderManagementClient;
 import com.cts.client.ProductManagementClient;
 import com.cts.client.StockManagementClient;
 import com.cts.client.SupplierManagementClient;
+import com.cts.model.CacheStats;
+import com.cts.model.OrderDateRange;
 import com.cts.model.OrderReport;
 import com.cts.model.OrderReportSent;
 import com.cts.model.OverAllStock;
+import com.cts.model.ProductPrice;
 import com.cts.model.StockDTO;
 import com.cts.model.SupplierReport;
 import com.cts.model.SupplierReportSent;
+import com.cts.resilience.ResilientCaller;
+import com.cts.store.LocalReportStore;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,26 +33,77 @@ public class ReportingAndAnalyticsServiceImpl implements ReportingAndAnalyticsSe
 	private SupplierManagementClient sClient;
 	private StockManagementClient stClient;
 	private ProductManagementClient pClient;
+	private ReportCache cache;
+	private LocalReportStore store;
+	private ResilientCaller caller;
 	
 	public ReportingAndAnalyticsServiceImpl(OrderManagementClient oClient, SupplierManagementClient sClient,
-			StockManagementClient stClient, ProductManagementClient pClient) {
+			StockManagementClient stClient, ProductManagementClient pClient, ReportCache cache,
+			LocalReportStore store, ResilientCaller caller) {
 		this.oClient = oClient;
 		this.sClient = sClient;
 		this.stClient = stClient;
 		this.pClient = pClient;
+		this.cache = cache;
+		this.store = store;
+		this.caller = caller;
 	}
 
 	@Override
 	public ResponseEntity<List<OrderReportSent>> getDetailsByDate(OrderReport orderReport) {
          log.info("Fetching order details for date range:{}",orderReport);
-		return oClient.getDetailsByDate(orderReport);
+		String key = "orders:" + orderReport.getStartDate() + ":" + orderReport.getEndDate();
+		return cache.get(key,
+				() -> store.isReady()
+						? ResponseEntity.ok(store.getOrderReport(orderReport.getStartDate(), orderReport.getEndDate()))
+						: caller.call("ORDERMANAGEMENT", key, () -> oClient.getDetailsByDate(orderReport)));
+	}
+
+	/**
+	 * Clamps the range to the earliest and latest order dates before asking for it, because
+	 * OrderManagement rejects any range that reaches outside them. Analytics that pad their range,
+	 * e.g. for moving averages, then get the days that have orders instead of a 404.
+	 */
+	@Override
+	public List<OrderReportSent> getOrdersWithinBounds(LocalDate startDate, LocalDate endDate) {
+		OrderDateRange bounds = getOrderDateBounds();
+		if (bounds == null) {
+			return List.of();
+		}
+		LocalDate start = startDate.isBefore(bounds.getMin()) ? bounds.getMin() : startDate;
+		LocalDate end = endDate.isAfter(bounds.getMax()) ? bounds.getMax() : endDate;
+		if (end.isBefore(start)) {
+			return List.of();
+		}
+		List<OrderReportSent> rows = getDetailsByDate(new OrderReport(start, end)).getBody();
+		return rows == null ? List.of() : rows;
+	}
+
+	// Null while there are no orders. Read on every call and never from the report cache: a stale
+	// maximum would clamp away the newest days, which are the ones a dashboard asks for most.
+	private OrderDateRange getOrderDateBounds() {
+		return store.isReady()
+				? store.getOrderDateBounds().orElse(null)
+				: caller.call("ORDERMANAGEMENT", "orderDateBounds", () -> oClient.getDateBounds()).getBody();
+	}
+
+	@Override
+	public ResponseEntity<List<OrderReportSent>> getArchivedDetailsByDate(OrderReport orderReport) {
+		log.info("Fetching archived order details for date range:{}",orderReport);
+		String key = "archivedOrders:" + orderReport.getStartDate() + ":" + orderReport.getEndDate();
+		return cache.get(key,
+				() -> caller.call("ORDERMANAGEMENT", key, () -> oClient.getArchivedDetailsByDate(orderReport)));
 	}
 
 	@Override
 	public ResponseEntity<List<SupplierReportSent>> getSupplierDetailsByDate(SupplierReport supplierReport) {
 		log.info("Report Object:" + supplierReport);
 
-		return sClient.getSupplierInfoForReport(supplierReport);
+		String key = "suppliers:" + supplierReport.getStartDate() + ":" + supplierReport.getEndDate();
+		return cache.get(key,
+				() -> store.isReady()
+						? ResponseEntity.ok(store.getSuppliers(supplierReport.getStartDate(), supplierReport.getEndDate()))
+						: caller.call("SUPPLIERMANAGEMENT", key, () -> sClient.getSupplierInfoForReport(supplierReport)));
 	}
 
 	@Override
@@ -53,7 +111,9 @@ public class ReportingAndAnalyticsServiceImpl implements ReportingAndAnalyticsSe
 
 		log.info("Fetching low stock report from StockManagementClient");
 	 
-		return stClient.getLowStockReport();
+		return cache.get("lowStocks",
+				() -> store.isReady() ? ResponseEntity.ok(store.getLowStocks())
+						: caller.call("STOCKMANAGEMENT", "lowStocks", () -> stClient.getLowStockReport()));
 	}
 
 	@Override
@@ -61,7 +121,32 @@ public class ReportingAndAnalyticsServiceImpl implements ReportingAndAnalyticsSe
 
 		log.info("Fetching overall stock information from ProductManagementClient");
 
-		return pClient.getAllProductsStocks();
+		return cache.get("allStocks",
+				() -> caller.call("PRODUCTMANAGEMENT", "allStocks", () -> pClient.getAllProductsStocks()));
+	}
+
+	@Override
+	public List<StockDTO> getStockLevels() {
+
+		log.info("Fetching all stock levels from StockManagementClient");
+
+		return cache.get("stockLevels",
+				() -> store.isReady() ? store.getStockLevels()
+						: caller.call("STOCKMANAGEMENT", "stockLevels", () -> stClient.getAllStockLevels().getBody()));
+	}
+
+	@Override
+	public List<ProductPrice> getProductPrices() {
+
+		log.info("Fetching all product prices from ProductManagementClient");
+
+		return cache.get("productPrices",
+				() -> caller.call("PRODUCTMANAGEMENT", "productPrices", () -> pClient.getAllProducts()));
+	}
+
+	@Override
+	public CacheStats getCacheStats() {
+		return cache.getStats();
 	}
 
 }
@@ -0,0 +1,16 @@
+package com.cts.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.cts.model.DailySales;
+import com.cts.model.ProductSales;
+
+public interface SalesAnalyticsService {
+
+	List<ProductSales> getTopSellers(LocalDate startDate, LocalDate endDate, int limit);
+
+	List<ProductSales> getVelocities(LocalDate startDate, LocalDate endDate);
+
+	List<DailySales> getDailySales(int productId, LocalDate startDate, LocalDate endDate);
+}
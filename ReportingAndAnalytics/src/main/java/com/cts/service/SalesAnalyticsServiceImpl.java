@@ -0,0 +1,104 @@
+package com.cts.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cts.analytics.SalesSeries;
+import com.cts.model.DailySales;
+import com.cts.model.OrderReportSent;
+import com.cts.model.ProductSales;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsService {
+
+	// Windows of the moving averages, in days.
+	private static final int SHORT_WINDOW = 7;
+	private static final int LONG_WINDOW = 30;
+
+	private ReportingAndAnalyticsService reportService;
+	private int maxRangeDays;
+
+	public SalesAnalyticsServiceImpl(ReportingAndAnalyticsService reportService,
+			@Value("${analytics.sales.max-range-days:1096}") int maxRangeDays) {
+		this.reportService = reportService;
+		this.maxRangeDays = maxRangeDays;
+	}
+
+	@Override
+	public List<ProductSales> getTopSellers(LocalDate startDate, LocalDate endDate, int limit) {
+		if (limit < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be at least 1");
+		}
+		List<ProductSales> sales = getVelocities(startDate, endDate);
+		sales.sort(Comparator.comparingLong(ProductSales::getTotalQuantity).reversed());
+		return new ArrayList<>(sales.subList(0, Math.min(limit, sales.size())));
+	}
+
+	@Override
+	public List<ProductSales> getVelocities(LocalDate startDate, LocalDate endDate) {
+		checkRange(startDate, endDate);
+		SalesSeries series = load(startDate, endDate);
+		List<ProductSales> sales = new ArrayList<>(series.productCount());
+		for (int i = 0; i < series.productCount(); i++) {
+			sales.add(new ProductSales(series.productId(i), series.total(i), series.daysWithSales(i),
+					(double) series.total(i) / series.days()));
+		}
+		sales.sort(Comparator.comparingDouble(ProductSales::getDailyVelocity).reversed());
+		return sales;
+	}
+
+	@Override
+	public List<DailySales> getDailySales(int productId, LocalDate startDate, LocalDate endDate) {
+		checkRange(startDate, endDate);
+		// Start the series early so the averages of the first requested days cover full windows.
+		SalesSeries series = load(startDate.minusDays(LONG_WINDOW - 1), endDate);
+		int index = series.find(productId);
+		int offset = LONG_WINDOW - 1;
+		List<DailySales> days = new ArrayList<>(series.days() - offset);
+		if (index < 0) {
+			for (int d = offset; d < series.days(); d++) {
+				days.add(new DailySales(series.getStartDate().plusDays(d), 0, 0, 0));
+			}
+			return days;
+		}
+		double[] shortAverages = series.movingAverage(index, SHORT_WINDOW);
+		double[] longAverages = series.movingAverage(index, LONG_WINDOW);
+		for (int d = offset; d < series.days(); d++) {
+			days.add(new DailySales(series.getStartDate().plusDays(d), series.quantity(index, d), shortAverages[d],
+					longAverages[d]));
+		}
+		return days;
+	}
+
+	private void checkRange(LocalDate startDate, LocalDate endDate) {
+		if (endDate.isBefore(startDate)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date must not be before start date");
+		}
+		// Results have one entry per requested day, so the range itself has to be bounded.
+		if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxRangeDays) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Date range must not be longer than " + maxRangeDays + " days");
+		}
+	}
+
+	private SalesSeries load(LocalDate startDate, LocalDate endDate) {
+		// Days without any orders, e.g. the padding before the first order, are simply zero.
+		List<OrderReportSent> rows = reportService.getOrdersWithinBounds(startDate, endDate);
+		long start = System.nanoTime();
+		SalesSeries series = SalesSeries.of(rows, startDate, endDate);
+		log.info("Aggregated {} order rows into {} products over {} days in {} ms", rows.size(),
+				series.productCount(), series.days(), (System.nanoTime() - start) / 1_000_000);
+		return series;
+	}
+}
@@ -0,0 +1,10 @@
+package com.cts.service;
+
+import java.time.LocalDate;
+
+import com.cts.model.SupplierPerformanceReport;
+
+public interface SupplierAnalyticsService {
+
+	SupplierPerformanceReport getSupplierPerformance(LocalDate startDate, LocalDate endDate);
+}
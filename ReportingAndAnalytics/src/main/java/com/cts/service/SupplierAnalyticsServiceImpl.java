@@ -0,0 +1,76 @@
+package com.cts.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cts.analytics.SupplierStats;
+import com.cts.cache.ReportCache;
+import com.cts.model.StockDTO;
+import com.cts.model.SupplierPerformanceReport;
+import com.cts.model.SupplierReport;
+import com.cts.model.SupplierReportSent;
+import com.cts.store.LocalReportStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares suppliers by their deliveries and by how many of their products are low on stock.
+ * Deliveries are streamed from the local store into {@link SupplierStats}; the finished report is
+ * cached per date range.
+ */
+@Slf4j
+@Service
+public class SupplierAnalyticsServiceImpl implements SupplierAnalyticsService {
+
+	private ReportingAndAnalyticsService reportService;
+	private LocalReportStore store;
+	private ReportCache cache;
+
+	public SupplierAnalyticsServiceImpl(ReportingAndAnalyticsService reportService, LocalReportStore store,
+			ReportCache cache) {
+		this.reportService = reportService;
+		this.store = store;
+		this.cache = cache;
+	}
+
+	@Override
+	public SupplierPerformanceReport getSupplierPerformance(LocalDate startDate, LocalDate endDate) {
+		if (endDate.isBefore(startDate)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date must not be before start date");
+		}
+		return cache.get("supplierPerformance:" + startDate + ":" + endDate, () -> build(startDate, endDate));
+	}
+
+	private SupplierPerformanceReport build(LocalDate startDate, LocalDate endDate) {
+		LocalDateTime from = startDate.atStartOfDay();
+		LocalDateTime to = endDate.atTime(LocalTime.MAX);
+		long start = System.nanoTime();
+		SupplierStats stats = new SupplierStats();
+		if (store.isReady()) {
+			store.forEachSupplier(from, to, stats);
+		} else {
+			List<SupplierReportSent> rows = reportService.getSupplierDetailsByDate(new SupplierReport(from, to)).getBody();
+			if (rows != null) {
+				rows.forEach(stats);
+			}
+		}
+		List<StockDTO> lowStocks = reportService.getTheLowerStocks().getBody();
+		List<String> lowStockNames = new ArrayList<>();
+		if (lowStocks != null) {
+			for (StockDTO stock : lowStocks) {
+				lowStockNames.add(stock.getName());
+			}
+		}
+		SupplierPerformanceReport report = stats.report(startDate, endDate, lowStockNames);
+		log.info("Aggregated {} deliveries of {} suppliers in {} ms", report.getDeliveries(),
+				report.getSuppliers().size(), (System.nanoTime() - start) / 1_000_000);
+		return report;
+	}
+}
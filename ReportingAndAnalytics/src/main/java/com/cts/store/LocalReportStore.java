@@ -0,0 +1,95 @@
+package com.cts.store;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cts.model.OrderDateRange;
+import com.cts.model.OrderReportSent;
+import com.cts.model.StockDTO;
+import com.cts.model.SupplierReportSent;
+import com.cts.repository.OrderFactRepository;
+import com.cts.repository.StockFactRepository;
+import com.cts.repository.SupplierFactRepository;
+
+/**
+ * Answers reports from the local analytical tables filled by {@link LocalStoreSync}.
+ */
+@Component
+@Transactional(readOnly = true)
+public class LocalReportStore {
+
+	private final LocalStoreSync sync;
+	private final OrderFactRepository orderRepo;
+	private final StockFactRepository stockRepo;
+	private final SupplierFactRepository supplierRepo;
+
+	public LocalReportStore(LocalStoreSync sync, OrderFactRepository orderRepo, StockFactRepository stockRepo,
+			SupplierFactRepository supplierRepo) {
+		this.sync = sync;
+		this.orderRepo = orderRepo;
+		this.stockRepo = stockRepo;
+		this.supplierRepo = supplierRepo;
+	}
+
+	public boolean isReady() {
+		return sync.isReady();
+	}
+
+	/**
+	 * Returns the orders of a date range, one row per product and day.
+	 */
+	public List<OrderReportSent> getOrders(LocalDate startDate, LocalDate endDate) {
+		return orderRepo.findOrderReportByDateBetween(startDate, endDate);
+	}
+
+	/**
+	 * Answers OrderManagement's /getByDate: the orders of a date range, one row per product and day,
+	 * and 404 when the range reaches outside the dates that have orders.
+	 */
+	public List<OrderReportSent> getOrderReport(LocalDate startDate, LocalDate endDate) {
+		Optional<OrderDateRange> bounds = getOrderDateBounds();
+		if (bounds.isPresent() && (startDate.isBefore(bounds.get().getMin()) || endDate.isAfter(bounds.get().getMax()))) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+					"Requested date range is outside the available data range. Available data is from "
+							+ bounds.get().getMin() + " to " + bounds.get().getMax() + ".");
+		}
+		return getOrders(startDate, endDate);
+	}
+
+	/**
+	 * Returns the earliest and latest order dates, or empty if there are no orders.
+	 */
+	public Optional<OrderDateRange> getOrderDateBounds() {
+		Optional<LocalDate> min = orderRepo.findMinOrderDate();
+		Optional<LocalDate> max = orderRepo.findMaxOrderDate();
+		return min.isPresent() && max.isPresent() ? Optional.of(new OrderDateRange(min.get(), max.get())) : Optional.empty();
+	}
+
+	public List<StockDTO> getLowStocks() {
+		return stockRepo.findLowStockItems();
+	}
+
+	public List<StockDTO> getStockLevels() {
+		return stockRepo.findAllStockLevels();
+	}
+
+	public List<SupplierReportSent> getSuppliers(LocalDateTime startDate, LocalDateTime endDate) {
+		return supplierRepo.findSupplierReportByDateBetween(startDate, endDate);
+	}
+
+	// Passes the rows to the consumer while they are read, without holding them all in memory.
+	public void forEachSupplier(LocalDateTime startDate, LocalDateTime endDate, Consumer<SupplierReportSent> consumer) {
+		try (Stream<SupplierReportSent> rows = supplierRepo.streamSupplierReportByDateBetween(startDate, endDate)) {
+			rows.forEach(consumer);
+		}
+	}
+}
@@ -0,0 +1,192 @@
+package com.cts.store;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cts.client.OrderManagementClient;
+import com.cts.client.StockManagementClient;
+import com.cts.client.SupplierManagementClient;
+import com.cts.model.OrderFact;
+import com.cts.model.StockFact;
+import com.cts.model.SupplierFact;
+import com.cts.model.SyncWatermark;
+import com.cts.repository.SyncWatermarkRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the local analytical tables in step with OrderManagement, StockManagement and
+ * SupplierManagement, so date-range and stock reports are answered without loading their databases.
+ * <p>
+ * Each run pulls, per source, the rows modified after the stored watermark in pages of
+ * (lastModified, id) order and upserts them in one JDBC batch per page, together with the new
+ * watermark. The pull starts a little before the watermark, because a row stamped just before it
+ * may only have been committed after it was read; re-reading those rows is harmless.
+ * <p>
+ * Rows deleted upstream are kept; in particular orders moved to the OrderManagement archive after
+ * they were pulled stay available for local reports. Orders archived before the first pull are not
+ * in the local tables: the archive keeps only product, day and quantity, not the orders themselves,
+ * so they are read from {@code /archive/getByDate} like any other archived range.
+ */
+@Slf4j
+@Component
+public class LocalStoreSync {
+
+	static final String ORDERS = "orders";
+	static final String STOCK = "stock";
+	static final String SUPPLIERS = "suppliers";
+
+	private static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+	private final OrderManagementClient oClient;
+	private final StockManagementClient stClient;
+	private final SupplierManagementClient sClient;
+	private final SyncWatermarkRepository watermarkRepo;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transaction;
+	private final boolean enabled;
+	private final int pageSize;
+	private final long overlapMillis;
+
+	// Set once every source has been pulled completely; until then reports go to the live services.
+	private volatile boolean ready;
+
+	public LocalStoreSync(OrderManagementClient oClient, StockManagementClient stClient,
+			SupplierManagementClient sClient, SyncWatermarkRepository watermarkRepo, JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager,
+			@Value("${analytics.store.enabled:false}") boolean enabled,
+			@Value("${analytics.store.page-size:1000}") int pageSize,
+			@Value("${analytics.store.overlap-millis:10000}") long overlapMillis) {
+		this.oClient = oClient;
+		this.stClient = stClient;
+		this.sClient = sClient;
+		this.watermarkRepo = watermarkRepo;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transaction = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.pageSize = pageSize;
+		this.overlapMillis = overlapMillis;
+	}
+
+	/**
+	 * Returns true when the local tables can answer reports.
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	@Scheduled(fixedDelayString = "${analytics.store.sync-interval-millis:30000}")
+	public void sync() {
+		if (!enabled) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		try {
+			int orders = pull(ORDERS,
+					(since, afterId) -> oClient.getChangesSince(since.toString(), afterId, pageSize),
+					OrderFact::getLastModified, OrderFact::getOrderId, this::upsertOrders);
+			int stock = pull(STOCK,
+					(since, afterId) -> stClient.getChangesSince(since.toString(), afterId, pageSize),
+					StockFact::getLastModified, StockFact::getProductID, this::upsertStock);
+			int suppliers = pull(SUPPLIERS,
+					(since, afterId) -> sClient.getChangesSince(since.toString(), afterId, pageSize),
+					SupplierFact::getLastModified, SupplierFact::getSupplierID, this::upsertSuppliers);
+			ready = true;
+			log.info("Local store synced {} orders, {} stock rows, {} suppliers in {} ms", orders, stock, suppliers,
+					System.currentTimeMillis() - start);
+		} catch (RuntimeException e) {
+			// The next run resumes from the last stored watermark.
+			log.warn("Local store sync failed: {}", e.getMessage());
+		}
+	}
+
+	private <T> int pull(String source, ChangeFeed<T> feed, Function<T, LocalDateTime> modifiedAt,
+			ToIntFunction<T> id, Consumer<List<T>> upsert) {
+		LocalDateTime watermark = watermarkRepo.findById(source).map(SyncWatermark::getLastModified).orElse(ORIGIN);
+		LocalDateTime since = watermark.minusNanos(overlapMillis * 1_000_000);
+		int afterId = 0;
+		int total = 0;
+		List<T> page;
+		do {
+			page = feed.fetch(since, afterId);
+			if (page.isEmpty()) {
+				break;
+			}
+			T last = page.get(page.size() - 1);
+			since = modifiedAt.apply(last);
+			afterId = id.applyAsInt(last);
+			List<T> rows = page;
+			SyncWatermark next = new SyncWatermark(source, since, afterId);
+			transaction.executeWithoutResult(status -> {
+				upsert.accept(rows);
+				watermarkRepo.save(next);
+			});
+			total += page.size();
+		} while (page.size() == pageSize);
+		return total;
+	}
+
+	private void upsertOrders(List<OrderFact> orders) {
+		jdbcTemplate.batchUpdate("INSERT INTO analytics_order "
+				+ "(order_id, product_id, quantity, order_date, status, last_modified) VALUES (?, ?, ?, ?, ?, ?) "
+				+ "ON DUPLICATE KEY UPDATE product_id = VALUES(product_id), quantity = VALUES(quantity), "
+				+ "order_date = VALUES(order_date), status = VALUES(status), last_modified = VALUES(last_modified)",
+				orders, orders.size(), (ps, o) -> {
+					ps.setInt(1, o.getOrderId());
+					ps.setInt(2, o.getProductId());
+					ps.setInt(3, o.getQuantity());
+					ps.setDate(4, o.getOrderDate() == null ? null : Date.valueOf(o.getOrderDate()));
+					ps.setString(5, o.getStatus());
+					ps.setTimestamp(6, Timestamp.valueOf(o.getLastModified()));
+				});
+	}
+
+	private void upsertStock(List<StockFact> stock) {
+		jdbcTemplate.batchUpdate("INSERT INTO analytics_stock "
+				+ "(product_id, name, quantity, reorder_level, last_modified) VALUES (?, ?, ?, ?, ?) "
+				+ "ON DUPLICATE KEY UPDATE name = VALUES(name), quantity = VALUES(quantity), "
+				+ "reorder_level = VALUES(reorder_level), last_modified = VALUES(last_modified)",
+				stock, stock.size(), (ps, s) -> {
+					ps.setInt(1, s.getProductID());
+					ps.setString(2, s.getName());
+					ps.setInt(3, s.getQuantity());
+					ps.setInt(4, s.getReorderLevel());
+					ps.setTimestamp(5, Timestamp.valueOf(s.getLastModified()));
+				});
+	}
+
+	private void upsertSuppliers(List<SupplierFact> suppliers) {
+		jdbcTemplate.batchUpdate("INSERT INTO analytics_supplier "
+				+ "(supplier_id, name, products_supplied, quantity, date, last_modified) VALUES (?, ?, ?, ?, ?, ?) "
+				+ "ON DUPLICATE KEY UPDATE name = VALUES(name), products_supplied = VALUES(products_supplied), "
+				+ "quantity = VALUES(quantity), date = VALUES(date), last_modified = VALUES(last_modified)",
+				suppliers, suppliers.size(), (ps, s) -> {
+					ps.setInt(1, s.getSupplierID());
+					ps.setString(2, s.getName());
+					ps.setString(3, s.getProductsSupplied());
+					ps.setInt(4, s.getQuantity());
+					ps.setTimestamp(5, s.getDate() == null ? null : Timestamp.valueOf(s.getDate()));
+					ps.setTimestamp(6, Timestamp.valueOf(s.getLastModified()));
+				});
+	}
+
+	/**
+	 * One page of a change feed, starting after the (lastModified, id) position given.
+	 */
+	@FunctionalInterface
+	private interface ChangeFeed<T> {
+		List<T> fetch(LocalDateTime since, int afterId);
+	}
+}
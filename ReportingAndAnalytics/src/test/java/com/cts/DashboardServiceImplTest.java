@@ -0,0 +1,130 @@
+package com.cts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.cts.client.OrderManagementClient;
+import com.cts.client.ProductManagementClient;
+import com.cts.client.StockManagementClient;
+import com.cts.client.SupplierManagementClient;
+import com.cts.model.DashboardReport;
+import com.cts.model.OrderReport;
+import com.cts.model.OrderReportSent;
+import com.cts.model.OverAllStock;
+import com.cts.model.StockDTO;
+import com.cts.model.SupplierReport;
+import com.cts.resilience.RequestDeadline;
+import com.cts.resilience.ResilientCaller;
+import com.cts.service.DashboardServiceImpl;
+
+/**
+ * Unit tests for the concurrent dashboard fan-out, using mocked Feign clients.
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+    @Mock
+    private OrderManagementClient oClient;
+
+    @Mock
+    private SupplierManagementClient sClient;
+
+    @Mock
+    private StockManagementClient stClient;
+
+    @Mock
+    private ProductManagementClient pClient;
+
+    private ExecutorService executor;
+    private ExecutorService callExecutor;
+    private ScheduledExecutorService scheduler;
+    private DashboardServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        callExecutor = Executors.newFixedThreadPool(4);
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        // 5 s default deadline, no hedging, circuit opens after 5 failures
+        ResilientCaller caller = new ResilientCaller(callExecutor, scheduler, 5_000, false, 50, 5, 10_000, 100, 60_000);
+        service = new DashboardServiceImpl(oClient, sClient, stClient, pClient, caller, executor, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        callExecutor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should return the other sections when one source fails or is too slow")
+    void testGetDashboard_PartialResults() {
+        // 1. Arrange: orders succeed, suppliers fail, low stocks are too slow, all stocks succeed.
+        List<OrderReportSent> orders = Collections.singletonList(new OrderReportSent(1, LocalDate.now(), 5));
+        when(oClient.getDetailsByDate(any(OrderReport.class))).thenReturn(new ResponseEntity<>(orders, HttpStatus.OK));
+        when(sClient.getSupplierInfoForReport(any(SupplierReport.class))).thenThrow(new IllegalStateException("down"));
+        when(stClient.getLowStockReport()).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return new ResponseEntity<>(Collections.singletonList(new StockDTO()), HttpStatus.OK);
+        });
+        when(pClient.getAllProductsStocks()).thenReturn(Collections.singletonList(new OverAllStock()));
+
+        // 2. Act
+        DashboardReport report = service.getDashboard(LocalDate.now().minusDays(1), LocalDate.now());
+
+        // 3. Assert
+        assertEquals(orders, report.getOrders());
+        assertNull(report.getSuppliers());
+        assertNull(report.getLowStocks());
+        assertEquals(1, report.getAllStocks().size());
+        assertEquals("OK", report.getSources().get("orders").getStatus());
+        assertEquals("ERROR", report.getSources().get("suppliers").getStatus());
+        assertEquals("TIMEOUT", report.getSources().get("lowStocks").getStatus());
+        assertEquals("OK", report.getSources().get("allStocks").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should make every call under the deadline of the incoming request")
+    void testGetDashboard_PropagatesDeadline() {
+        // 1. Arrange: a request deadline shorter than the 200 ms fan-out timeout.
+        Long deadline = System.nanoTime() + 100_000_000L;
+        AtomicReference<Long> seen = new AtomicReference<>();
+        when(oClient.getDetailsByDate(any(OrderReport.class))).thenAnswer(invocation -> {
+            seen.set(RequestDeadline.get());
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
+        });
+        when(sClient.getSupplierInfoForReport(any(SupplierReport.class)))
+                .thenReturn(new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK));
+        when(stClient.getLowStockReport()).thenReturn(new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK));
+        when(pClient.getAllProductsStocks()).thenReturn(Collections.emptyList());
+
+        // 2. Act
+        DashboardReport report = RequestDeadline.callWith(deadline,
+                () -> service.getDashboard(LocalDate.now().minusDays(1), LocalDate.now()));
+
+        // 3. Assert
+        assertEquals("OK", report.getSources().get("orders").getStatus());
+        assertEquals(deadline, seen.get());
+    }
+}
@@ -0,0 +1,104 @@
+package com.cts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import com.cts.client.StockManagementClient;
+import com.cts.model.OrderReportSent;
+import com.cts.model.ReorderRecommendation;
+import com.cts.service.ForecastServiceImpl;
+import com.cts.store.LocalReportStore;
+
+/**
+ * Unit tests for the incremental demand forecast and the reorder level push.
+ */
+@ExtendWith(MockitoExtension.class)
+class ForecastServiceImplTest {
+
+    @Mock
+    private LocalReportStore store;
+
+    @Mock
+    private StockManagementClient stClient;
+
+    private ForecastServiceImpl service;
+
+    private final LocalDate day = LocalDate.of(2025, 3, 10);
+
+    @BeforeEach
+    void setUp() {
+        // alpha 0.5, 2 days of history, 2 days lead time, 10 days cover, no safety stock
+        service = new ForecastServiceImpl(store, stClient, 0.5, 2, 2, 10, 0, 100, false);
+    }
+
+    @Test
+    @DisplayName("Should smooth daily demand and only read new days on later runs")
+    void testIncrementalUpdate() {
+        // 1. Arrange
+        when(store.getOrders(day.minusDays(1), day))
+            .thenReturn(List.of(new OrderReportSent(7, day.minusDays(1), 10), new OrderReportSent(7, day, 20)));
+        when(store.getOrders(day.plusDays(1), day.plusDays(1))).thenReturn(List.of());
+
+        // 2. Act
+        assertTrue(service.advance(day));
+        assertFalse(service.advance(day));
+        assertTrue(service.advance(day.plusDays(1)));
+
+        // 3. Assert: 10, then 10 + 0.5 * (20 - 10) = 15, then 15 + 0.5 * (0 - 15) = 7.5
+        List<ReorderRecommendation> recommendations = service.getRecommendations();
+        assertEquals(1, recommendations.size());
+        assertEquals(7.5, recommendations.get(0).getDailyDemand(), 1e-9);
+        assertEquals(15, recommendations.get(0).getReorderPoint());
+        assertEquals(75, recommendations.get(0).getReorderQuantity());
+    }
+
+    @Test
+    @DisplayName("Should push only reorder levels that changed since the last push")
+    void testPushOnlyChangedLevels() {
+        // 1. Arrange
+        when(store.getOrders(day.minusDays(1), day))
+            .thenReturn(List.of(new OrderReportSent(7, day.minusDays(1), 4), new OrderReportSent(7, day, 4)));
+        when(stClient.updateReorderLevels(anyList())).thenReturn(ResponseEntity.ok(1));
+        service.advance(day);
+
+        // 2. Act
+        int first = service.pushReorderLevels();
+        int second = service.pushReorderLevels();
+
+        // 3. Assert
+        assertEquals(1, first);
+        assertEquals(0, second);
+        verify(stClient, times(1)).updateReorderLevels(anyList());
+    }
+
+    @Test
+    @DisplayName("Should not read orders before the local store is ready")
+    void testWaitsForLocalStore() {
+        // 1. Arrange
+        when(store.isReady()).thenReturn(false);
+
+        // 2. Act
+        service.update();
+
+        // 3. Assert
+        verify(store, never()).getOrders(any(), any());
+    }
+}
@@ -0,0 +1,106 @@
+package com.cts.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.cts.model.OrderReportSent;
+
+/**
+ * Unit tests for the single-pass daily sales aggregation.
+ */
+class SalesSeriesTest {
+
+    private final LocalDate start = LocalDate.of(2025, 1, 1);
+
+    @Test
+    @DisplayName("Should sum quantities per product and day and ignore rows outside the range")
+    void testAggregatesPerProductAndDay() {
+        // 1. Arrange
+        List<OrderReportSent> rows = List.of(
+                new OrderReportSent(7, start, 2),
+                new OrderReportSent(7, start.plusDays(2), 3),
+                new OrderReportSent(7, start.plusDays(2), 1),
+                new OrderReportSent(9, start.plusDays(1), 5),
+                new OrderReportSent(7, start.plusDays(10), 100));
+
+        // 2. Act
+        SalesSeries series = SalesSeries.of(rows, start, start.plusDays(3));
+
+        // 3. Assert
+        assertEquals(2, series.productCount());
+        int index = series.find(7);
+        assertEquals(6, series.total(index));
+        assertEquals(2, series.daysWithSales(index));
+        assertEquals(2, series.quantity(index, 0));
+        assertEquals(0, series.quantity(index, 1));
+        assertEquals(4, series.quantity(index, 2));
+        assertEquals(0, series.quantity(index, 3));
+        assertEquals(-1, series.find(42));
+    }
+
+    @Test
+    @DisplayName("Should compute trailing moving averages over the window")
+    void testMovingAverage() {
+        // 1. Arrange
+        List<OrderReportSent> rows = List.of(
+                new OrderReportSent(1, start, 4),
+                new OrderReportSent(1, start.plusDays(1), 2),
+                new OrderReportSent(1, start.plusDays(2), 6));
+
+        // 2. Act
+        SalesSeries series = SalesSeries.of(rows, start, start.plusDays(3));
+        double[] averages = series.movingAverage(series.find(1), 2);
+
+        // 3. Assert
+        assertArrayEquals(new double[] { 2.0, 3.0, 4.0, 3.0 }, averages);
+    }
+
+    @Test
+    @DisplayName("Should keep every product when the index table grows")
+    void testManyProducts() {
+        // 1. Arrange
+        List<OrderReportSent> rows = new ArrayList<>();
+        for (int productId = 1; productId <= 1000; productId++) {
+            rows.add(new OrderReportSent(productId, start, productId));
+        }
+
+        // 2. Act
+        SalesSeries series = SalesSeries.of(rows, start, start);
+
+        // 3. Assert
+        assertEquals(1000, series.productCount());
+        for (int productId = 1; productId <= 1000; productId++) {
+            assertEquals(productId, series.total(series.find(productId)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should read the days around the order rows as zero")
+    void testDaysOutsideTheRows() {
+        // 1. Arrange: a long range with orders on two days in the middle.
+        List<OrderReportSent> rows = List.of(
+                new OrderReportSent(3, start.plusDays(500), 4),
+                new OrderReportSent(3, start.plusDays(502), 2));
+
+        // 2. Act
+        SalesSeries series = SalesSeries.of(rows, start, start.plusDays(999));
+        int index = series.find(3);
+        double[] averages = series.movingAverage(index, 3);
+
+        // 3. Assert
+        assertEquals(1000, series.days());
+        assertEquals(0, series.quantity(index, 0));
+        assertEquals(4, series.quantity(index, 500));
+        assertEquals(2, series.quantity(index, 502));
+        assertEquals(0, series.quantity(index, 999));
+        assertEquals(2.0, averages[502], 1e-9);
+        assertEquals(0.0, averages[999], 1e-9);
+    }
+}
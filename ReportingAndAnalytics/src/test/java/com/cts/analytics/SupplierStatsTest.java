@@ -0,0 +1,63 @@
+package com.cts.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.cts.model.SupplierPerformance;
+import com.cts.model.SupplierPerformanceReport;
+import com.cts.model.SupplierReportSent;
+
+/**
+ * Unit tests for the streaming aggregation of supplier deliveries.
+ */
+class SupplierStatsTest {
+
+    private final LocalDate start = LocalDate.of(2025, 3, 3);
+    private final LocalDate end = LocalDate.of(2025, 3, 16);
+
+    @Test
+    @DisplayName("Should total deliveries per supplier and week and match low stock products by name")
+    void testSupplierPerformance() {
+        // 1. Arrange
+        SupplierStats stats = new SupplierStats();
+        List.of(
+            new SupplierReportSent("Acme Traders", "TV", LocalDateTime.of(2025, 3, 3, 9, 0), 10),
+            new SupplierReportSent("Acme Traders", "Fridge", LocalDateTime.of(2025, 3, 5, 9, 0), 20),
+            new SupplierReportSent("Acme Traders", "TV", LocalDateTime.of(2025, 3, 11, 9, 0), 30),
+            new SupplierReportSent("Bharat Supplies", "Radio", LocalDateTime.of(2025, 3, 12, 9, 0), 5))
+            .forEach(stats);
+
+        // 2. Act
+        SupplierPerformanceReport report = stats.report(start, end, List.of(" tv ", "Radio", "Lamp"));
+
+        // 3. Assert
+        assertEquals(4, report.getDeliveries());
+        assertEquals(65, report.getQuantitySupplied());
+        assertEquals(2.0 / 3, report.getLowStockRate(), 1e-9);
+
+        SupplierPerformance acme = report.getSuppliers().get(0);
+        assertEquals("Acme Traders", acme.getName());
+        assertEquals(3, acme.getDeliveries());
+        assertEquals(60, acme.getQuantitySupplied());
+        assertEquals(20.0, acme.getAverageQuantity(), 1e-9);
+        assertEquals(4.0, acme.getAverageDaysBetweenDeliveries(), 1e-9);
+        assertEquals(2, acme.getProductsSupplied());
+        assertEquals(1, acme.getLowStockProducts());
+        assertEquals(0.5, acme.getLowStockRate(), 1e-9);
+        assertEquals(2, acme.getWeekly().size());
+        assertEquals(LocalDate.of(2025, 3, 3), acme.getWeekly().get(0).getWeekStart());
+        assertEquals(30, acme.getWeekly().get(0).getQuantity());
+        assertEquals(LocalDate.of(2025, 3, 10), acme.getWeekly().get(1).getWeekStart());
+
+        SupplierPerformance bharat = report.getSuppliers().get(1);
+        assertEquals(1.0, bharat.getLowStockRate(), 1e-9);
+        assertNull(bharat.getAverageDaysBetweenDeliveries());
+    }
+}
@@ -0,0 +1,103 @@
+package com.cts.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.cts.model.OrderReportSent;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Compares JSON and CBOR, each with and without gzip, for an order report payload: encoded size
+ * and the time to encode on the producer plus decode on the consumer.
+ * <p>
+ * Not a unit test; run it from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=com.cts.benchmark.ReportPayloadBenchmark -Dexec.classpathScope=test}.
+ * Optional arguments: number of rows (default 200000) and measured iterations (default 10).
+ */
+public class ReportPayloadBenchmark {
+
+	private static final TypeReference<List<OrderReportSent>> ROWS = new TypeReference<>() {
+	};
+
+	public static void main(String[] args) throws IOException {
+		int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		List<OrderReportSent> report = sampleReport(rows);
+
+		// Same date handling as the Spring Boot ObjectMapper used by the controllers.
+		ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		ObjectMapper cbor = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+
+		System.out.printf("%d rows, %d iterations%n", rows, iterations);
+		System.out.printf("%-10s %12s %12s %12s%n", "encoding", "bytes", "encode ms", "decode ms");
+		for (boolean gzip : new boolean[] { false, true }) {
+			run("json" + (gzip ? "+gzip" : ""), json, gzip, report, iterations);
+			run("cbor" + (gzip ? "+gzip" : ""), cbor, gzip, report, iterations);
+		}
+	}
+
+	private static void run(String name, ObjectMapper mapper, boolean gzip, List<OrderReportSent> report,
+			int iterations) throws IOException {
+		// Warm up the JIT before measuring.
+		for (int i = 0; i < 3; i++) {
+			decode(mapper, gzip, encode(mapper, gzip, report));
+		}
+		long encodeNanos = 0;
+		long decodeNanos = 0;
+		byte[] payload = null;
+		for (int i = 0; i < iterations; i++) {
+			long start = System.nanoTime();
+			payload = encode(mapper, gzip, report);
+			long encoded = System.nanoTime();
+			List<OrderReportSent> decoded = decode(mapper, gzip, payload);
+			decodeNanos += System.nanoTime() - encoded;
+			encodeNanos += encoded - start;
+			if (decoded.size() != report.size()) {
+				throw new IllegalStateException("Decoded " + decoded.size() + " of " + report.size() + " rows");
+			}
+		}
+		System.out.printf("%-10s %12d %12.1f %12.1f%n", name, payload.length, encodeNanos / 1e6 / iterations,
+				decodeNanos / 1e6 / iterations);
+	}
+
+	private static byte[] encode(ObjectMapper mapper, boolean gzip, List<OrderReportSent> report) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+			mapper.writeValue(out, report);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static List<OrderReportSent> decode(ObjectMapper mapper, boolean gzip, byte[] payload) throws IOException {
+		try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(payload))
+				: new ByteArrayInputStream(payload)) {
+			return mapper.readValue(in, ROWS);
+		}
+	}
+
+	// One row per product and day, as returned by the rollup-backed order report.
+	private static List<OrderReportSent> sampleReport(int rows) {
+		Random random = new Random(42);
+		LocalDate start = LocalDate.of(2024, 1, 1);
+		List<OrderReportSent> report = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			report.add(new OrderReportSent(1 + random.nextInt(5000), start.plusDays(random.nextInt(365)),
+					1 + random.nextInt(200)));
+		}
+		return report;
+	}
+}
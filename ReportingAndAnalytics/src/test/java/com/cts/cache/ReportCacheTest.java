@@ -0,0 +1,158 @@
+package com.cts.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the TTL, stale-while-revalidate, coalescing and LRU behaviour of the report cache.
+ * The cache reads the time from a clock the tests advance by hand.
+ */
+class ReportCacheTest {
+
+    private static final long TTL_MILLIS = 1_000;
+    private static final long STALE_MILLIS = 5_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private ExecutorService refreshExecutor;
+    private ReportCache cache;
+
+    @BeforeEach
+    void setUp() {
+        refreshExecutor = Executors.newSingleThreadExecutor();
+        cache = new ReportCache(TTL_MILLIS, STALE_MILLIS, 2, refreshExecutor, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should serve a fresh entry until the TTL and reload it once the stale window has passed")
+    void testTtlExpiry() {
+        // 1. Arrange
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("orders", () -> "v" + loads.incrementAndGet());
+
+        // 2. Act
+        now.addAndGet(TTL_MILLIS - 1);
+        String fresh = cache.get("orders", () -> "v" + loads.incrementAndGet());
+        now.addAndGet(STALE_MILLIS + 1);
+        String expired = cache.get("orders", () -> "v" + loads.incrementAndGet());
+
+        // 3. Assert
+        assertEquals("v1", fresh);
+        assertEquals("v2", expired);
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(2, cache.getStats().getMisses());
+    }
+
+    @Test
+    @DisplayName("Should serve a stale entry at once and refresh it with a single background load")
+    void testStaleWhileRevalidate() throws Exception {
+        // 1. Arrange
+        cache.get("orders", () -> "old");
+        now.addAndGet(TTL_MILLIS + 1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger refreshLoads = new AtomicInteger();
+
+        // 2. Act: both lookups fall in the stale window while the refresh is held.
+        String first = cache.get("orders", () -> {
+            refreshLoads.incrementAndGet();
+            await(release);
+            return "new";
+        });
+        String second = cache.get("orders", () -> {
+            refreshLoads.incrementAndGet();
+            return "other";
+        });
+        release.countDown();
+        refreshExecutor.shutdown();
+        assertTrue(refreshExecutor.awaitTermination(5, TimeUnit.SECONDS));
+
+        // 3. Assert
+        assertEquals("old", first);
+        assertEquals("old", second);
+        assertEquals(1, refreshLoads.get());
+        assertEquals(1, cache.getStats().getRefreshes());
+        assertEquals("new", cache.get("orders", () -> "unused"));
+    }
+
+    @Test
+    @DisplayName("Should share one load between concurrent misses on the same key")
+    void testCoalescedMisses() throws Exception {
+        // 1. Arrange
+        int callers = 5;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        try {
+            // 2. Act: the first caller holds the load until the others have joined it.
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> cache.get("orders", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "loaded";
+                })));
+            }
+            long waitUntil = System.currentTimeMillis() + 5_000;
+            while (cache.getStats().getCoalesced() < callers - 1 && System.currentTimeMillis() < waitUntil) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // 3. Assert
+            for (Future<String> result : results) {
+                assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(callers - 1, cache.getStats().getCoalesced());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry once the cache is full")
+    void testLruEviction() {
+        // 1. Arrange: the cache holds two entries; reading "a" makes "b" the least recently used.
+        cache.get("a", () -> "a1");
+        cache.get("b", () -> "b1");
+        cache.get("a", () -> "unused");
+
+        // 2. Act
+        cache.get("c", () -> "c1");
+
+        // 3. Assert
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getSize());
+        assertEquals("a1", cache.get("a", () -> "a2"));
+        assertEquals("b2", cache.get("b", () -> "b2"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
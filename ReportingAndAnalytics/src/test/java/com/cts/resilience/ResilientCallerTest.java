@@ -0,0 +1,176 @@
+package com.cts.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Unit tests for deadline-bounded, hedged and circuit-broken downstream calls.
+ */
+class ResilientCallerTest {
+
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduler;
+    private ResilientCaller caller;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        // 500 ms deadline, hedge after at least 20 ms, circuit opens after 2 failures for 10 s
+        caller = new ResilientCaller(executor, scheduler, 500, true, 20, 2, 10_000, 100, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should answer from the hedged call when the first attempt is slow")
+    void testHedgedCall() {
+        // 1. Arrange: enough fast calls for a p95 latency.
+        for (int i = 0; i < 20; i++) {
+            caller.call("STOCKMANAGEMENT", "warmup", () -> "fast");
+        }
+        AtomicInteger attempts = new AtomicInteger();
+
+        // 2. Act
+        long start = System.currentTimeMillis();
+        String result = caller.call("STOCKMANAGEMENT", "lowStocks", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(2_000);
+                return "slow";
+            }
+            return "hedged";
+        });
+
+        // 3. Assert
+        assertEquals("hedged", result);
+        assertEquals(2, attempts.get());
+        assertEquals(true, System.currentTimeMillis() - start < 500);
+    }
+
+    @Test
+    @DisplayName("Should serve the last good response and stop calling once the circuit is open")
+    void testFallbackAndOpenCircuit() {
+        // 1. Arrange
+        caller.call("PRODUCTMANAGEMENT", "allStocks", () -> "good");
+        AtomicInteger attempts = new AtomicInteger();
+
+        // 2. Act
+        for (int i = 0; i < 4; i++) {
+            String result = caller.call("PRODUCTMANAGEMENT", "allStocks", () -> {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("down");
+            });
+            assertEquals("good", result);
+        }
+
+        // 3. Assert: only the two calls before the circuit opened reached the service.
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should fail with 503 when a call fails and there is no earlier response")
+    void testFailureWithoutFallback() {
+        assertThrows(ResponseStatusException.class, () -> caller.call("ORDERMANAGEMENT", "orders", () -> {
+            throw new IllegalStateException("down");
+        }));
+    }
+
+    @Test
+    @DisplayName("Should give up at the deadline of the request")
+    void testDeadline() {
+        Long deadline = System.nanoTime() + 100_000_000L;
+
+        long start = System.currentTimeMillis();
+        assertThrows(ResponseStatusException.class, () -> RequestDeadline.callWith(deadline,
+                () -> caller.call("SUPPLIERMANAGEMENT", "suppliers", () -> {
+                    sleep(2_000);
+                    return "late";
+                })));
+
+        assertEquals(true, System.currentTimeMillis() - start < 400);
+    }
+
+    @Test
+    @DisplayName("Should fail fast without opening the circuit when the request has no time left")
+    void testSpentBudget() {
+        // 1. Arrange
+        Long spent = System.nanoTime() - 1_000_000L;
+        AtomicInteger attempts = new AtomicInteger();
+
+        // 2. Act: more spent calls than the failure threshold of 2.
+        for (int i = 0; i < 3; i++) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> RequestDeadline.callWith(
+                    spent, () -> caller.call("SUPPLIERMANAGEMENT", "suppliers", attempts::incrementAndGet)));
+            assertEquals(HttpStatus.GATEWAY_TIMEOUT, e.getStatusCode());
+        }
+
+        // 3. Assert: nothing reached the service and the circuit is still closed.
+        assertEquals(0, attempts.get());
+        assertEquals(1, caller.call("SUPPLIERMANAGEMENT", "suppliers", attempts::incrementAndGet));
+    }
+
+    @Test
+    @DisplayName("Should not serve a last good response older than the maximum age")
+    void testFallbackMaxAge() {
+        // 1. Arrange: fallbacks expire after 50 ms.
+        ResilientCaller shortLived = new ResilientCaller(executor, scheduler, 500, false, 20, 5, 10_000, 100, 50);
+        shortLived.call("PRODUCTMANAGEMENT", "allStocks", () -> "good");
+
+        // 2. Act & 3. Assert
+        assertEquals("good", shortLived.call("PRODUCTMANAGEMENT", "allStocks", () -> {
+            throw new IllegalStateException("down");
+        }));
+        sleep(100);
+        assertThrows(ResponseStatusException.class, () -> shortLived.call("PRODUCTMANAGEMENT", "allStocks", () -> {
+            throw new IllegalStateException("down");
+        }));
+    }
+
+    @Test
+    @DisplayName("Should try the circuit again after a trial call was interrupted")
+    void testInterruptedTrial() {
+        // 1. Arrange: open the circuit for 50 ms.
+        ResilientCaller breaker = new ResilientCaller(executor, scheduler, 500, false, 20, 2, 50, 100, 60_000);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ResponseStatusException.class, () -> breaker.call("STOCKMANAGEMENT", "lowStocks", () -> {
+                throw new IllegalStateException("down");
+            }));
+        }
+        sleep(100);
+
+        // 2. Act: the trial call is interrupted before it records an outcome.
+        Thread.currentThread().interrupt();
+        assertThrows(ResponseStatusException.class, () -> breaker.call("STOCKMANAGEMENT", "lowStocks", () -> {
+            sleep(200);
+            return "late";
+        }));
+        Thread.interrupted();
+
+        // 3. Assert: the next call is let through as a new trial.
+        assertEquals("up", breaker.call("STOCKMANAGEMENT", "lowStocks", () -> "up"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
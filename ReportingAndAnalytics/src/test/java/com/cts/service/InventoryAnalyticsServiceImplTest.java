@@ -0,0 +1,104 @@
+package com.cts.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cts.model.InventoryReport;
+import com.cts.model.InventoryValuation;
+import com.cts.model.OrderReportSent;
+import com.cts.model.ProductPrice;
+import com.cts.model.StockDTO;
+
+/**
+ * Unit tests for the inventory valuation join of prices, stock levels and orders.
+ */
+@ExtendWith(MockitoExtension.class)
+class InventoryAnalyticsServiceImplTest {
+
+    @Mock
+    private ReportingAndAnalyticsService reportService;
+
+    @InjectMocks
+    private InventoryAnalyticsServiceImpl service;
+
+    private final LocalDate start = LocalDate.of(2025, 3, 1);
+    private final LocalDate end = LocalDate.of(2025, 3, 10);
+
+    @Test
+    @DisplayName("Should value stock and compute cover and turnover per product and overall")
+    void testInventoryValuation() {
+        // 1. Arrange
+        when(reportService.getProductPrices()).thenReturn(List.of(
+            new ProductPrice(1, "Pen", 10), new ProductPrice(2, "Book", 50)));
+        when(reportService.getStockLevels()).thenReturn(List.of(
+            new StockDTO(1, "Pen", 100), new StockDTO(2, "Book", 0), new StockDTO(3, "Lamp", 4)));
+        when(reportService.getOrdersWithinBounds(start, end)).thenReturn(List.of(
+            new OrderReportSent(1, start, 30), new OrderReportSent(1, end, 20), new OrderReportSent(2, start, 5)));
+
+        // 2. Act
+        InventoryReport report = service.getInventoryValuation(start, end);
+
+        // 3. Assert
+        assertEquals(3, report.getProducts().size());
+        InventoryValuation pen = report.getProducts().get(0);
+        assertEquals(1, pen.getProductId());
+        assertEquals(1000, pen.getStockValue());
+        assertEquals(50, pen.getUnitsSold());
+        assertEquals(500, pen.getSalesValue());
+        assertEquals(5.0, pen.getDailyVelocity(), 1e-9);
+        assertEquals(20.0, pen.getDaysOfCover(), 1e-9);
+        assertEquals(0.5, pen.getTurnover(), 1e-9);
+
+        InventoryValuation book = report.getProducts().stream().filter(v -> v.getProductId() == 2).findFirst().get();
+        assertEquals(0, book.getStockValue());
+        assertEquals(0.0, book.getDaysOfCover(), 1e-9);
+        assertNull(book.getTurnover());
+
+        // Stock without a product is kept, valued at zero, and has no sales.
+        InventoryValuation lamp = report.getProducts().stream().filter(v -> v.getProductId() == 3).findFirst().get();
+        assertEquals(4, lamp.getStockQuantity());
+        assertEquals(0, lamp.getStockValue());
+        assertNull(lamp.getDaysOfCover());
+
+        assertEquals(1000, report.getTotalStockValue());
+        assertEquals(750, report.getTotalSalesValue());
+        assertEquals(1000 / 75.0, report.getDaysOfCover(), 1e-9);
+        assertEquals(0.75, report.getTurnover(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should value stock without sales for a range that has no orders")
+    void testRangeWithoutOrders() {
+        // 1. Arrange: the range lies outside the order dates, so no order rows come back.
+        when(reportService.getProductPrices()).thenReturn(List.of(new ProductPrice(1, "Pen", 10)));
+        when(reportService.getStockLevels()).thenReturn(List.of(new StockDTO(1, "Pen", 100)));
+        when(reportService.getOrdersWithinBounds(start, end)).thenReturn(List.of());
+
+        // 2. Act
+        InventoryReport report = service.getInventoryValuation(start, end);
+
+        // 3. Assert
+        assertEquals(1000, report.getTotalStockValue());
+        assertEquals(0, report.getProducts().get(0).getUnitsSold());
+        assertNull(report.getProducts().get(0).getDaysOfCover());
+    }
+
+    @Test
+    @DisplayName("Should reject a date range that ends before it starts")
+    void testReversedRange() {
+        assertThrows(ResponseStatusException.class, () -> service.getInventoryValuation(end, start));
+    }
+}
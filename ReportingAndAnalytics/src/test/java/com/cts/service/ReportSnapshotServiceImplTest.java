@@ -0,0 +1,151 @@
+package com.cts.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cts.model.OrderReportSent;
+import com.cts.model.SnapshotInfo;
+import com.cts.model.StockDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for materializing reports into snapshot files.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportSnapshotServiceImplTest {
+
+    @Mock
+    private ReportingAndAnalyticsService reportService;
+
+    @TempDir
+    Path directory;
+
+    private ReportSnapshotServiceImpl newService() throws Exception {
+        ReportSnapshotServiceImpl service = new ReportSnapshotServiceImpl(reportService, new ObjectMapper(),
+                directory.toString(), List.of(ReportSnapshotServiceImpl.LOW_STOCK), 30);
+        service.init();
+        return service;
+    }
+
+    @Test
+    @DisplayName("Should write a gzip snapshot and serve it with its ETag")
+    void testMaterializeAndServe() throws Exception {
+        // 1. Arrange
+        when(reportService.getTheLowerStocks())
+            .thenReturn(ResponseEntity.ok(List.of(new StockDTO(1, "Pen", 3))));
+        ReportSnapshotServiceImpl service = newService();
+
+        // 2. Act
+        List<SnapshotInfo> infos = service.materializeAll();
+        ResponseEntity<Resource> response = service.getSnapshot(ReportSnapshotServiceImpl.LOW_STOCK);
+
+        // 3. Assert
+        assertEquals(1, infos.size());
+        assertEquals("\"" + infos.get(0).getEtag() + "\"", response.getHeaders().getETag());
+        try (InputStream in = new GZIPInputStream(response.getBody().getInputStream())) {
+            StockDTO[] rows = new ObjectMapper().readValue(in, StockDTO[].class);
+            assertEquals("Pen", rows[0].getName());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep only the current and previous versions and reload them after a restart")
+    void testVersionsAndRestart() throws Exception {
+        // 1. Arrange
+        when(reportService.getTheLowerStocks())
+            .thenReturn(ResponseEntity.ok(List.of(new StockDTO(1, "Pen", 3))))
+            .thenReturn(ResponseEntity.ok(List.of(new StockDTO(2, "Ink", 1))))
+            .thenReturn(ResponseEntity.ok(List.of(new StockDTO(3, "Pad", 2))));
+        ReportSnapshotServiceImpl service = newService();
+
+        // 2. Act
+        String first = service.materializeAll().get(0).getEtag();
+        Thread.sleep(2);
+        service.materializeAll();
+        Thread.sleep(2);
+        String last = service.materializeAll().get(0).getEtag();
+
+        // 3. Assert
+        assertNotEquals(first, last);
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+        assertEquals(last, newService().getSnapshots().get(0).getEtag());
+    }
+
+    @Test
+    @DisplayName("Should keep serving the previous version, marked stale, when a report cannot be built")
+    void testFailedRunKeepsPreviousAsStale() throws Exception {
+        // 1. Arrange
+        when(reportService.getTheLowerStocks())
+            .thenReturn(ResponseEntity.ok(List.of(new StockDTO(1, "Pen", 3))))
+            .thenThrow(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "down"))
+            .thenReturn(ResponseEntity.ok(List.of(new StockDTO(2, "Ink", 1))));
+        ReportSnapshotServiceImpl service = newService();
+        String first = service.materializeAll().get(0).getEtag();
+
+        // 2. Act
+        SnapshotInfo afterFailure = service.materializeAll().get(0);
+        ResponseEntity<Resource> response = service.getSnapshot(ReportSnapshotServiceImpl.LOW_STOCK);
+        Thread.sleep(2);
+        SnapshotInfo afterRecovery = service.materializeAll().get(0);
+
+        // 3. Assert
+        assertEquals(first, afterFailure.getEtag());
+        assertTrue(afterFailure.isStale());
+        assertEquals("true", response.getHeaders().getFirst(ReportSnapshotServiceImpl.STALE_HEADER));
+        assertNotEquals(first, afterRecovery.getEtag());
+        assertFalse(afterRecovery.isStale());
+    }
+
+    @Test
+    @DisplayName("Should snapshot only the days that have orders")
+    void testDailyOrdersClampedToOrderDates() throws Exception {
+        // 1. Arrange
+        LocalDate endDate = LocalDate.now().minusDays(1);
+        when(reportService.getOrdersWithinBounds(endDate.minusDays(29), endDate))
+            .thenReturn(List.of(new OrderReportSent(1, endDate, 4)));
+        ReportSnapshotServiceImpl service = new ReportSnapshotServiceImpl(reportService, new ObjectMapper().findAndRegisterModules(),
+                directory.toString(), List.of(ReportSnapshotServiceImpl.DAILY_ORDERS), 30);
+        service.init();
+
+        // 2. Act
+        List<SnapshotInfo> infos = service.materializeAll();
+
+        // 3. Assert
+        assertEquals(1, infos.size());
+        assertFalse(infos.get(0).isStale());
+    }
+
+    @Test
+    @DisplayName("Should answer 404 for a report without snapshot")
+    void testUnknownSnapshot() throws Exception {
+        ReportSnapshotServiceImpl service = newService();
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> service.getSnapshot("../etc"));
+
+        assertTrue(e.getStatusCode().is4xxClientError());
+    }
+}
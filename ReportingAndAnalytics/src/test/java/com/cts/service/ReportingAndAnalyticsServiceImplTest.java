@@ -0,0 +1,134 @@
+package com.cts.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import com.cts.cache.ReportCache;
+import com.cts.client.OrderManagementClient;
+import com.cts.client.ProductManagementClient;
+import com.cts.client.StockManagementClient;
+import com.cts.client.SupplierManagementClient;
+import com.cts.model.OrderDateRange;
+import com.cts.model.OrderReport;
+import com.cts.model.OrderReportSent;
+import com.cts.resilience.ResilientCaller;
+import com.cts.store.LocalReportStore;
+
+/**
+ * Unit tests for clamping order ranges to the dates OrderManagement has orders for.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportingAndAnalyticsServiceImplTest {
+
+    @Mock
+    private OrderManagementClient oClient;
+    @Mock
+    private SupplierManagementClient sClient;
+    @Mock
+    private StockManagementClient stClient;
+    @Mock
+    private ProductManagementClient pClient;
+    @Mock
+    private LocalReportStore store;
+    @Mock
+    private ResilientCaller caller;
+
+    private final LocalDate min = LocalDate.of(2025, 3, 5);
+    private final LocalDate max = LocalDate.of(2025, 3, 20);
+    private ExecutorService refreshExecutor;
+    private ReportingAndAnalyticsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        refreshExecutor = Executors.newSingleThreadExecutor();
+        ReportCache cache = new ReportCache(5_000, 60_000, 100, refreshExecutor);
+        service = new ReportingAndAnalyticsServiceImpl(oClient, sClient, stClient, pClient, cache, store, caller);
+        lenient().when(caller.call(eq("ORDERMANAGEMENT"), anyString(), any())).thenAnswer(call -> ((Supplier<?>) call.getArgument(2)).get());
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should ask only for the part of the range that has orders")
+    void testClampsToBounds() {
+        // 1. Arrange
+        List<OrderReportSent> rows = List.of(new OrderReportSent(1, min, 3));
+        when(oClient.getDateBounds()).thenReturn(ResponseEntity.ok(new OrderDateRange(min, max)));
+        when(oClient.getDetailsByDate(new OrderReport(min, max))).thenReturn(ResponseEntity.ok(rows));
+
+        // 2. Act
+        List<OrderReportSent> result = service.getOrdersWithinBounds(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 31));
+
+        // 3. Assert
+        assertEquals(rows, result);
+    }
+
+    @Test
+    @DisplayName("Should return no rows for a range outside the order dates")
+    void testOutsideBounds() {
+        // 1. Arrange
+        when(oClient.getDateBounds()).thenReturn(ResponseEntity.ok(new OrderDateRange(min, max)));
+
+        // 2. Act & 3. Assert
+        assertTrue(service.getOrdersWithinBounds(max.plusDays(1), max.plusDays(30)).isEmpty());
+        verify(oClient, never()).getDetailsByDate(any());
+    }
+
+    @Test
+    @DisplayName("Should return no rows while OrderManagement has no orders")
+    void testNoOrders() {
+        // 1. Arrange
+        when(oClient.getDateBounds()).thenReturn(ResponseEntity.noContent().build());
+
+        // 2. Act & 3. Assert
+        assertTrue(service.getOrdersWithinBounds(min, max).isEmpty());
+        verify(oClient, never()).getDetailsByDate(any());
+    }
+
+    @Test
+    @DisplayName("Should include a day as soon as its first order is in the local store")
+    void testBoundsAreNotCached() {
+        // 1. Arrange: the latest order date moves on by a day between two requests.
+        LocalDate today = max.plusDays(1);
+        List<OrderReportSent> rows = List.of(new OrderReportSent(1, today, 2));
+        when(store.isReady()).thenReturn(true);
+        when(store.getOrderDateBounds()).thenReturn(Optional.of(new OrderDateRange(min, max)),
+                Optional.of(new OrderDateRange(min, today)));
+        when(store.getOrderReport(max, max)).thenReturn(List.of());
+        when(store.getOrderReport(max, today)).thenReturn(rows);
+
+        // 2. Act
+        List<OrderReportSent> before = service.getOrdersWithinBounds(max, today);
+        List<OrderReportSent> after = service.getOrdersWithinBounds(max, today);
+
+        // 3. Assert
+        assertTrue(before.isEmpty());
+        assertEquals(rows, after);
+    }
+}
@@ -0,0 +1,91 @@
+package com.cts.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cts.model.DailySales;
+import com.cts.model.OrderReportSent;
+import com.cts.model.ProductSales;
+
+/**
+ * Unit tests for the sales analytics built on the order rows.
+ */
+@ExtendWith(MockitoExtension.class)
+class SalesAnalyticsServiceImplTest {
+
+    @Mock
+    private ReportingAndAnalyticsService reportService;
+
+    private SalesAnalyticsServiceImpl service;
+
+    private final LocalDate start = LocalDate.of(2025, 3, 1);
+
+    @BeforeEach
+    void setUp() {
+        service = new SalesAnalyticsServiceImpl(reportService, 1096);
+    }
+
+    @Test
+    @DisplayName("Should treat the padding before the first order as days without sales")
+    void testDailySalesBeforeFirstOrder() {
+        // 1. Arrange: the 29 days of padding before start have no orders upstream.
+        when(reportService.getOrdersWithinBounds(start.minusDays(29), start.plusDays(1)))
+                .thenReturn(List.of(new OrderReportSent(7, start, 14), new OrderReportSent(7, start.plusDays(1), 7)));
+
+        // 2. Act
+        List<DailySales> days = service.getDailySales(7, start, start.plusDays(1));
+
+        // 3. Assert
+        assertEquals(2, days.size());
+        assertEquals(start, days.get(0).getDate());
+        assertEquals(14, days.get(0).getQuantity());
+        assertEquals(3.0, days.get(1).getMovingAverage7(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should count the days a product sold on")
+    void testVelocities() {
+        // 1. Arrange
+        when(reportService.getOrdersWithinBounds(start, start.plusDays(3))).thenReturn(List.of(
+                new OrderReportSent(7, start, 2), new OrderReportSent(7, start.plusDays(2), 6)));
+
+        // 2. Act
+        ProductSales sales = service.getVelocities(start, start.plusDays(3)).get(0);
+
+        // 3. Assert
+        assertEquals(8, sales.getTotalQuantity());
+        assertEquals(2, sales.getDaysWithSales());
+        assertEquals(2.0, sales.getDailyVelocity(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should reject a limit below 1 with 400")
+    void testTopSellersInvalidLimit() {
+        // 2. Act & 3. Assert
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> service.getTopSellers(start, start.plusDays(3), -1));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should reject a range longer than the configured maximum with 400")
+    void testRangeTooLong() {
+        // 2. Act & 3. Assert
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> service.getDailySales(7, start, start.plusYears(3).plusDays(1)));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+}
@@ -0,0 +1,160 @@
+package com.cts.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.cts.client.OrderManagementClient;
+import com.cts.client.StockManagementClient;
+import com.cts.client.SupplierManagementClient;
+import com.cts.model.OrderFact;
+import com.cts.model.SyncWatermark;
+import com.cts.repository.SyncWatermarkRepository;
+
+/**
+ * Unit tests for the paged, watermarked pull of the source services into the local tables.
+ */
+@ExtendWith(MockitoExtension.class)
+class LocalStoreSyncTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final long OVERLAP_MILLIS = 10;
+
+    @Mock
+    private OrderManagementClient oClient;
+    @Mock
+    private StockManagementClient stClient;
+    @Mock
+    private SupplierManagementClient sClient;
+    @Mock
+    private SyncWatermarkRepository watermarkRepo;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // Stands in for the sync_watermark table.
+    private final Map<String, SyncWatermark> watermarks = new HashMap<>();
+    private final LocalDateTime t0 = LocalDateTime.of(2025, 3, 1, 10, 0);
+    private LocalStoreSync sync;
+
+    @BeforeEach
+    void setUp() {
+        when(watermarkRepo.findById(anyString())).thenAnswer(call -> Optional.ofNullable(watermarks.get(call.getArgument(0))));
+        sync = new LocalStoreSync(oClient, stClient, sClient, watermarkRepo, jdbcTemplate, transactionManager,
+                true, PAGE_SIZE, OVERLAP_MILLIS);
+    }
+
+    @Test
+    @DisplayName("Should catch up page by page until a short page and store the last position read")
+    void testCatchUp() {
+        // 1. Arrange
+        trackWatermarks();
+        when(oClient.getChangesSince(anyString(), anyInt(), eq(PAGE_SIZE))).thenReturn(
+                List.of(order(1, t0), order(2, t0)),
+                List.of(order(3, t0), order(4, t0.plusSeconds(1))),
+                List.of(order(5, t0.plusSeconds(2))));
+        when(stClient.getChangesSince(anyString(), anyInt(), eq(PAGE_SIZE))).thenReturn(List.of());
+        when(sClient.getChangesSince(anyString(), anyInt(), eq(PAGE_SIZE))).thenReturn(List.of());
+
+        // 2. Act
+        sync.sync();
+
+        // 3. Assert: every page continues after the last row of the one before.
+        InOrder pages = inOrder(oClient);
+        pages.verify(oClient).getChangesSince(LocalDateTime.of(1970, 1, 1, 0, 0).minusNanos(OVERLAP_MILLIS * 1_000_000).toString(), 0, PAGE_SIZE);
+        pages.verify(oClient).getChangesSince(t0.toString(), 2, PAGE_SIZE);
+        pages.verify(oClient).getChangesSince(t0.plusSeconds(1).toString(), 4, PAGE_SIZE);
+        verifyOrderBatches(3);
+        assertEquals(new SyncWatermark(LocalStoreSync.ORDERS, t0.plusSeconds(2), 5), watermarks.get(LocalStoreSync.ORDERS));
+    }
+
+    @Test
+    @DisplayName("Should become ready only once every source has been pulled")
+    void testReadiness() {
+        // 1. Arrange: the first run fails on the stock service, the second succeeds.
+        trackWatermarks();
+        when(oClient.getChangesSince(anyString(), anyInt(), eq(PAGE_SIZE))).thenReturn(List.of(order(1, t0)), List.of());
+        when(stClient.getChangesSince(anyString(), anyInt(), eq(PAGE_SIZE)))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(List.of());
+        when(sClient.getChangesSince(anyString(), anyInt(), eq(PAGE_SIZE))).thenReturn(List.of());
+
+        // 2. Act & 3. Assert
+        assertFalse(sync.isReady());
+        sync.sync();
+        assertFalse(sync.isReady());
+        // The orders already pulled are kept and not read again.
+        assertEquals(new SyncWatermark(LocalStoreSync.ORDERS, t0, 1), watermarks.get(LocalStoreSync.ORDERS));
+
+        sync.sync();
+        assertTrue(sync.isReady());
+        verifyOrderBatches(1);
+    }
+
+    @Test
+    @DisplayName("Should pull only the changes after the stored watermark, less the overlap")
+    void testIncrementalSync() {
+        // 1. Arrange
+        watermarks.put(LocalStoreSync.ORDERS, new SyncWatermark(LocalStoreSync.ORDERS, t0, 4));
+        when(oClient.getChangesSince(anyString(), anyInt(), eq(PAGE_SIZE))).thenReturn(List.of());
+        when(stClient.getChangesSince(anyString(), anyInt(), eq(PAGE_SIZE))).thenReturn(List.of());
+        when(sClient.getChangesSince(anyString(), anyInt(), eq(PAGE_SIZE))).thenReturn(List.of());
+
+        // 2. Act
+        sync.sync();
+
+        // 3. Assert: nothing changed, so nothing is written and the watermark stays where it was.
+        verify(oClient).getChangesSince(t0.minusNanos(OVERLAP_MILLIS * 1_000_000).toString(), 0, PAGE_SIZE);
+        verifyOrderBatches(0);
+        verify(watermarkRepo, never()).save(any());
+        assertTrue(sync.isReady());
+    }
+
+    private void trackWatermarks() {
+        when(watermarkRepo.save(any())).thenAnswer(call -> {
+            SyncWatermark watermark = call.getArgument(0);
+            watermarks.put(watermark.getSource(), watermark);
+            return watermark;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyOrderBatches(int batches) {
+        verify(jdbcTemplate, times(batches)).batchUpdate(startsWith("INSERT INTO analytics_order"),
+                anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private static OrderFact order(int orderId, LocalDateTime lastModified) {
+        return new OrderFact(orderId, 100, 1, LocalDate.of(2025, 3, 1), "Accepted", lastModified);
+    }
+}
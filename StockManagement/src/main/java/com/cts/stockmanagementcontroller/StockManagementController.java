@@ -1,8 +1,11 @@
 package com.cts.stockmanagementcontroller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,9 +13,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.cts.stockmanagementmodel.ProductDTO;
+import com.cts.stockmanagementmodel.ReorderLevelDTO;
 import com.cts.stockmanagementmodel.Stock;
 import com.cts.stockmanagementmodel.StockDTO;
 import com.cts.stockmanagementservice.StockManagementService;
@@ -123,9 +128,10 @@ public class StockManagementController {
     /**
      * Generates a report of low stock items, formatted as DTOs.
      * This is typically used for sending data to other services or a UI.
+     * Sent as JSON or, when requested with Accept: application/cbor, as CBOR.
      * @return A ResponseEntity containing a list of low-stock StockDTOs.
      */
-    @GetMapping("/send-stock-report")
+    @GetMapping(value = "/send-stock-report", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
     public ResponseEntity<List<StockDTO>> sendLowStockReport() {
         log.info("Entering sendLowStockReport to fetch low stock items as DTOs.");
         // The service layer method already returns the correct DTO list.
@@ -134,4 +140,47 @@ public class StockManagementController {
         // Return the ResponseEntity with the list of DTOs.
         return ResponseEntity.ok(lowStockDTOs);
     }
+
+    /**
+     * Returns the current quantity of every stock item in one response.
+     * Used by ReportingAndAnalytics for reports that join stock with products and orders.
+     * Sent as JSON or, when requested with Accept: application/cbor, as CBOR.
+     * @return A ResponseEntity containing a StockDTO per stock item.
+     */
+    @GetMapping(value = "/stock-levels", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
+    public ResponseEntity<List<StockDTO>> getAllStockLevels() {
+        log.info("Entering getAllStockLevels to fetch the quantity of every stock item.");
+        List<StockDTO> stockLevels = stockManagementService.getAllStockLevels();
+        log.info("Successfully retrieved {} stock levels.", stockLevels.size());
+        return ResponseEntity.ok(stockLevels);
+    }
+
+    /**
+     * Updates the reorder levels of many products at once.
+     * @param levels The new reorder level per product ID.
+     * @return A ResponseEntity with the number of stock items updated.
+     */
+    @PutMapping("/reorder-levels")
+    public ResponseEntity<Integer> updateReorderLevels(@RequestBody List<ReorderLevelDTO> levels) {
+        log.info("Entering updateReorderLevels for {} products.", levels.size());
+        int updated = stockManagementService.updateReorderLevels(levels);
+        log.info("Successfully updated reorder levels of {} products.", updated);
+        return ResponseEntity.ok(updated);
+    }
+
+    /**
+     * Change feed of stock items inserted or updated after a watermark.
+     * Used by ReportingAndAnalytics to keep its local copy of the stock levels up to date.
+     * @param since The modification time of the last item already read, in ISO format.
+     * @param afterId The product ID of the last item already read at that time.
+     * @param limit The maximum number of items to return, at least 1; larger pages are cut to 5000.
+     * @return A ResponseEntity with the changed items in (lastModified, productID) order.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<List<Stock>> getChangesSince(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "0") int afterId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(stockManagementService.getChangesSince(since, afterId, limit));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.cts.stockmanagementmodel;
+
+public class ReorderLevelDTO {
+
+	private int productID;
+	private int reorderLevel;
+
+	public int getProductID() {
+		return productID;
+	}
+	public void setProductID(int productID) {
+		this.productID = productID;
+	}
+	public int getReorderLevel() {
+		return reorderLevel;
+	}
+	public void setReorderLevel(int reorderLevel) {
+		this.reorderLevel = reorderLevel;
+	}
+	public ReorderLevelDTO(int productID, int reorderLevel) {
+		super();
+		this.productID = productID;
+		this.reorderLevel = reorderLevel;
+	}
+	public ReorderLevelDTO() {
+		super();
+	}
+	@Override
+	public String toString() {
+		return "ReorderLevelDTO [productID=" + productID + ", reorderLevel=" + reorderLevel + "]";
+	}
+}
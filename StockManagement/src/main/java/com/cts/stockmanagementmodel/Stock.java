@@ -1,5 +1,8 @@
 package com.cts.stockmanagementmodel;
 
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -12,6 +15,10 @@ public class Stock {
 	private String name;
 	private int quantity;
 	private int reorderLevel;
+	// Maintained by MySQL on every insert and update; watermark of the change feed.
+	@Column(insertable = false, updatable = false,
+			columnDefinition = "TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+	private LocalDateTime lastModified;
 	public int getProductID() {
 		return productID;
 	}
@@ -36,6 +43,12 @@ public class Stock {
 	public void setReorderLevel(int reorderLevel) {
 		this.reorderLevel = reorderLevel;
 	}
+	public LocalDateTime getLastModified() {
+		return lastModified;
+	}
+	public void setLastModified(LocalDateTime lastModified) {
+		this.lastModified = lastModified;
+	}
 	public Stock(int productID, String name , int quantity, int reorderLevel) {
 		super();
 		this.productID = productID;
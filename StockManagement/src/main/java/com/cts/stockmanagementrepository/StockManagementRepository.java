@@ -1,7 +1,10 @@
 package com.cts.stockmanagementrepository;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.cts.stockmanagementmodel.Stock;
 import com.cts.stockmanagementmodel.StockDTO;
@@ -9,11 +12,18 @@ import com.cts.stockmanagementmodel.StockDTO;
 @Repository
 // Repository for Stock entity, providing CRUD operations.
 public interface StockManagementRepository extends JpaRepository<Stock, Integer>{
-	// Custom query to find all stock items with quantity less than or equal to 20.
-	@Query("SELECT s FROM Stock s WHERE s.quantity <= 20")
+	// Custom query to find all stock items with quantity less than or equal to their reorder level.
+	@Query("SELECT s FROM Stock s WHERE s.quantity <= s.reorderLevel")
     public List<Stock> findLowStockItems();
 	// Custom query to find low stock items and return them as a list of StockDTOs.
-	@Query("SELECT new com.cts.stockmanagementmodel.StockDTO(s.productID, s.name, s.quantity) FROM Stock s WHERE s.quantity <= 20")
+	@Query("SELECT new com.cts.stockmanagementmodel.StockDTO(s.productID, s.name, s.quantity) FROM Stock s WHERE s.quantity <= s.reorderLevel")
 	public List<StockDTO> sendLowStockItems();
+	// Current quantity of every stock item, in one query, for bulk reporting.
+	@Query("SELECT new com.cts.stockmanagementmodel.StockDTO(s.productID, s.name, s.quantity) FROM Stock s")
+	public List<StockDTO> findAllStockLevels();
+	// Change feed: stock rows modified after the (lastModified, productID) position of the last row already read.
+	@Query("SELECT s FROM Stock s WHERE s.lastModified > :since OR (s.lastModified = :since AND s.productID > :afterId) "
+			+ "ORDER BY s.lastModified, s.productID")
+	public List<Stock> findChangesSince(@Param("since") LocalDateTime since, @Param("afterId") int afterId, Pageable pageable);
 
 }
\ No newline at end of file
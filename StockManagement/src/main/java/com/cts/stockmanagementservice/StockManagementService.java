@@ -1,7 +1,9 @@
 package com.cts.stockmanagementservice;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import com.cts.stockmanagementmodel.ReorderLevelDTO;
 import com.cts.stockmanagementmodel.Stock;
 import com.cts.stockmanagementmodel.StockDTO;
 
@@ -53,4 +55,27 @@ public interface StockManagementService {
      * @return A list of {@link StockDTO} objects representing low stock items.
      */
     public List<StockDTO> sendLowStockItems();
+
+    /**
+     * Retrieves the current quantity of every stock item, formatted as DTOs for bulk reporting.
+     * @return A list of {@link StockDTO} objects, one per stock item.
+     */
+    public List<StockDTO> getAllStockLevels();
+
+    /**
+     * Retrieves the stock items inserted or updated after a watermark, for incremental sync.
+     * @param since The modification time of the last item already read.
+     * @param afterId The product ID of the last item already read at that time.
+     * @param limit The maximum number of items to return.
+     * @return The changed {@link Stock} entities in (lastModified, productID) order.
+     */
+    public List<Stock> getChangesSince(LocalDateTime since, int afterId, int limit);
+
+    /**
+     * Sets the reorder levels of many stock items in one transaction.
+     * Items that do not exist are skipped.
+     * @param levels The new reorder level per product ID.
+     * @return The number of stock items updated.
+     */
+    public int updateReorderLevels(List<ReorderLevelDTO> levels);
 }
\ No newline at end of file
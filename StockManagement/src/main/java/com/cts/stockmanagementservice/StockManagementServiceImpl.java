@@ -1,15 +1,24 @@
 package com.cts.stockmanagementservice;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.cts.client.ProductManagementClient;
 import com.cts.stockmanagementexceptions.InsufficientStockException;
 import com.cts.stockmanagementexceptions.InvalidStockAmountException;
 import com.cts.stockmanagementexceptions.StockNotFoundException;
 import com.cts.stockmanagementmodel.QuantityDTO;
+import com.cts.stockmanagementmodel.ReorderLevelDTO;
 import com.cts.stockmanagementmodel.Stock;
 import com.cts.stockmanagementmodel.StockDTO;
 import com.cts.stockmanagementrepository.StockManagementRepository;
@@ -20,6 +29,12 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class StockManagementServiceImpl implements StockManagementService {
 
+    // Largest page of changes returned at once, whatever limit the caller asks for.
+    static final int MAX_CHANGES_PAGE = 5000;
+
+    // Reorder level of new stock items, until a forecast sets one for the product.
+    static final int DEFAULT_REORDER_LEVEL = 20;
+
     private final StockManagementRepository stockRepository;
     private final ProductManagementClient pClient;
 
@@ -157,7 +172,65 @@ public class StockManagementServiceImpl implements StockManagementService {
         log.info("Found {} low stock items (DTOs).", lowStockDTOs.size());
         return lowStockDTOs;
     }
+
+    /**
+     * Retrieves the current quantity of every stock item as DTOs.
+     * @return A list of StockDTOs, one per stock item.
+     */
+    @Override
+    public List<StockDTO> getAllStockLevels() {
+        log.info("Service: Fetching all stock levels as DTOs from repository.");
+        List<StockDTO> stockLevels = stockRepository.findAllStockLevels();
+        log.info("Found {} stock items (DTOs).", stockLevels.size());
+        return stockLevels;
+    }
     
+    /**
+     * Retrieves one page of the stock items changed after the given watermark.
+     * @param since The modification time of the last item already read.
+     * @param afterId The product ID of the last item already read at that time.
+     * @param limit The maximum number of items to return, at most {@value #MAX_CHANGES_PAGE}.
+     * @return The changed stock items in (lastModified, productID) order.
+     * @throws ResponseStatusException with 400 if the limit is below 1.
+     */
+    @Override
+    public List<Stock> getChangesSince(LocalDateTime since, int afterId, int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be at least 1");
+        }
+        List<Stock> changes = stockRepository.findChangesSince(since, afterId,
+                PageRequest.of(0, Math.min(limit, MAX_CHANGES_PAGE)));
+        log.info("Found {} stock items changed since {} (after product ID {}).", changes.size(), since, afterId);
+        return changes;
+    }
+
+    /**
+     * Applies a batch of reorder levels, typically the recommendations of the demand forecast
+     * in ReportingAndAnalytics. The items are loaded with one query and written back in one transaction.
+     * @param levels The new reorder level per product ID.
+     * @return The number of stock items updated.
+     */
+    @Override
+    @Transactional
+    public int updateReorderLevels(List<ReorderLevelDTO> levels) {
+        for (ReorderLevelDTO level : levels) {
+            if (level.getReorderLevel() < 0) {
+                log.warn("InvalidStockAmountException: Reorder level must not be negative. Received: {}", level);
+                throw new InvalidStockAmountException("Reorder level must not be negative.");
+            }
+        }
+        Map<Integer, Integer> levelByProduct = levels.stream()
+                .collect(Collectors.toMap(ReorderLevelDTO::getProductID, ReorderLevelDTO::getReorderLevel, (first, last) -> last));
+        Map<Integer, Stock> stocks = stockRepository.findAllById(levelByProduct.keySet()).stream()
+                .collect(Collectors.toMap(Stock::getProductID, Function.identity()));
+        for (Stock stock : stocks.values()) {
+            stock.setReorderLevel(levelByProduct.get(stock.getProductID()));
+        }
+        stockRepository.saveAll(stocks.values());
+        log.info("Updated reorder levels of {} stock items ({} requested).", stocks.size(), levelByProduct.size());
+        return stocks.size();
+    }
+
     /**
      * Creates and saves a new stock item from a DTO.
      * @param stockDto The DTO containing the new stock item's data.
@@ -170,7 +243,7 @@ public class StockManagementServiceImpl implements StockManagementService {
         stock.setProductID(stockDto.getProductID());
         stock.setName(stockDto.getName());
         stock.setQuantity(stockDto.getQuantity());
-        stock.setReorderLevel(20); // Set a default reorder level for new items.
+        stock.setReorderLevel(DEFAULT_REORDER_LEVEL); // Set a default reorder level for new items.
         
         // Save the new entity to the database.
         stockRepository.save(stock);
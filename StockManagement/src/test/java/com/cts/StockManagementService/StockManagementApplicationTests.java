@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -15,11 +16,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.cts.client.ProductManagementClient;
 import com.cts.stockmanagementexceptions.InsufficientStockException;
 import com.cts.stockmanagementexceptions.InvalidStockAmountException;
 import com.cts.stockmanagementexceptions.StockNotFoundException;
+import com.cts.stockmanagementmodel.ReorderLevelDTO;
 import com.cts.stockmanagementmodel.Stock;
 import com.cts.stockmanagementmodel.StockDTO;
 import com.cts.stockmanagementrepository.StockManagementRepository;
@@ -168,4 +173,53 @@ class StockManagementServiceImplTest {
         verify(stockRepository, times(1)).sendLowStockItems();
     }
 
-}
\ No newline at end of file
+    // --- Tests for updateReorderLevels ---
+
+    @Test
+    void whenUpdateReorderLevels_thenExistingItemsAreUpdatedInOneBatch() {
+        // Arrange: Product 999 has no stock record and must be skipped.
+        when(stockRepository.findAllById(any())).thenReturn(List.of(testStock));
+        List<ReorderLevelDTO> levels = List.of(new ReorderLevelDTO(101, 35), new ReorderLevelDTO(999, 12));
+
+        // Act
+        int updated = stockManagementService.updateReorderLevels(levels);
+
+        // Assert
+        assertEquals(1, updated);
+        assertEquals(35, testStock.getReorderLevel());
+        verify(stockRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void whenUpdateReorderLevels_withNegativeLevel_thenThrowInvalidStockAmountException() {
+        // Act & Assert
+        assertThrows(InvalidStockAmountException.class, () -> {
+            stockManagementService.updateReorderLevels(List.of(new ReorderLevelDTO(101, -1)));
+        });
+        verify(stockRepository, never()).saveAll(any());
+    }
+
+    // --- Tests for getChangesSince ---
+
+    @Test
+    void whenGetChangesSince_withLimitBelowOne_thenRejectWithBadRequest() {
+        // Act & Assert
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> stockManagementService.getChangesSince(LocalDateTime.of(2025, 3, 1, 10, 0), 0, 0));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verify(stockRepository, never()).findChangesSince(any(), anyInt(), any());
+    }
+
+    @Test
+    void whenGetChangesSince_withHugeLimit_thenReadAtMostTheMaximumPage() {
+        // Arrange
+        LocalDateTime since = LocalDateTime.of(2025, 3, 1, 10, 0);
+        when(stockRepository.findChangesSince(since, 0, PageRequest.of(0, 5000))).thenReturn(List.of(testStock));
+
+        // Act
+        List<Stock> changes = stockManagementService.getChangesSince(since, 0, Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(List.of(testStock), changes);
+    }
+}
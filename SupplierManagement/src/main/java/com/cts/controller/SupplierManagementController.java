@@ -1,9 +1,11 @@
 package com.cts.controller;
  
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
  
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
  
 import com.cts.exceptions.ReportNotFound;
@@ -115,4 +118,21 @@ public class SupplierManagementController {
 		log.info("Successfully added supplier. Response: {}", result);
 		return result;
 	}
+
+	/**
+	 * Change feed of suppliers inserted or updated after a watermark, used by
+	 * ReportingAndAnalytics for incremental sync.
+	 *
+	 * @param since   The modification time of the last supplier already read.
+	 * @param afterId The ID of the last supplier already read at that time.
+	 * @param limit   The maximum number of suppliers to return, at least 1; larger
+	 *                pages are cut to 5000.
+	 * @return The changed suppliers in (lastModified, supplierID) order.
+	 */
+	@GetMapping("changes")
+	public List<Supplier> getChangesSince(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+			@RequestParam(defaultValue = "0") int afterId, @RequestParam(defaultValue = "1000") int limit) {
+		return service.getChangesSince(since, afterId, limit);
+	}
 }
\ No newline at end of file
@@ -13,6 +13,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
  * Global exception handler for the application. This class
@@ -91,6 +92,28 @@ public class CustomGlobalExceptionHandler {
 
 	}
 
+	/**
+	 * Handles exceptions that carry their own HTTP status, such as a rejected
+	 * request parameter, so the generic handler below does not turn them into
+	 * NOT_ACCEPTABLE.
+	 *
+	 * @param exception The ResponseStatusException that was thrown.
+	 * @return A ResponseEntity containing a custom ExceptionResponse object and
+	 *         the status of the exception.
+	 */
+
+	@ExceptionHandler(value = ResponseStatusException.class)
+	public ResponseEntity<ExceptionResponse> handleResponseStatusException(ResponseStatusException exception) {
+
+		ExceptionResponse exceptionResponse = new ExceptionResponse();
+		exceptionResponse.setStatus(exception.getStatusCode().value());
+		exceptionResponse.setTime(LocalDateTime.now());
+		exceptionResponse.setMessage(exception.getReason());
+
+		return new ResponseEntity<ExceptionResponse>(exceptionResponse, exception.getStatusCode());
+
+	}
+
 	/**
 	 * A generic exception handler for any other unhandled exceptions. This serves
 	 * as a fallback to catch any exceptions that are not specifically handled by
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -13,7 +14,6 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -25,7 +25,6 @@ import lombok.NoArgsConstructor;
  *
  * @Data Generates getters, setters, toString, equals, and hashCode methods.
  * @NoArgsConstructor Generates a no-argument constructor.
- * @AllArgsConstructor Generates a constructor with all fields as arguments.
  * @Entity Marks this class as a JPA entity.
  * @Table(name = "Supplier") Specifies the name of the database table.
  */
@@ -33,7 +32,6 @@ import lombok.NoArgsConstructor;
 @Data
 @Table(name = "Supplier")
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
 public class Supplier {
 
@@ -90,4 +88,27 @@ public class Supplier {
 	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
 
 	private LocalDateTime date;
+
+	/**
+	 * The time the row was last inserted or updated, maintained by MySQL. Used as
+	 * the watermark of the change feed read by ReportingAndAnalytics.
+	 */
+
+	@Column(insertable = false, updatable = false, columnDefinition = "TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+	private LocalDateTime lastModified;
+
+	/**
+	 * Creates a supplier with all business fields; the modification time is set by
+	 * the database.
+	 */
+
+	public Supplier(int supplierID, String name, long contactInfo, String productsSupplied, int quantity,
+			LocalDateTime date) {
+		this.supplierID = supplierID;
+		this.name = name;
+		this.contactInfo = contactInfo;
+		this.productsSupplied = productsSupplied;
+		this.quantity = quantity;
+		this.date = date;
+	}
 }
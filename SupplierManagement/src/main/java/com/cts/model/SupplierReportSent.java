@@ -42,4 +42,20 @@ public class SupplierReportSent {
 	 */
 	private LocalDateTime date;
 
+	/**
+	 * The quantity delivered in this supply.
+	 */
+	private int quantity;
+
+	/**
+	 * Creates a report entry without a quantity, as sent before the quantity was
+	 * part of the report.
+	 */
+
+	public SupplierReportSent(String name, String productsSupplied, LocalDateTime date) {
+		this.name = name;
+		this.productsSupplied = productsSupplied;
+		this.date = date;
+	}
+
 }
@@ -3,6 +3,7 @@ package com.cts.repository;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -52,10 +53,26 @@ public interface SupplierManagementRepository extends JpaRepository<Supplier, In
 	 *         suppliers whose date falls within the given range.
 	 */
 
-	@Query("SELECT new com.cts.model.SupplierReportSent(s.name,s.productsSupplied,s.date)" + "FROM Supplier s "
+	@Query("SELECT new com.cts.model.SupplierReportSent(s.name,s.productsSupplied,s.date,s.quantity)" + "FROM Supplier s "
 			+ "WHERE s.date BETWEEN :startDate AND :endDate")
 
 	List<SupplierReportSent> findSupplierReportByDateBetween(@Param("startDate") LocalDateTime startDate,
 			@Param("endDate") LocalDateTime endDate);
 
+	/**
+	 * Retrieves the suppliers inserted or updated after a watermark, ordered by
+	 * modification time and ID so that a caller can page through the changes.
+	 * 
+	 * @param since    The modification time of the last supplier already read.
+	 * @param afterId  The ID of the last supplier already read at that time.
+	 * @param pageable The maximum number of suppliers to return.
+	 * @return The next page of changed suppliers.
+	 */
+
+	@Query("SELECT s FROM Supplier s WHERE s.lastModified > :since OR (s.lastModified = :since AND s.supplierID > :afterId) "
+			+ "ORDER BY s.lastModified, s.supplierID")
+
+	List<Supplier> findChangesSince(@Param("since") LocalDateTime since, @Param("afterId") int afterId,
+			Pageable pageable);
+
 }
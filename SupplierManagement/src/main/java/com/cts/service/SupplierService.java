@@ -1,5 +1,6 @@
 package com.cts.service;
  
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
  
@@ -57,5 +58,17 @@ public interface SupplierService {
 	public Optional<Supplier> updateSupplierInfo(@Valid int id, Supplier updatedSupplier) throws SupplierNotFound;
  
 	public String deleteSupplierInfo(@Valid int id);
+
+	/**
+	 * Retrieves the suppliers inserted or updated after a watermark, for
+	 * incremental sync into ReportingAndAnalytics.
+	 *
+	 * @param since   The modification time of the last supplier already read.
+	 * @param afterId The ID of the last supplier already read at that time.
+	 * @param limit   The maximum number of suppliers to return.
+	 * @return The changed suppliers in (lastModified, supplierID) order.
+	 */
+
+	public List<Supplier> getChangesSince(LocalDateTime since, int afterId, int limit);
  
 }
\ No newline at end of file
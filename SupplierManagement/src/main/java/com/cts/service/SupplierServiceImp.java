@@ -8,7 +8,13 @@ import java.util.Optional;
  
 import org.springframework.beans.factory.annotation.Autowired;
 
+import org.springframework.data.domain.PageRequest;
+
+import org.springframework.http.HttpStatus;
+
 import org.springframework.stereotype.Service;
+
+import org.springframework.web.server.ResponseStatusException;
  
 import com.cts.exceptions.ReportNotFound;
 
@@ -39,6 +45,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 
 public class SupplierServiceImp implements SupplierService {
+
+	// Largest page of changes returned at once, whatever limit the caller asks for.
+	static final int MAX_CHANGES_PAGE = 5000;
  
 	/**
 
@@ -222,6 +231,22 @@ public class SupplierServiceImp implements SupplierService {
 
 	}
 
+	@Override
+
+	public List<Supplier> getChangesSince(LocalDateTime since, int afterId, int limit) {
+
+		if (limit < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be at least 1");
+		}
+		List<Supplier> changes = repo.findChangesSince(since, afterId,
+				PageRequest.of(0, Math.min(limit, MAX_CHANGES_PAGE)));
+
+		log.info("Found {} suppliers changed since {} (after ID {})", changes.size(), since, afterId);
+
+		return changes;
+
+	}
+
 }
 
  
\ No newline at end of file